@@ -0,0 +1,309 @@
+/*
+ * @(#) Corpus.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * The fixed corpus of JSON documents used by the benchmarks.  The documents are generated from a pseudo-random
+ * sequence with a fixed seed, so every run (and every JVM) sees exactly the same input.
+ *
+ * @author  Peter Wall
+ */
+public class Corpus {
+
+    /** A small object, typical of a single message or API request. */
+    public static final String SMALL = "small";
+
+    /** A large array of objects, approximately 1MB. */
+    public static final String LARGE = "large";
+
+    /** An array of deeply nested objects and arrays. */
+    public static final String NESTED = "nested";
+
+    /** An array of long strings, including escape sequences and non-ASCII characters. */
+    public static final String STRINGS = "strings";
+
+    /** An array of integers, decimals and numbers in scientific notation. */
+    public static final String NUMBERS = "numbers";
+
+    private static final long SEED = 0x4A534F4E53L;
+
+    private static final String[] words = { "alpha", "bravo", "charlie", "delta", "echo", "foxtrot", "golf",
+            "hotel", "india", "juliet", "kilo", "lima", "mike", "november", "oscar", "papa", "quebec", "romeo",
+            "sierra", "tango", "uniform", "victor", "whiskey", "x-ray", "yankee", "zulu" };
+
+    private static final String small = createSmall();
+    private static final String large = createLarge();
+    private static final String nested = createNested();
+    private static final String strings = createStrings();
+    private static final String numbers = createNumbers();
+
+    /**
+     * Get a document from the corpus by name.
+     *
+     * @param   name    the document name
+     * @return  the JSON text
+     * @throws  IllegalArgumentException if the name is not recognised
+     */
+    public static String get(String name) {
+        switch (name) {
+            case SMALL:
+                return small;
+            case LARGE:
+                return large;
+            case NESTED:
+                return nested;
+            case STRINGS:
+                return strings;
+            case NUMBERS:
+                return numbers;
+        }
+        throw new IllegalArgumentException("Unknown corpus document: " + name);
+    }
+
+    /**
+     * Get a document from the corpus in UTF-8 encoded form.
+     *
+     * @param   name    the document name
+     * @return  the JSON as bytes
+     */
+    public static byte[] getBytes(String name) {
+        return get(name).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Get a single long string token (including the enclosing quotes) taken from the {@link #STRINGS} document.
+     *
+     * @return  the string token
+     */
+    public static String getStringToken() {
+        StringBuilder sb = new StringBuilder();
+        sb.append('"');
+        int i = 2;
+        while (sb.length() < 4096) {
+            char ch = strings.charAt(i++);
+            if (ch == '\\') {
+                sb.append(ch);
+                ch = strings.charAt(i++);
+                if (ch == 'u') {
+                    sb.append(ch).append(strings, i, i + 3);
+                    i += 3;
+                    ch = strings.charAt(i++);
+                }
+            }
+            else if (ch == '"') {
+                sb.append(' ');
+                i += 2; // skip the comma and opening quote of the next string
+                continue;
+            }
+            sb.append(ch);
+        }
+        sb.append('"');
+        return sb.toString();
+    }
+
+    /**
+     * Get the individual number tokens from the {@link #NUMBERS} document.
+     *
+     * @return  the number tokens
+     */
+    public static String[] getNumberTokens() {
+        return numbers.substring(1, numbers.length() - 1).split(",");
+    }
+
+    /**
+     * Get the elements of the {@link #LARGE} document as <a href="https://jsonlines.org/">JSON Lines</a>, repeated the
+     * specified number of times.
+     *
+     * @param   copies  the number of copies
+     * @return  the UTF-8 encoded JSON Lines
+     */
+    public static byte[] getLines(int copies) {
+        String lines = large.substring(1, large.length() - 1).replace(",{\"id\":", "\n{\"id\":") + '\n';
+        StringBuilder sb = new StringBuilder(lines.length() * copies);
+        for (int i = 0; i < copies; i++)
+            sb.append(lines);
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Get a single array containing the elements of the {@link #LARGE} document repeated the specified number of times.
+     *
+     * @param   copies  the number of copies
+     * @return  the UTF-8 encoded JSON array
+     */
+    public static byte[] getArray(int copies) {
+        String elements = large.substring(1, large.length() - 1);
+        StringBuilder sb = new StringBuilder(elements.length() * copies + 2);
+        sb.append('[');
+        for (int i = 0; i < copies; i++) {
+            if (i > 0)
+                sb.append(',');
+            sb.append(elements);
+        }
+        sb.append(']');
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String createSmall() {
+        return "{\"id\":12345,\"name\":\"Example Customer\",\"active\":true,\"balance\":1234.56," +
+                "\"tags\":[\"gold\",\"priority\"],\"address\":{\"street\":\"1 Main Street\",\"city\":\"Sydney\"," +
+                "\"postcode\":\"2000\"},\"manager\":null}";
+    }
+
+    private static String createLarge() {
+        Random random = new Random(SEED);
+        StringBuilder sb = new StringBuilder(1200000);
+        sb.append('[');
+        for (int i = 0; i < 5000; i++) {
+            if (i > 0)
+                sb.append(',');
+            sb.append("{\"id\":").append(i).append(",\"code\":\"");
+            appendWord(sb, random);
+            sb.append('-').append(random.nextInt(100000)).append("\",\"active\":").append(random.nextBoolean());
+            sb.append(",\"score\":").append(random.nextInt(1000000) / 100.0);
+            sb.append(",\"description\":\"");
+            for (int j = 0, n = 3 + random.nextInt(12); j < n; j++) {
+                if (j > 0)
+                    sb.append(' ');
+                appendWord(sb, random);
+            }
+            sb.append("\",\"tags\":[");
+            for (int j = 0, n = random.nextInt(5); j < n; j++) {
+                if (j > 0)
+                    sb.append(',');
+                sb.append('"');
+                appendWord(sb, random);
+                sb.append('"');
+            }
+            sb.append("],\"location\":{\"lat\":").append(random.nextInt(18000000) / 100000.0 - 90.0);
+            sb.append(",\"lng\":").append(random.nextInt(36000000) / 100000.0 - 180.0);
+            sb.append("},\"parent\":");
+            if (random.nextInt(4) == 0)
+                sb.append("null");
+            else
+                sb.append(random.nextInt(i + 1));
+            sb.append('}');
+        }
+        sb.append(']');
+        return sb.toString();
+    }
+
+    private static String createNested() {
+        Random random = new Random(SEED);
+        StringBuilder sb = new StringBuilder(200000);
+        sb.append('[');
+        for (int i = 0; i < 500; i++) {
+            if (i > 0)
+                sb.append(',');
+            int depth = 10 + random.nextInt(11);
+            for (int j = 0; j < depth; j++) {
+                if ((j & 1) == 0)
+                    sb.append("{\"level").append(j).append("\":");
+                else
+                    sb.append('[').append(j).append(',');
+            }
+            sb.append('"');
+            appendWord(sb, random);
+            sb.append('"');
+            for (int j = depth - 1; j >= 0; j--)
+                sb.append((j & 1) == 0 ? '}' : ']');
+        }
+        sb.append(']');
+        return sb.toString();
+    }
+
+    private static String createStrings() {
+        Random random = new Random(SEED);
+        StringBuilder sb = new StringBuilder(600000);
+        sb.append('[');
+        for (int i = 0; i < 2000; i++) {
+            if (i > 0)
+                sb.append(',');
+            sb.append('"');
+            for (int j = 0, n = 20 + random.nextInt(40); j < n; j++) {
+                if (j > 0)
+                    sb.append(' ');
+                int r = random.nextInt(40);
+                if (r == 0)
+                    sb.append("\\\"quoted\\\"");
+                else if (r == 1)
+                    sb.append("line\\nbreak");
+                else if (r == 2)
+                    sb.append("caf\u00E9");
+                else if (r == 3)
+                    sb.append("\\u00e9t\\u00e9");
+                else if (r == 4)
+                    sb.append("\u65E5\u672C\u8A9E");
+                else
+                    appendWord(sb, random);
+            }
+            sb.append('"');
+        }
+        sb.append(']');
+        return sb.toString();
+    }
+
+    private static String createNumbers() {
+        Random random = new Random(SEED);
+        StringBuilder sb = new StringBuilder(600000);
+        sb.append('[');
+        for (int i = 0; i < 50000; i++) {
+            if (i > 0)
+                sb.append(',');
+            switch (random.nextInt(6)) {
+                case 0:
+                    sb.append(random.nextInt(100));
+                    break;
+                case 1:
+                    sb.append(random.nextInt());
+                    break;
+                case 2:
+                    sb.append(random.nextLong());
+                    break;
+                case 3:
+                    sb.append(random.nextInt(10000000) / 1000.0);
+                    break;
+                case 4:
+                    sb.append(-random.nextInt(100000) / 100.0);
+                    break;
+                default:
+                    sb.append(random.nextInt(1000)).append('.').append(random.nextInt(1000)).append('e');
+                    sb.append(random.nextInt(40) - 20);
+                    break;
+            }
+        }
+        sb.append(']');
+        return sb.toString();
+    }
+
+    private static void appendWord(StringBuilder sb, Random random) {
+        sb.append(words[random.nextInt(words.length)]);
+    }
+
+}
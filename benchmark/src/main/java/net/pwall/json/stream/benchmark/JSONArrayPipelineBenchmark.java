@@ -0,0 +1,99 @@
+/*
+ * @(#) JSONArrayPipelineBenchmark.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import net.pwall.json.JSONValue;
+import net.pwall.json.stream.JSONArrayPipeline;
+import net.pwall.pipeline.AbstractAcceptor;
+
+/**
+ * Benchmark for {@link JSONArrayPipeline}, streaming the elements of each array document in the corpus to an
+ * acceptor that passes them straight to a {@link Blackhole}.
+ *
+ * @author  Peter Wall
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JSONArrayPipelineBenchmark {
+
+    @Param({ Corpus.LARGE, Corpus.NESTED, Corpus.STRINGS, Corpus.NUMBERS })
+    public String document;
+
+    private String json;
+    private int length;
+
+    @Setup
+    public void setup() {
+        json = Corpus.get(document);
+        length = Corpus.getBytes(document).length;
+    }
+
+    @Benchmark
+    public void pipeline(ByteCounter counter, Blackhole blackhole) {
+        JSONArrayPipeline<Void> pipeline = new JSONArrayPipeline<>(new AbstractAcceptor<JSONValue, Void>() {
+            @Override
+            public void acceptObject(JSONValue value) {
+                blackhole.consume(value);
+            }
+        });
+        pipeline.accept(json);
+        pipeline.close();
+        counter.bytes += length;
+    }
+
+    @Benchmark
+    public void pipelineBulk(ByteCounter counter, Blackhole blackhole) {
+        JSONArrayPipeline<Void> pipeline = new JSONArrayPipeline<>(new AbstractAcceptor<JSONValue, Void>() {
+            @Override
+            public void acceptObject(JSONValue value) {
+                blackhole.consume(value);
+            }
+        });
+        pipeline.acceptChars(json);
+        pipeline.close();
+        counter.bytes += length;
+    }
+
+}
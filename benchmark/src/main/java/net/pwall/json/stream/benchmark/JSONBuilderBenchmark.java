@@ -0,0 +1,130 @@
+/*
+ * @(#) JSONBuilderBenchmark.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import net.pwall.json.JSONBoolean;
+import net.pwall.json.JSONValue;
+import net.pwall.json.stream.JSONArrayBuilder;
+import net.pwall.json.stream.JSONBuilder;
+import net.pwall.json.stream.JSONKeywordBuilder;
+import net.pwall.json.stream.JSONNumberBuilder;
+import net.pwall.json.stream.JSONObjectBuilder;
+import net.pwall.json.stream.JSONStringBuilder;
+
+/**
+ * Benchmarks for the individual {@link JSONBuilder} classes.  Each builder is given the characters that follow the
+ * initial character (which would normally be consumed by {@code JSONValueBuilder} when it selects the builder).
+ *
+ * @author  Peter Wall
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JSONBuilderBenchmark {
+
+    private String object;
+    private String array;
+    private String string;
+    private String[] numbers;
+    private int objectLength;
+    private int arrayLength;
+    private int stringLength;
+    private int numbersLength;
+
+    @Setup
+    public void setup() {
+        object = Corpus.get(Corpus.SMALL);
+        array = Corpus.get(Corpus.LARGE);
+        string = Corpus.getStringToken();
+        numbers = Corpus.getNumberTokens();
+        objectLength = byteLength(object);
+        arrayLength = byteLength(array);
+        stringLength = byteLength(string);
+        for (String number : numbers)
+            numbersLength += byteLength(number);
+    }
+
+    @Benchmark
+    public JSONValue objectBuilder(ByteCounter counter) {
+        counter.bytes += objectLength;
+        return feed(new JSONObjectBuilder(), object);
+    }
+
+    @Benchmark
+    public JSONValue arrayBuilder(ByteCounter counter) {
+        counter.bytes += arrayLength;
+        return feed(new JSONArrayBuilder(), array);
+    }
+
+    @Benchmark
+    public JSONValue stringBuilder(ByteCounter counter) {
+        counter.bytes += stringLength;
+        return feed(new JSONStringBuilder(), string);
+    }
+
+    @Benchmark
+    public void numberBuilder(ByteCounter counter, Blackhole blackhole) {
+        for (String number : numbers)
+            blackhole.consume(feed(new JSONNumberBuilder(number.charAt(0)), number));
+        counter.bytes += numbersLength;
+    }
+
+    @Benchmark
+    public JSONValue keywordBuilder(ByteCounter counter) {
+        counter.bytes += 4;
+        return feed(new JSONKeywordBuilder("true", JSONBoolean.TRUE), "true");
+    }
+
+    private static int byteLength(String json) {
+        return json.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static JSONValue feed(JSONBuilder builder, String json) {
+        for (int i = 1, n = json.length(); i < n; i++)
+            builder.acceptChar(json.charAt(i));
+        builder.close();
+        return builder.getResult();
+    }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * @(#) JSONParallelParserBenchmark.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream.benchmark;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.pwall.json.JSONValue;
+import net.pwall.json.stream.JSONArrayPipeline;
+import net.pwall.json.stream.JSONParallelParser;
+import net.pwall.json.stream.JSONSequencePipeline;
+import net.pwall.pipeline.AbstractAcceptor;
+
+/**
+ * Benchmark for {@link JSONParallelParser}, parsing approximately 20MB of JSON Lines, and the same data as a single
+ * array, with varying numbers of threads, compared with a single {@link JSONSequencePipeline} or
+ * {@link JSONArrayPipeline}.
+ *
+ * @author  Peter Wall
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JSONParallelParserBenchmark {
+
+    @Param({ "1", "2", "4", "8" })
+    public int threads;
+
+    @Param({ "true", "false" })
+    public boolean ordered;
+
+    private byte[] lines;
+    private byte[] array;
+    private ForkJoinPool pool;
+    private JSONParallelParser parser;
+
+    @Setup
+    public void setup() {
+        lines = Corpus.getLines(20);
+        array = Corpus.getArray(20);
+        pool = new ForkJoinPool(threads);
+        parser = new JSONParallelParser(pool, JSONParallelParser.DEFAULT_CHUNK_SIZE, ordered);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public long parallel(ByteCounter counter) {
+        Counter acceptor = new Counter();
+        parser.parseLines(lines, acceptor);
+        counter.bytes += lines.length;
+        return acceptor.count;
+    }
+
+    @Benchmark
+    public long serial(ByteCounter counter) {
+        Counter acceptor = new Counter();
+        JSONSequencePipeline<Void> pipeline = new JSONSequencePipeline<>(acceptor);
+        pipeline.acceptBytes(lines);
+        pipeline.close();
+        counter.bytes += lines.length;
+        return acceptor.count;
+    }
+
+    @Benchmark
+    public long parallelArray(ByteCounter counter) {
+        Counter acceptor = new Counter();
+        parser.parseArray(array, acceptor);
+        counter.bytes += array.length;
+        return acceptor.count;
+    }
+
+    @Benchmark
+    public long serialArray(ByteCounter counter) {
+        Counter acceptor = new Counter();
+        JSONArrayPipeline<Void> pipeline = new JSONArrayPipeline<>(acceptor);
+        pipeline.acceptBytes(array);
+        pipeline.close();
+        counter.bytes += array.length;
+        return acceptor.count;
+    }
+
+    private static class Counter extends AbstractAcceptor<JSONValue, Void> {
+
+        private long count;
+
+        @Override
+        public void acceptObject(JSONValue value) {
+            count++;
+        }
+
+    }
+
+}
@@ -0,0 +1,176 @@
+/*
+ * @(#) JSONStreamBenchmark.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import net.pwall.json.JSONValue;
+import net.pwall.json.stream.JSONEventHandler;
+import net.pwall.json.stream.JSONEventParser;
+import net.pwall.json.stream.JSONFlatBuilder;
+import net.pwall.json.stream.JSONParseContext;
+import net.pwall.json.stream.JSONSkipBuilder;
+import net.pwall.json.stream.JSONStream;
+
+/**
+ * Benchmark for {@link JSONStream}, parsing each document in the corpus to a {@link JSONValue}.
+ *
+ * @author  Peter Wall
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JSONStreamBenchmark {
+
+    @Param({ Corpus.SMALL, Corpus.LARGE, Corpus.NESTED, Corpus.STRINGS, Corpus.NUMBERS })
+    public String document;
+
+    private String json;
+    private byte[] bytes;
+    private int length;
+    private JSONStream reusableStream;
+
+    @Setup
+    public void setup() {
+        json = Corpus.get(document);
+        bytes = Corpus.getBytes(document);
+        length = bytes.length;
+        reusableStream = new JSONStream();
+    }
+
+    @Benchmark
+    public JSONValue parse(ByteCounter counter) {
+        JSONStream stream = new JSONStream();
+        stream.accept(json);
+        stream.close();
+        counter.bytes += length;
+        return stream.getResult();
+    }
+
+    @Benchmark
+    public JSONValue parseBulk(ByteCounter counter) {
+        JSONStream stream = new JSONStream();
+        stream.acceptChars(json);
+        stream.close();
+        counter.bytes += length;
+        return stream.getResult();
+    }
+
+    @Benchmark
+    public JSONValue parseReused(ByteCounter counter) {
+        JSONStream stream = reusableStream;
+        stream.reset();
+        stream.acceptChars(json);
+        stream.close();
+        counter.bytes += length;
+        return stream.getResult();
+    }
+
+    @Benchmark
+    public JSONValue parseFlat(ByteCounter counter) {
+        JSONStream stream = new JSONStream(new JSONFlatBuilder());
+        stream.acceptChars(json);
+        stream.close();
+        counter.bytes += length;
+        return stream.getResult();
+    }
+
+    @Benchmark
+    public void events(ByteCounter counter, Blackhole blackhole) {
+        JSONEventParser parser = new JSONEventParser(new JSONEventHandler() {
+            @Override
+            public void key(CharSequence key) {
+                blackhole.consume(key);
+            }
+            @Override
+            public void stringValue(CharSequence value) {
+                blackhole.consume(value);
+            }
+            @Override
+            public void numberValue(CharSequence value) {
+                blackhole.consume(value);
+            }
+        });
+        parser.acceptChars(json);
+        parser.close();
+        counter.bytes += length;
+    }
+
+    @Benchmark
+    public JSONValue parseDoubles(ByteCounter counter) {
+        JSONParseContext context = new JSONParseContext();
+        context.setDoubleNumbers(true);
+        JSONStream stream = new JSONStream(new JSONFlatBuilder(context));
+        stream.acceptChars(json);
+        stream.close();
+        counter.bytes += length;
+        return stream.getResult();
+    }
+
+    @Benchmark
+    public JSONValue parseLazy(ByteCounter counter) {
+        JSONStream stream = new JSONStream(new JSONFlatBuilder(new JSONParseContext(), 1));
+        stream.acceptChars(json);
+        stream.close();
+        counter.bytes += length;
+        return stream.getResult();
+    }
+
+    @Benchmark
+    public JSONValue skip(ByteCounter counter) {
+        JSONStream stream = new JSONStream(new JSONSkipBuilder());
+        stream.acceptChars(json);
+        stream.close();
+        counter.bytes += length;
+        return stream.getResult();
+    }
+
+    @Benchmark
+    public JSONValue parseBytes(ByteCounter counter) {
+        JSONStream stream = new JSONStream();
+        stream.acceptBytes(bytes);
+        stream.close();
+        counter.bytes += length;
+        return stream.getResult();
+    }
+
+}
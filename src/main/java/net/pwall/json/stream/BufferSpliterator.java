@@ -0,0 +1,256 @@
+/*
+ * @(#) BufferSpliterator.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream;
+
+import java.nio.ByteBuffer;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import net.pwall.json.JSONException;
+import net.pwall.json.JSONValue;
+
+/**
+ * A {@link Spliterator} over the elements of a JSON array held in a {@link ByteBuffer} (which may be a memory-mapped
+ * region).  Each element is located by a structural scan (as in {@link JSONParallelParser}) and then parsed, so
+ * elements are parsed only as they are requested.  {@link #trySplit()} divides the remaining input at the first
+ * separating comma after its mid-point, so parallel streams parse separate parts of the array concurrently.
+ *
+ * @author  Peter Wall
+ */
+final class BufferSpliterator implements Spliterator<JSONValue> {
+
+    private static final int minSplitSize = 4096;
+
+    private final ByteBuffer buffer;
+    private final boolean last;
+    private final int end;
+    private int position;
+    private boolean afterComma;
+    private boolean done;
+    private JSONStream stream;
+
+    /**
+     * Create a {@code BufferSpliterator} for a range of the array.
+     *
+     * @param   buffer      the buffer
+     * @param   position    the start of the range (following the opening bracket or a comma)
+     * @param   end         the end of the range (a separating comma, or the limit of the buffer if {@code last})
+     * @param   last        {@code true} if the range includes the closing bracket
+     * @param   afterComma  {@code true} if the range follows a comma
+     */
+    private BufferSpliterator(ByteBuffer buffer, int position, int end, boolean last, boolean afterComma) {
+        this.buffer = buffer;
+        this.position = position;
+        this.end = end;
+        this.last = last;
+        this.afterComma = afterComma;
+        done = false;
+    }
+
+    /**
+     * Create a {@code BufferSpliterator} for the remaining bytes of a {@link ByteBuffer}.
+     *
+     * @param   buffer  the buffer
+     * @return  the {@code BufferSpliterator}
+     * @throws  JSONException   if the buffer does not start with an array
+     */
+    static BufferSpliterator of(ByteBuffer buffer) {
+        int i = buffer.position();
+        int limit = buffer.limit();
+        if (i + 3 <= limit && buffer.get(i) == (byte)0xEF && buffer.get(i + 1) == (byte)0xBB &&
+                buffer.get(i + 2) == (byte)0xBF)
+            i += 3; // UTF-8 byte order mark
+        while (i < limit && JSONBuilder.isWhitespace(buffer.get(i)))
+            i++;
+        if (i == limit || buffer.get(i) != '[')
+            throw new JSONException("Pipeline must contain array");
+        return new BufferSpliterator(buffer, i + 1, limit, true, false);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super JSONValue> action) {
+        if (done)
+            return false;
+        int delimiter = scanElement(position);
+        int start = position;
+        boolean empty = isWhitespace(start, delimiter);
+        if (delimiter == end && !last)
+            done = true;
+        else if (buffer.get(delimiter) == ']') {
+            done = true;
+            checkWhitespace(delimiter + 1, end);
+            if (empty && !afterComma)
+                return false; // empty array
+        }
+        else {
+            position = delimiter + 1;
+            afterComma = true;
+        }
+        if (empty)
+            throw new JSONException("Illegal syntax in JSON");
+        action.accept(parseElement(start, delimiter));
+        return true;
+    }
+
+    @Override
+    public Spliterator<JSONValue> trySplit() {
+        if (done || end - position < minSplitSize)
+            return null;
+        int comma = findSplit(position + (end - position) / 2);
+        if (comma < 0)
+            return null;
+        BufferSpliterator prefix = new BufferSpliterator(buffer, position, comma, false, afterComma);
+        position = comma + 1;
+        afterComma = true;
+        return prefix;
+    }
+
+    /**
+     * Return the number of bytes remaining as the estimate; the number of elements is not known, but the estimate is
+     * used only in proportion to that of the other parts of the split.
+     */
+    @Override
+    public long estimateSize() {
+        return done ? 0 : end - position;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED;
+    }
+
+    /**
+     * Scan an element, tracking strings and the depth of nesting.
+     *
+     * @param   from    the start of the element
+     * @return  the index of the comma or closing bracket following the element, or the end of the range
+     */
+    private int scanElement(int from) {
+        int i = from;
+        int depth = 0;
+        while (i < end) {
+            byte b = buffer.get(i);
+            if (b == '"') {
+                i = skipString(i + 1);
+                if (i < 0)
+                    throw new JSONException("Unexpected end of data in JSON array");
+            }
+            else {
+                if (b == '[' || b == '{')
+                    depth++;
+                else if (b == ']' || b == '}') {
+                    if (depth == 0) {
+                        if (b == ']' && last)
+                            return i;
+                        throw new JSONException("Illegal syntax in JSON array");
+                    }
+                    depth--;
+                }
+                else if (b == ',' && depth == 0)
+                    return i;
+                i++;
+            }
+        }
+        if (last)
+            throw new JSONException("Unexpected end of data in JSON array");
+        return end;
+    }
+
+    /**
+     * Find the first separating comma at or after a given index.
+     *
+     * @param   from    the index
+     * @return  the index of the comma, or -1 if there is none
+     */
+    private int findSplit(int from) {
+        int i = position;
+        int depth = 0;
+        while (i < end) {
+            byte b = buffer.get(i);
+            if (b == '"') {
+                i = skipString(i + 1);
+                if (i < 0)
+                    return -1;
+            }
+            else {
+                if (b == '[' || b == '{')
+                    depth++;
+                else if (b == ']' || b == '}') {
+                    if (--depth < 0)
+                        return -1;
+                }
+                else if (b == ',' && depth == 0 && i >= from)
+                    return i;
+                i++;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Skip the remainder of a string.
+     *
+     * @param   from    the index following the opening quote
+     * @return  the index following the closing quote, or -1 if the string is not terminated
+     */
+    private int skipString(int from) {
+        int i = from;
+        while (i < end) {
+            byte b = buffer.get(i++);
+            if (b == '"')
+                return i;
+            if (b == '\\')
+                i++;
+        }
+        return -1;
+    }
+
+    private JSONValue parseElement(int from, int to) {
+        if (stream == null)
+            stream = new JSONStream();
+        else
+            stream.reset();
+        ByteBuffer element = buffer.duplicate();
+        element.limit(to);
+        element.position(from);
+        stream.acceptBytes(element);
+        stream.close();
+        return stream.getResult();
+    }
+
+    private boolean isWhitespace(int from, int to) {
+        for (int i = from; i < to; i++)
+            if (!JSONBuilder.isWhitespace(buffer.get(i)))
+                return false;
+        return true;
+    }
+
+    private void checkWhitespace(int from, int to) {
+        if (!isWhitespace(from, to))
+            throw new JSONException("Unexpected characters at end of JSON");
+    }
+
+}
@@ -0,0 +1,156 @@
+/*
+ * @(#) ByteCharSequence.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A reusable {@link CharSequence} view of a run of ASCII bytes in a byte array.  This allows the bytes to be passed
+ * to the {@link JSONBuilder#acceptChars(CharSequence, int, int)} functions without decoding or copying.
+ *
+ * <p>The class also provides scanning functions that examine the bytes eight at a time, reading each group of eight as
+ * a {@code long} (through a little-endian {@link ByteBuffer} view of the array) and testing all eight bytes at once
+ * with SWAR ("SIMD within a register") arithmetic.  The expression {@code (x - 0x0101010101010101L) & ~x &
+ * 0x8080808080808080L} sets the high bit of every byte of {@code x} that is zero; a borrow can set a false bit only
+ * above a byte that is itself zero, so the lowest bit set always identifies the first matching byte.</p>
+ *
+ * @author  Peter Wall
+ */
+class ByteCharSequence implements CharSequence {
+
+    private static final long ones = 0x0101010101010101L;
+    private static final long highBits = 0x8080808080808080L;
+    private static final long quotes = '"' * ones;
+    private static final long backslashes = '\\' * ones;
+    private static final long spaces = ' ' * ones;
+
+    private byte[] bytes;
+    private int offset;
+    private int length;
+    private ByteBuffer words;
+
+    void set(byte[] bytes, int offset, int length) {
+        setBytes(bytes);
+        this.offset = offset;
+        this.length = length;
+    }
+
+    private void setBytes(byte[] bytes) {
+        if (bytes != this.bytes) {
+            this.bytes = bytes;
+            words = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    /**
+     * Find the first byte in a range of a byte array that is not ASCII (that is, has the high bit set).  The array
+     * becomes the array used by this object.
+     *
+     * @param   bytes   the byte array
+     * @param   start   the index of the first byte
+     * @param   end     the index after the last byte
+     * @return  the index of the first non-ASCII byte, or {@code end} if there is none
+     */
+    int findNonASCII(byte[] bytes, int start, int end) {
+        setBytes(bytes);
+        int i = start;
+        for (int n = end - 8; i <= n; i += 8) {
+            long mask = words.getLong(i) & highBits;
+            if (mask != 0)
+                return i + (Long.numberOfTrailingZeros(mask) >>> 3);
+        }
+        while (i < end && bytes[i] >= 0)
+            i++;
+        return i;
+    }
+
+    /**
+     * Find the first character in a range of this sequence that can not be copied directly into the content of a JSON
+     * string: a quote, a backslash or a control character.  Since the sequence contains only ASCII characters, the
+     * high bit of every byte is zero, so a byte is less than {@code 0x20} exactly when the subtraction of {@code 0x20}
+     * borrows from its high bit.
+     *
+     * @param   start   the index of the first character
+     * @param   end     the index after the last character
+     * @return  the index of the first such character, or {@code end} if there is none
+     */
+    int findStringDelimiter(int start, int end) {
+        int i = offset + start;
+        int n = offset + end;
+        for (int last = n - 8; i <= last; i += 8) {
+            long word = words.getLong(i);
+            long q = word ^ quotes;
+            long b = word ^ backslashes;
+            long mask = ((q - ones) & ~q | (b - ones) & ~b | word - spaces) & highBits;
+            if (mask != 0)
+                return i - offset + (Long.numberOfTrailingZeros(mask) >>> 3);
+        }
+        while (i < n) {
+            byte ch = bytes[i];
+            if (ch == '"' || ch == '\\' || ch < 0x20)
+                break;
+            i++;
+        }
+        return i - offset;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return (char)(bytes[offset + index] & 0xFF);
+    }
+
+    /**
+     * Copy characters to a {@code char} array (see {@link String#getChars(int, int, char[], int)}).
+     *
+     * @param   start   the index of the first character
+     * @param   end     the index after the last character
+     * @param   dst     the destination array
+     * @param   dstBegin    the starting offset in the destination array
+     */
+    void getChars(int start, int end, char[] dst, int dstBegin) {
+        byte[] bytes = this.bytes;
+        for (int i = offset + start, j = dstBegin, n = offset + end; i < n; i++, j++)
+            dst[j] = (char)(bytes[i] & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return new String(bytes, offset + start, end - start, StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    public String toString() {
+        return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+    }
+
+}
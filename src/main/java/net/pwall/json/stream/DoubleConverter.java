@@ -0,0 +1,247 @@
+/*
+ * @(#) DoubleConverter.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream;
+
+import java.math.BigInteger;
+
+/**
+ * Conversion of the text of a JSON number to a {@code double}, without allocating any objects in the great majority of
+ * cases.  Numbers with at most 19 significant digits and a power of ten within the range of a {@code double} are
+ * converted by Clinger's fast path (when the conversion is exact) or by the Eisel-Lemire algorithm, both of which give
+ * the correctly rounded result; any other number is converted by {@link Double#parseDouble(String)}.
+ *
+ * <p>The Eisel-Lemire implementation follows that of the <a href="https://github.com/fastfloat/fast_float">fast_float</a>
+ * library, using a table of 128-bit approximations of the powers of five (calculated when the class is loaded).</p>
+ *
+ * @author  Peter Wall
+ */
+final class DoubleConverter {
+
+    private static final int maxDigits = 19;
+    private static final int smallestPowerOfTen = -342;
+    private static final int largestPowerOfTen = 308;
+    private static final int mantissaBits = 52;
+    private static final int minimumExponent = -1023;
+    private static final int infinitePower = 0x7FF;
+    private static final long maxExactInteger = 1L << 53;
+
+    private static final double[] exactPowersOfTen = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+    private static final long[] powersOfFive = createPowersOfFive();
+
+    private DoubleConverter() {
+    }
+
+    /**
+     * Convert the characters of a valid JSON number to a {@code double}.
+     *
+     * @param   cs      the characters
+     * @return  the value
+     */
+    static double toDouble(CharSequence cs) {
+        int n = cs.length();
+        int i = 0;
+        boolean negative = cs.charAt(0) == '-';
+        if (negative)
+            i++;
+        long significand = 0;
+        int digits = 0;
+        long exponent = 0;
+        boolean truncated = false;
+        char ch = 0;
+        while (i < n && (ch = cs.charAt(i)) >= '0' && ch <= '9') {
+            if (digits < maxDigits) {
+                significand = significand * 10 + ch - '0';
+                if (significand != 0)
+                    digits++;
+            }
+            else {
+                exponent++;
+                if (ch != '0')
+                    truncated = true;
+            }
+            i++;
+        }
+        if (ch == '.') {
+            i++;
+            while (i < n && (ch = cs.charAt(i)) >= '0' && ch <= '9') {
+                if (digits < maxDigits) {
+                    significand = significand * 10 + ch - '0';
+                    if (significand != 0)
+                        digits++;
+                    exponent--;
+                }
+                else if (ch != '0')
+                    truncated = true;
+                i++;
+            }
+        }
+        if (ch == 'e' || ch == 'E') {
+            i++;
+            boolean negativeExponent = false;
+            ch = cs.charAt(i);
+            if (ch == '-' || ch == '+') {
+                negativeExponent = ch == '-';
+                i++;
+            }
+            long explicitExponent = 0;
+            while (i < n) {
+                // the exponent is limited to avoid overflow; any value this large will give zero or infinity
+                if (explicitExponent < 100000)
+                    explicitExponent = explicitExponent * 10 + cs.charAt(i) - '0';
+                i++;
+            }
+            exponent += negativeExponent ? -explicitExponent : explicitExponent;
+        }
+        if (truncated)
+            return Double.parseDouble(cs.toString());
+        if (significand == 0)
+            return negative ? -0.0 : 0.0;
+        double result;
+        // a significand of 19 digits may exceed Long.MAX_VALUE, in which case it is treated as unsigned
+        if (exponent >= -22 && exponent <= 22 && significand >= 0 && significand <= maxExactInteger) {
+            // Clinger's fast path - both the significand and the power of ten are exact
+            result = significand;
+            result = exponent < 0 ? result / exactPowersOfTen[(int)-exponent] :
+                    result * exactPowersOfTen[(int)exponent];
+        }
+        else
+            result = Double.longBitsToDouble(eiselLemire(significand, exponent));
+        return negative ? -result : result;
+    }
+
+    /**
+     * Compute the bits of the {@code double} closest to {@code w * 10^q}.
+     *
+     * @param   w       the significand (non-zero)
+     * @param   q       the power of ten
+     * @return  the bits of the {@code double}
+     */
+    private static long eiselLemire(long w, long q) {
+        if (q < smallestPowerOfTen)
+            return 0;
+        if (q > largestPowerOfTen)
+            return (long)infinitePower << mantissaBits;
+        int lz = Long.numberOfLeadingZeros(w);
+        w <<= lz;
+        int index = 2 * (int)(q - smallestPowerOfTen);
+        long high = unsignedMultiplyHigh(w, powersOfFive[index]);
+        long low = w * powersOfFive[index];
+        long precisionMask = -1L >>> (mantissaBits + 3);
+        if ((high & precisionMask) == precisionMask) {
+            long secondHigh = unsignedMultiplyHigh(w, powersOfFive[index + 1]);
+            low += secondHigh;
+            if (Long.compareUnsigned(secondHigh, low) > 0)
+                high++;
+        }
+        int upperBit = (int)(high >>> 63);
+        int shift = upperBit + 64 - mantissaBits - 3;
+        long mantissa = high >>> shift;
+        int power2 = power((int)q) + upperBit - lz - minimumExponent;
+        if (power2 <= 0) {
+            // subnormal
+            if (-power2 + 1 >= 64)
+                return 0;
+            mantissa >>>= -power2 + 1;
+            mantissa += mantissa & 1;
+            mantissa >>>= 1;
+            power2 = mantissa < 1L << mantissaBits ? 0 : 1;
+            return (long)power2 << mantissaBits | mantissa;
+        }
+        // round up, unless exactly half way with an even result
+        if ((low == 0 || low == 1) && q >= -4 && q <= 23 && (mantissa & 3) == 1 && mantissa << shift == high)
+            mantissa &= ~1L;
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+        if (mantissa >= 2L << mantissaBits) {
+            mantissa = 1L << mantissaBits;
+            power2++;
+        }
+        mantissa &= ~(1L << mantissaBits);
+        if (power2 >= infinitePower)
+            return (long)infinitePower << mantissaBits;
+        return (long)power2 << mantissaBits | mantissa;
+    }
+
+    private static int power(int q) {
+        return ((152170 + 65536) * q >> 16) + 63;
+    }
+
+    /**
+     * Get the high 64 bits of the unsigned 128-bit product of two 64-bit values.
+     *
+     * @param   x       the first value
+     * @param   y       the second value
+     * @return  the high 64 bits of the product
+     */
+    static long unsignedMultiplyHigh(long x, long y) {
+        long x0 = x & 0xFFFFFFFFL;
+        long x1 = x >>> 32;
+        long y0 = y & 0xFFFFFFFFL;
+        long y1 = y >>> 32;
+        long t = x1 * y0 + (x0 * y0 >>> 32);
+        long w1 = (t & 0xFFFFFFFFL) + x0 * y1;
+        return x1 * y1 + (t >>> 32) + (w1 >>> 32);
+    }
+
+    /**
+     * Create the table of 128-bit approximations of the powers of five from 5<sup>-342</sup> to 5<sup>308</sup>,
+     * normalised so that the most significant bit is set, as pairs of (high, low) 64-bit values.  Negative powers are
+     * rounded up, and positive powers are truncated.
+     *
+     * @return  the table
+     */
+    private static long[] createPowersOfFive() {
+        long[] table = new long[(largestPowerOfTen - smallestPowerOfTen + 1) * 2];
+        BigInteger five = BigInteger.valueOf(5);
+        int index = 0;
+        for (int q = smallestPowerOfTen; q < 0; q++) {
+            BigInteger power5 = five.pow(-q);
+            int z = power5.bitLength();
+            int b = q >= -27 ? z + 127 : 2 * z + 128;
+            BigInteger c = BigInteger.ONE.shiftLeft(b).divide(power5).add(BigInteger.ONE);
+            int excess = c.bitLength() - 128;
+            if (excess > 0)
+                c = c.shiftRight(excess);
+            index = store(table, index, c);
+        }
+        for (int q = 0; q <= largestPowerOfTen; q++) {
+            BigInteger power5 = five.pow(q);
+            int bits = power5.bitLength();
+            power5 = bits <= 128 ? power5.shiftLeft(128 - bits) : power5.shiftRight(bits - 128);
+            index = store(table, index, power5);
+        }
+        return table;
+    }
+
+    private static int store(long[] table, int index, BigInteger value) {
+        table[index++] = value.shiftRight(64).longValue();
+        table[index++] = value.longValue();
+        return index;
+    }
+
+}
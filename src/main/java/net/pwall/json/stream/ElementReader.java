@@ -0,0 +1,183 @@
+/*
+ * @(#) ElementReader.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import net.pwall.json.JSONValue;
+import net.pwall.pipeline.Acceptor;
+
+/**
+ * A pull-driven reader of the elements of a JSON array.  Input is read from the source one block at a time, and only
+ * when all the elements parsed from the previous block have been taken, so the number of parsed elements held at any
+ * time is limited to those contained in a single block of input.
+ *
+ * @author  Peter Wall
+ */
+final class ElementReader implements Closeable {
+
+    /** The size of each block of input (in bytes or characters). */
+    static final int blockSize = 8192;
+
+    /**
+     * A source of input.
+     */
+    interface Source {
+
+        /**
+         * Read the next block of input and pass it to the pipeline.
+         *
+         * @param   pipeline    the pipeline
+         * @return  {@code false} if the end of the input has been reached
+         * @throws  IOException if an error occurs reading the input
+         */
+        boolean read(JSONArrayPipeline<?> pipeline) throws IOException;
+
+    }
+
+    private final Source source;
+    private final Closeable closeable;
+    private final List<JSONValue> elements;
+    private final JSONArrayPipeline<Void> pipeline;
+    private int index;
+    private boolean ended;
+    private Exception error;
+
+    ElementReader(Source source, Closeable closeable) {
+        this.source = source;
+        this.closeable = closeable;
+        elements = new ArrayList<>();
+        pipeline = new JSONArrayPipeline<>(new ElementAcceptor());
+        index = 0;
+        ended = false;
+        error = null;
+    }
+
+    static ElementReader of(ReadableByteChannel channel) {
+        ByteBuffer buffer = ByteBuffer.allocate(blockSize);
+        return new ElementReader(pipeline -> {
+            buffer.clear();
+            if (channel.read(buffer) < 0)
+                return false;
+            buffer.flip();
+            pipeline.acceptBytes(buffer);
+            return true;
+        }, channel);
+    }
+
+    static ElementReader of(Reader reader) {
+        char[] chars = new char[blockSize];
+        return new ElementReader(pipeline -> {
+            int n = reader.read(chars);
+            if (n < 0)
+                return false;
+            pipeline.acceptChars(chars, 0, n);
+            return true;
+        }, reader);
+    }
+
+    /**
+     * Test whether there is another element, reading more input if necessary.
+     *
+     * @return  {@code true} if there is another element
+     * @throws  IOException if an error occurs reading the input
+     * @throws  net.pwall.json.JSONException    if the input is not a valid JSON array
+     */
+    boolean hasNext() throws IOException {
+        while (index == elements.size()) {
+            if (error != null)
+                throwError();
+            if (ended)
+                return false;
+            elements.clear();
+            index = 0;
+            try {
+                if (!source.read(pipeline)) {
+                    ended = true;
+                    pipeline.close();
+                }
+            }
+            catch (IOException | RuntimeException e) {
+                // the elements completed before the error are returned before the error is reported
+                ended = true;
+                error = e;
+            }
+        }
+        return true;
+    }
+
+    private void throwError() throws IOException {
+        if (error instanceof IOException)
+            throw (IOException)error;
+        throw (RuntimeException)error;
+    }
+
+    /**
+     * Get the next element (a JSON {@code null} is returned as {@code null}).  {@link #hasNext()} must have returned
+     * {@code true} before this function is called.
+     *
+     * @return  the element
+     */
+    JSONValue next() {
+        // clear the reference so that the element may be collected as soon as the caller has finished with it
+        return elements.set(index++, null);
+    }
+
+    @Override
+    public void close() throws IOException {
+        ended = true;
+        closeable.close();
+    }
+
+    /**
+     * An {@link Acceptor} that adds the elements to the list.  This does not extend {@code AbstractAcceptor}, because a
+     * JSON {@code null} element is passed on as {@code null}.
+     */
+    private class ElementAcceptor implements Acceptor<JSONValue, Void> {
+
+        @Override
+        public void accept(JSONValue value) {
+            elements.add(value);
+        }
+
+        @Override
+        public boolean isClosed() {
+            return ended;
+        }
+
+        @Override
+        public void close() {
+        }
+
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * @(#) ElementSpliterator.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import net.pwall.json.JSONValue;
+
+/**
+ * A {@link java.util.Spliterator} over the elements of a JSON array read by an {@link ElementReader}.  Input is read
+ * only as elements are requested, so a stream that is short-circuited (for example, by {@code findFirst()}) stops
+ * reading early.  Parallel streams are supported by the batching of {@link Spliterators.AbstractSpliterator}.
+ *
+ * @author  Peter Wall
+ */
+final class ElementSpliterator extends Spliterators.AbstractSpliterator<JSONValue> {
+
+    private final ElementReader reader;
+
+    ElementSpliterator(ElementReader reader) {
+        super(Long.MAX_VALUE, ORDERED);
+        this.reader = reader;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super JSONValue> action) {
+        try {
+            if (!reader.hasNext())
+                return false;
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        action.accept(reader.next());
+        return true;
+    }
+
+    /**
+     * Create a {@link Stream} of the elements read by an {@link ElementReader}; closing the stream closes the reader.
+     *
+     * @param   reader  the {@link ElementReader}
+     * @return  the {@link Stream}
+     */
+    static Stream<JSONValue> stream(ElementReader reader) {
+        return StreamSupport.stream(new ElementSpliterator(reader), false).onClose(() -> {
+            try {
+                reader.close();
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+}
@@ -0,0 +1,132 @@
+/*
+ * @(#) InputAdapter.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+
+import net.pwall.json.JSONException;
+
+/**
+ * The input entry points shared by the parsers and pipelines.  Each parser supplies its bulk character function as the
+ * {@link Sink}, and the {@code char} array and UTF-8 byte forms of input are converted and passed to it; the
+ * {@link UTF8Decoder} is created on first use.
+ *
+ * @author  Peter Wall
+ */
+final class InputAdapter {
+
+    /** The byte order mark, ignored if it occurs as the first character of a document. */
+    static final int BOM = 0xFEFF;
+
+    /**
+     * The destination of all input.
+     */
+    @FunctionalInterface
+    interface Sink {
+
+        /**
+         * Accept a run of characters.
+         *
+         * @param   cs      the characters
+         * @param   start   the index of the first character
+         * @param   end     the index after the last character
+         */
+        void acceptChars(CharSequence cs, int start, int end);
+
+    }
+
+    private final Sink sink;
+    private UTF8Decoder decoder;
+
+    InputAdapter(Sink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Accept a portion of a {@code char} array.
+     *
+     * @param   buf     the array
+     * @param   off     the offset of the first character
+     * @param   len     the number of characters
+     */
+    void acceptChars(char[] buf, int off, int len) {
+        sink.acceptChars(CharBuffer.wrap(buf, off, len), 0, len);
+    }
+
+    /**
+     * Accept a block of UTF-8 encoded bytes.
+     *
+     * @param   bytes   the byte array
+     * @param   off     the offset of the first byte
+     * @param   len     the number of bytes
+     * @throws  JSONException if the bytes are not valid UTF-8
+     */
+    void acceptBytes(byte[] bytes, int off, int len) {
+        getDecoder().accept(bytes, off, len);
+    }
+
+    /**
+     * Accept the remaining UTF-8 encoded bytes in a {@link ByteBuffer}.
+     *
+     * @param   buffer  the buffer
+     * @throws  JSONException if the bytes are not valid UTF-8
+     */
+    void acceptBytes(ByteBuffer buffer) {
+        getDecoder().accept(buffer);
+    }
+
+    /**
+     * Reset the adapter, discarding any incomplete UTF-8 sequence.
+     */
+    void reset() {
+        if (decoder != null)
+            decoder.reset();
+    }
+
+    /**
+     * Close the adapter.
+     *
+     * @throws  JSONException if the bytes supplied ended part way through a UTF-8 sequence
+     */
+    void close() {
+        if (decoder != null)
+            decoder.close();
+    }
+
+    private UTF8Decoder getDecoder() {
+        if (decoder == null) {
+            decoder = new UTF8Decoder() {
+                @Override
+                void acceptChars(CharSequence cs, int start, int end) {
+                    sink.acceptChars(cs, start, end);
+                }
+            };
+        }
+        return decoder;
+    }
+
+}
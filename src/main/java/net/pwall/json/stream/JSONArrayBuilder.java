@@ -2,7 +2,7 @@
  * @(#) JSONArrayBuilder.kt
  *
  * json-stream JSON Streaming library for Java
- * Copyright (c) 2020 Peter Wall
+ * Copyright (c) 2020, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -36,15 +36,20 @@ public class JSONArrayBuilder implements JSONBuilder {
 
     private enum State { INITIAL, ENTRY, COMMA, COMPLETE }
 
+    private final JSONParseContext context;
     private final List<JSONValue> entries;
     private State state;
     private JSONBuilder child;
 
-
     public JSONArrayBuilder() {
+        this(new JSONParseContext());
+    }
+
+    public JSONArrayBuilder(JSONParseContext context) {
+        this.context = context;
         state = State.INITIAL;
         entries = new ArrayList<>();
-        child = new JSONValueBuilder();
+        child = null;
     }
 
     @Override
@@ -68,16 +73,15 @@ public class JSONArrayBuilder implements JSONBuilder {
                         state = State.COMPLETE;
                     else {
                         state = State.ENTRY;
+                        child = context.valueBuilder();
                         child.acceptChar(ch); // always true for first character
                     }
                 }
                 break;
             case ENTRY:
                 boolean consumed = child.acceptChar(ch);
-                if (child.isComplete()) {
-                    entries.add(child.getResult());
-                    state = State.COMMA;
-                }
+                if (child.isComplete())
+                    addEntry();
                 if (consumed)
                     break;
                 state = State.COMMA;
@@ -85,7 +89,9 @@ public class JSONArrayBuilder implements JSONBuilder {
             case COMMA:
                 if (!JSONBuilder.isWhitespace(ch)) {
                     if (ch == ',') {
-                        child = new JSONValueBuilder();
+                        if (entries.size() >= context.maxEntries())
+                            throw context.limitExceeded("JSON array entries exceed limit");
+                        child = context.valueBuilder();
                         state = State.ENTRY;
                     }
                     else if (ch == ']')
@@ -100,4 +106,42 @@ public class JSONArrayBuilder implements JSONBuilder {
         return true;
     }
 
+    @Override
+    public int acceptChars(CharSequence cs, int start, int end) {
+        if (state == State.COMPLETE)
+            return JSONBuilder.super.acceptChars(cs, start, end);
+        int i = start;
+        while (i < end) {
+            if (state == State.ENTRY) {
+                i = child.acceptChars(cs, i, end);
+                if (child.isComplete())
+                    addEntry();
+            }
+            else {
+                context.setIndex(i);
+                acceptChar(cs.charAt(i++));
+                if (state == State.COMPLETE)
+                    break;
+            }
+        }
+        return i;
+    }
+
+    private void addEntry() {
+        entries.add(child.getResult());
+        context.release(child);
+        child = null;
+        state = State.COMMA;
+    }
+
+    @Override
+    public void reset() {
+        if (child != null) {
+            context.release(child);
+            child = null;
+        }
+        entries.clear();
+        state = State.INITIAL;
+    }
+
 }
@@ -2,7 +2,7 @@
  * @(#) JSONArrayPipeline.kt
  *
  * json-stream JSON Streaming library for Java
- * Copyright (c) 2020 Peter Wall
+ * Copyright (c) 2020, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -25,6 +25,17 @@
 
 package net.pwall.json.stream;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 import net.pwall.json.JSONException;
 import net.pwall.json.JSONValue;
 import net.pwall.pipeline.AbstractIntObjectPipeline;
@@ -40,13 +51,25 @@ public class JSONArrayPipeline<R> extends AbstractIntObjectPipeline<JSONValue, R
 
     private enum State { INITIAL, FIRST, ENTRY, COMMA, COMPLETE }
 
+    private static final String inputLimitMessage = "JSON input length exceeds limit";
+
+    private final JSONParseContext context;
     private State state;
     private JSONBuilder child;
+    private long count;
+    private JSONParseMetrics.Recorder recorder;
+    private final InputAdapter input = new InputAdapter(this::acceptChars);
 
     public JSONArrayPipeline(Acceptor<JSONValue, R> valueConsumer) {
+        this(valueConsumer, new JSONParseContext());
+    }
+
+    public JSONArrayPipeline(Acceptor<JSONValue, R> valueConsumer, JSONParseContext context) {
         super(valueConsumer);
+        this.context = context;
         state = State.INITIAL;
-        child = new JSONValueBuilder();
+        child = null;
+        count = 0;
     }
 
     public boolean isComplete() {
@@ -55,11 +78,25 @@ public class JSONArrayPipeline<R> extends AbstractIntObjectPipeline<JSONValue, R
 
     @Override
     public void acceptInt(int value) {
+        context.startBlock(count);
+        if (count >= context.maxChars())
+            throw context.limitExceeded(inputLimitMessage, 0);
+        count++;
+        acceptChar(value);
+    }
+
+    private void acceptChar(int value) {
         switch (state) {
             case INITIAL:
                 if (!JSONBuilder.isWhitespace(value)) {
-                    if (value == '[')
+                    if (value == '[') {
+                        context.startDocument();
+                        context.enterContainer();
+                        recorder = context.recorder();
+                        if (recorder != null)
+                            recorder.startArray();
                         state = State.FIRST;
+                    }
                     else
                         throw new JSONException("Pipeline must contain array");
                 }
@@ -70,6 +107,7 @@ public class JSONArrayPipeline<R> extends AbstractIntObjectPipeline<JSONValue, R
                         state = State.COMPLETE;
                     else {
                         state = State.ENTRY;
+                        child = context.valueBuilder();
                         child.acceptChar(value);
                         // always true for first character
                     }
@@ -77,17 +115,15 @@ public class JSONArrayPipeline<R> extends AbstractIntObjectPipeline<JSONValue, R
                 break;
             case ENTRY:
                 boolean consumed = child.acceptChar(value);
-                if (child.isComplete()) {
-                    emit(child.getResult());
-                    state = State.COMMA;
-                }
+                if (child.isComplete())
+                    emitEntry();
                 if (consumed)
                     break;
                 // will drop through if character not consumed
             case COMMA:
                 if (!JSONBuilder.isWhitespace(value)) {
                     if (value == ',') {
-                        child = new JSONValueBuilder();
+                        child = context.valueBuilder();
                         state = State.ENTRY;
                     }
                     else if (value == ']')
@@ -101,10 +137,217 @@ public class JSONArrayPipeline<R> extends AbstractIntObjectPipeline<JSONValue, R
         }
     }
 
+    /**
+     * Accept a {@link CharSequence} in a single operation, passing the characters to the element builders in bulk.
+     *
+     * @param   cs      the characters
+     */
+    public void acceptChars(CharSequence cs) {
+        acceptChars(cs, 0, cs.length());
+    }
+
+    /**
+     * Accept a subsequence of a {@link CharSequence} in a single operation.
+     *
+     * @param   cs      the characters
+     * @param   start   the index of the first character
+     * @param   end     the index after the last character
+     */
+    public void acceptChars(CharSequence cs, int start, int end) {
+        long base = count - start;
+        int limit = end;
+        if (base + end > context.maxChars())
+            limit = (int)(context.maxChars() - base);
+        context.startBlock(base);
+        int i = start;
+        while (i < limit) {
+            if (state == State.ENTRY) {
+                i = child.acceptChars(cs, i, limit);
+                if (child.isComplete())
+                    emitEntry();
+            }
+            else {
+                context.setIndex(i);
+                acceptChar(cs.charAt(i++));
+            }
+        }
+        count = base + limit;
+        if (limit < end)
+            throw context.limitExceeded(inputLimitMessage, limit);
+    }
+
+    /**
+     * Accept a portion of a {@code char} array in a single operation.
+     *
+     * @param   buf     the array
+     * @param   off     the offset of the first character
+     * @param   len     the number of characters
+     */
+    public void acceptChars(char[] buf, int off, int len) {
+        input.acceptChars(buf, off, len);
+    }
+
+    /**
+     * Accept a block of UTF-8 encoded bytes.  The bytes are scanned directly, and only multi-byte sequences (which may
+     * occur only inside strings) are decoded; a multi-byte sequence may be split across successive blocks.  This
+     * removes the need for a separate decoding stage in front of the pipeline, but the byte-oriented and
+     * character-oriented functions should not be mixed in a single document.
+     *
+     * @param   bytes   the byte array
+     * @param   off     the offset of the first byte
+     * @param   len     the number of bytes
+     * @throws  JSONException if the bytes are not valid UTF-8 or the JSON is not valid
+     */
+    public void acceptBytes(byte[] bytes, int off, int len) {
+        input.acceptBytes(bytes, off, len);
+    }
+
+    /**
+     * Accept an array of UTF-8 encoded bytes.
+     *
+     * @param   bytes   the byte array
+     * @throws  JSONException if the bytes are not valid UTF-8 or the JSON is not valid
+     */
+    public void acceptBytes(byte[] bytes) {
+        input.acceptBytes(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Accept the remaining UTF-8 encoded bytes in a {@link ByteBuffer}; the position of the buffer is advanced to its
+     * limit.
+     *
+     * @param   buffer  the buffer
+     * @throws  JSONException if the bytes are not valid UTF-8 or the JSON is not valid
+     */
+    public void acceptBytes(ByteBuffer buffer) {
+        input.acceptBytes(buffer);
+    }
+
+    /**
+     * Process a file containing a UTF-8 encoded JSON array, passing each element to an acceptor.  The file is
+     * memory-mapped (in windows of up to 1GB, so files of any size may be processed), and the mapped bytes are passed
+     * to {@link #acceptBytes(ByteBuffer)}, avoiding the overhead of a {@link java.io.Reader}.
+     *
+     * @param   path        the path of the file
+     * @param   acceptor    the acceptor for the elements
+     * @param   <R>         the result type of the acceptor
+     * @return  the result of the acceptor
+     * @throws  JSONException   if the file does not contain valid JSON
+     * @throws  IOException     if an error occurs reading the file
+     */
+    public static <R> R process(Path path, Acceptor<JSONValue, R> acceptor) throws IOException {
+        JSONArrayPipeline<R> pipeline = new JSONArrayPipeline<>(acceptor);
+        MappedFile.forEachWindow(path, pipeline::acceptBytes);
+        pipeline.close();
+        return pipeline.getResult();
+    }
+
+    /**
+     * Create a lazy {@link Stream} of the elements of a JSON array read from a {@link Reader}.  The input is read in
+     * blocks only as the elements are consumed, so a stream that is short-circuited (for example, by {@code limit()} or
+     * {@code findFirst()}) stops reading early.  Closing the stream closes the {@link Reader}.  A JSON {@code null}
+     * element is returned as {@code null}; an error in the input causes a {@link JSONException} to be thrown (or an
+     * {@link java.io.UncheckedIOException} in the case of an {@link IOException}) when that part of the input is
+     * reached.
+     *
+     * @param   reader  the {@link Reader}
+     * @return  the {@link Stream}
+     */
+    public static Stream<JSONValue> stream(Reader reader) {
+        return ElementSpliterator.stream(ElementReader.of(reader));
+    }
+
+    /**
+     * Create a lazy {@link Stream} of the elements of a UTF-8 encoded JSON array read from an {@link InputStream} (see
+     * {@link #stream(Reader)}).
+     *
+     * @param   inputStream the {@link InputStream}
+     * @return  the {@link Stream}
+     */
+    public static Stream<JSONValue> stream(InputStream inputStream) {
+        return ElementSpliterator.stream(ElementReader.of(Channels.newChannel(inputStream)));
+    }
+
+    /**
+     * Create a {@link Stream} of the elements of a UTF-8 encoded JSON array held in a byte array.  The elements are
+     * parsed only as they are consumed, and the stream may be split at element boundaries, so that a parallel stream
+     * parses separate parts of the array concurrently.
+     *
+     * @param   bytes   the byte array
+     * @return  the {@link Stream}
+     * @throws  JSONException   if the input does not start with an array
+     */
+    public static Stream<JSONValue> stream(byte[] bytes) {
+        return stream(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Create a {@link Stream} of the elements of a UTF-8 encoded JSON array held in the remaining bytes of a
+     * {@link ByteBuffer} (which may be a memory-mapped region), as for {@link #stream(byte[])}.  The position of the
+     * buffer is not changed.
+     *
+     * @param   buffer  the buffer
+     * @return  the {@link Stream}
+     * @throws  JSONException   if the input does not start with an array
+     */
+    public static Stream<JSONValue> stream(ByteBuffer buffer) {
+        return StreamSupport.stream(BufferSpliterator.of(buffer.duplicate()), false);
+    }
+
+    /**
+     * Create a {@link Stream} of the elements of a UTF-8 encoded JSON array in a file.  A file of up to 1GB is
+     * memory-mapped, and the stream may be split as for {@link #stream(byte[])}; a larger file is read in blocks as
+     * for {@link #stream(InputStream)}.  The stream should be closed after use.
+     *
+     * @param   path    the path of the file
+     * @return  the {@link Stream}
+     * @throws  JSONException   if the file does not start with an array
+     * @throws  IOException     if an error occurs opening the file
+     */
+    public static Stream<JSONValue> stream(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        if (channel.size() > MappedFile.windowSize)
+            return ElementSpliterator.stream(ElementReader.of(channel));
+        try {
+            // the mapping remains valid after the channel is closed
+            return stream(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+        finally {
+            channel.close();
+        }
+    }
+
+    private void emitEntry() {
+        JSONValue value = child.getResult();
+        context.release(child);
+        child = null;
+        state = State.COMMA;
+        if (recorder != null)
+            recorder.element(value);
+        emit(value);
+    }
+
+    /**
+     * Reset the pipeline so that it may be used to process another array; the element builders are retained and
+     * re-used.  The downstream acceptor is not affected.
+     */
+    public void reset() {
+        if (child != null) {
+            context.release(child);
+            child = null;
+        }
+        state = State.INITIAL;
+        count = 0;
+        input.reset();
+    }
+
     @Override
     public void close() {
+        input.close();
         if (!isComplete())
             throw new JSONException("Unexpected end of data in JSON array");
+        if (recorder != null)
+            recorder.finish(count, System.nanoTime());
     }
 
 }
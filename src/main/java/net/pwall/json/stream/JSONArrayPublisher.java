@@ -0,0 +1,271 @@
+/*
+ * @(#) JSONArrayPublisher.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Objects;
+
+import net.pwall.json.JSONException;
+import net.pwall.json.JSONValue;
+
+/**
+ * A publisher of the elements of a JSON array, driven by the demand of its subscriber.  Unlike
+ * {@link JSONArrayPipeline}, which passes each element to its acceptor as soon as it is parsed, this class reads input
+ * only when the subscriber has requested more elements, so a large array may be streamed to a slow consumer (for
+ * example, a database batch writer) without buffering more than a single block of input.
+ *
+ * <p>The {@link Subscriber} and {@link Subscription} interfaces follow the form of the
+ * <a href="https://www.reactive-streams.org/">Reactive Streams</a> interfaces (and {@code java.util.concurrent.Flow}),
+ * but they do not conform to that specification in two respects.  First, a JSON {@code null} element is passed to
+ * {@code onNext()} as a Java {@code null}; Reactive Streams forbids {@code null} signals, so an adapter must map such
+ * elements to a non-null value (for example, an {@code Optional} or a placeholder object) before passing them to a
+ * conforming subscriber.  Second, the input is read, and the subscriber called, on the thread that calls
+ * {@link Subscription#request(long)}, and that call does not return until the requested elements have been delivered
+ * (or the input is exhausted).</p>
+ * <pre>
+ *     new JSONArrayPublisher(inputStream).subscribe(new JSONArrayPublisher.Subscriber() {
+ *         private JSONArrayPublisher.Subscription subscription;
+ *         public void onSubscribe(JSONArrayPublisher.Subscription subscription) {
+ *             this.subscription = subscription;
+ *             subscription.request(100);
+ *         }
+ *         // ...
+ *     });
+ * </pre>
+ *
+ * <p>A publisher may have only one subscriber.  The input is closed when the end of the array is reached, when an
+ * error occurs, or when the subscription is cancelled.</p>
+ *
+ * @author  Peter Wall
+ */
+public class JSONArrayPublisher {
+
+    /**
+     * A subscriber to a {@code JSONArrayPublisher}.
+     */
+    public interface Subscriber {
+
+        /**
+         * Receive the subscription.  No elements will be passed until they are requested using the subscription.
+         *
+         * @param   subscription    the subscription
+         */
+        void onSubscribe(Subscription subscription);
+
+        /**
+         * Receive the next element of the array.
+         *
+         * @param   value   the element ({@code null} for a JSON {@code null})
+         */
+        void onNext(JSONValue value);
+
+        /**
+         * Receive notification of an error: a {@link JSONException} if the input is not a valid JSON array, or an
+         * {@link IOException} if an error occurs reading the input.  No further calls will be made.
+         *
+         * @param   throwable   the error
+         */
+        void onError(Throwable throwable);
+
+        /**
+         * Receive notification of the end of the array.  No further calls will be made.
+         */
+        void onComplete();
+
+    }
+
+    /**
+     * The link between a {@code JSONArrayPublisher} and its subscriber.
+     */
+    public interface Subscription {
+
+        /**
+         * Request a number of elements.  The input is read, and the elements are passed to
+         * {@link Subscriber#onNext(JSONValue)}, on the calling thread, and the call may block while input is read.
+         * The requests are cumulative; a request made from within {@code onNext()} adds to the demand being satisfied
+         * by the outer call and returns immediately, but a request made from another thread blocks until any call in
+         * progress (including a blocking read) has returned.
+         *
+         * @param   n   the number of elements (must be positive)
+         */
+        void request(long n);
+
+        /**
+         * Cancel the subscription; no more input will be read.
+         */
+        void cancel();
+
+    }
+
+    private final ElementReader reader;
+    private boolean subscribed;
+
+    /**
+     * Create a {@code JSONArrayPublisher} reading UTF-8 encoded JSON from a (blocking) channel.
+     *
+     * @param   channel     the channel
+     */
+    public JSONArrayPublisher(ReadableByteChannel channel) {
+        reader = ElementReader.of(channel);
+        subscribed = false;
+    }
+
+    /**
+     * Create a {@code JSONArrayPublisher} reading UTF-8 encoded JSON from an {@link InputStream}.
+     *
+     * @param   inputStream the {@link InputStream}
+     */
+    public JSONArrayPublisher(InputStream inputStream) {
+        this(Channels.newChannel(inputStream));
+    }
+
+    /**
+     * Create a {@code JSONArrayPublisher} reading JSON from a {@link Reader}.
+     *
+     * @param   reader      the {@link Reader}
+     */
+    public JSONArrayPublisher(Reader reader) {
+        this.reader = ElementReader.of(reader);
+        subscribed = false;
+    }
+
+    /**
+     * Subscribe to the publisher.  If the publisher already has a subscriber, the new subscriber receives an
+     * {@link IllegalStateException} through {@link Subscriber#onError(Throwable)}.
+     *
+     * @param   subscriber  the subscriber
+     */
+    public void subscribe(Subscriber subscriber) {
+        Objects.requireNonNull(subscriber);
+        synchronized (this) {
+            if (!subscribed) {
+                subscribed = true;
+                subscriber.onSubscribe(new ArraySubscription(subscriber));
+                return;
+            }
+        }
+        subscriber.onSubscribe(new ArraySubscription(null));
+        subscriber.onError(new IllegalStateException("JSONArrayPublisher already has a subscriber"));
+    }
+
+    private class ArraySubscription implements Subscription {
+
+        private final Subscriber subscriber;
+        private long demand;
+        private boolean draining;
+        private volatile boolean done;
+
+        ArraySubscription(Subscriber subscriber) {
+            this.subscriber = subscriber;
+            demand = 0;
+            draining = false;
+            done = subscriber == null;
+        }
+
+        @Override
+        public synchronized void request(long n) {
+            if (done)
+                return;
+            if (n <= 0) {
+                finish(new IllegalArgumentException("Illegal request: " + n));
+                return;
+            }
+            demand += n;
+            if (demand < 0)
+                demand = Long.MAX_VALUE;
+            // a request made from within onNext() adds to the demand being satisfied by the outer call
+            if (!draining)
+                drain();
+        }
+
+        /**
+         * Cancel the subscription.  This is not synchronized with {@link #request(long)}, so that a cancellation from
+         * another thread (for example, on a timeout) takes effect while a read is blocked; closing the input causes an
+         * interruptible channel read to fail, and the failure is not reported to the subscriber.
+         */
+        @Override
+        public void cancel() {
+            if (!done) {
+                done = true;
+                closeReader();
+            }
+        }
+
+        private void drain() {
+            draining = true;
+            try {
+                while (demand > 0 && !done) {
+                    JSONValue value;
+                    try {
+                        if (!reader.hasNext()) {
+                            if (!done)
+                                finish(null);
+                            break;
+                        }
+                        value = reader.next();
+                    }
+                    catch (IOException | RuntimeException e) {
+                        // an error caused by a concurrent cancel() is not reported
+                        if (!done)
+                            finish(e);
+                        break;
+                    }
+                    if (done)
+                        break;
+                    demand--;
+                    subscriber.onNext(value);
+                }
+            }
+            finally {
+                draining = false;
+            }
+        }
+
+        private void finish(Throwable throwable) {
+            done = true;
+            closeReader();
+            if (throwable == null)
+                subscriber.onComplete();
+            else
+                subscriber.onError(throwable);
+        }
+
+        private void closeReader() {
+            try {
+                reader.close();
+            }
+            catch (IOException ignore) {
+                // the input is no longer needed
+            }
+        }
+
+    }
+
+}
@@ -2,7 +2,7 @@
  * @(#) JSONBuilder.kt
  *
  * json-stream JSON Streaming library for Java
- * Copyright (c) 2020 Peter Wall
+ * Copyright (c) 2020, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -62,6 +62,39 @@ public interface JSONBuilder {
      */
     boolean acceptChar(int ch);
 
+    /**
+     * Accept a sequence of characters as part of the JSON, and return the index of the first character not consumed.
+     * The builder processes characters until either the JSON it is building is complete, or the end of the sequence
+     * is reached; if the builder is already complete, any remaining characters are checked to be whitespace.  As with
+     * {@link #acceptChar(int)}, the characters are expected to be either ASCII or (inside strings) any UTF-16 code
+     * unit; surrogate pairs are passed through unchanged.
+     *
+     * <p>The default implementation passes each character in turn to {@link #acceptChar(int)}; builders override
+     * this to consume runs of characters in a tight loop.</p>
+     *
+     * @param   cs      the characters
+     * @param   start   the index of the first character to process
+     * @param   end     the index after the last character to process
+     * @return  the index of the first character not consumed ({@code end} if all characters were consumed)
+     * @throws  JSONException if any of the characters is not valid
+     */
+    default int acceptChars(CharSequence cs, int start, int end) {
+        int i = start;
+        if (isComplete()) {
+            while (i < end)
+                acceptChar(cs.charAt(i++));
+            return end;
+        }
+        while (i < end) {
+            if (!acceptChar(cs.charAt(i)))
+                break;
+            i++;
+            if (isComplete())
+                break;
+        }
+        return i;
+    }
+
     /**
      * Close the builder.  The default implementation throws an exception if the JSON is not complete.
      *
@@ -72,6 +105,16 @@ public interface JSONBuilder {
             throw new JSONException("Unexpected end of data");
     }
 
+    /**
+     * Reset the builder to its initial state, so that it may be used to parse another value.  The default
+     * implementation throws an exception; builders that can be re-used override it.
+     *
+     * @throws  UnsupportedOperationException if the builder can not be reset
+     */
+    default void reset() {
+        throw new UnsupportedOperationException("Builder can not be reset");
+    }
+
     /**
      * Test a character for whitespace.
      *
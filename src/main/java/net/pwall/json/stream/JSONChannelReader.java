@@ -0,0 +1,259 @@
+/*
+ * @(#) JSONChannelReader.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousByteChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.channels.ReadableByteChannel;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import net.pwall.json.JSONException;
+import net.pwall.json.JSONValue;
+
+/**
+ * An adapter to feed UTF-8 encoded JSON from a non-blocking or asynchronous channel to a {@link JSONStream},
+ * {@link JSONArrayPipeline} or {@link JSONSequencePipeline}, so that input arriving on many connections may be parsed
+ * by a small number of threads without any thread blocking while waiting for input.
+ *
+ * <p>The bytes are passed to the parser as each block arrives; a multi-byte UTF-8 sequence split between blocks is
+ * held by the parser until the rest of the sequence arrives.  The result (or the first error) is reported through a
+ * {@link CompletableFuture}:</p>
+ * <pre>
+ *     JSONChannelReader&lt;JSONValue&gt; reader = JSONChannelReader.of(new JSONStream());
+ *     reader.read(asynchronousSocketChannel).thenAccept(value -&gt; process(value));
+ * </pre>
+ *
+ * <p>Alternatively, an event loop may call {@link #read(ReadableByteChannel)} each time a non-blocking channel is
+ * ready for reading, or pass blocks of input that it has already read to {@link #accept(ByteBuffer)}, followed by
+ * {@link #end()} at the end of the input.  The functions of a single {@code JSONChannelReader} must not be called
+ * concurrently.</p>
+ *
+ * @author  Peter Wall
+ * @param   <R>     the result type
+ */
+public class JSONChannelReader<R> {
+
+    /** The size of the buffer used to read from a channel. */
+    public static final int BUFFER_SIZE = 8192;
+
+    private final Consumer<ByteBuffer> input;
+    private final Supplier<R> finish;
+    private final CompletableFuture<R> future;
+    private final ReadHandler readHandler;
+    private ByteBuffer buffer;
+
+    private JSONChannelReader(Consumer<ByteBuffer> input, Supplier<R> finish) {
+        this.input = input;
+        this.finish = finish;
+        future = new CompletableFuture<>();
+        readHandler = new ReadHandler();
+    }
+
+    /**
+     * Create a {@code JSONChannelReader} to parse a single JSON value using a {@link JSONStream}.
+     *
+     * @param   stream  the {@link JSONStream}
+     * @return  the {@code JSONChannelReader}
+     */
+    public static JSONChannelReader<JSONValue> of(JSONStream stream) {
+        return new JSONChannelReader<>(stream::acceptBytes, () -> {
+            stream.close();
+            return stream.getResult();
+        });
+    }
+
+    /**
+     * Create a {@code JSONChannelReader} to stream the elements of a JSON array using a {@link JSONArrayPipeline}.
+     * The result is the result of the pipeline (that is, of its downstream acceptor).
+     *
+     * @param   pipeline    the {@link JSONArrayPipeline}
+     * @param   <R>         the result type of the pipeline
+     * @return  the {@code JSONChannelReader}
+     */
+    public static <R> JSONChannelReader<R> of(JSONArrayPipeline<R> pipeline) {
+        return new JSONChannelReader<>(pipeline::acceptBytes, () -> {
+            pipeline.close();
+            return pipeline.getResult();
+        });
+    }
+
+    /**
+     * Create a {@code JSONChannelReader} to stream a sequence of JSON values using a {@link JSONSequencePipeline}.
+     * The result is the result of the pipeline (that is, of its downstream acceptor).
+     *
+     * @param   pipeline    the {@link JSONSequencePipeline}
+     * @param   <R>         the result type of the pipeline
+     * @return  the {@code JSONChannelReader}
+     */
+    public static <R> JSONChannelReader<R> of(JSONSequencePipeline<R> pipeline) {
+        return new JSONChannelReader<>(pipeline::acceptBytes, () -> {
+            pipeline.close();
+            return pipeline.getResult();
+        });
+    }
+
+    /**
+     * Get the {@link CompletableFuture} that will be completed with the result, or completed exceptionally with a
+     * {@link JSONException} (if the JSON is not valid) or an {@link IOException} (if the channel reports an error).
+     *
+     * @return  the {@link CompletableFuture}
+     */
+    public CompletableFuture<R> getFuture() {
+        return future;
+    }
+
+    /**
+     * Test whether the parsing is complete, either successfully or with an error.
+     *
+     * @return  {@code true} if the parsing is complete
+     */
+    public boolean isDone() {
+        return future.isDone();
+    }
+
+    /**
+     * Accept the remaining bytes in a {@link ByteBuffer}; the position of the buffer is advanced to its limit.  If the
+     * bytes are not valid, the future is completed exceptionally and any further input is ignored.
+     *
+     * @param   buffer  the buffer
+     */
+    public void accept(ByteBuffer buffer) {
+        if (future.isDone()) {
+            buffer.position(buffer.limit());
+            return;
+        }
+        try {
+            input.accept(buffer);
+        }
+        catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Signal the end of the input, completing the future with the result (or exceptionally, if the JSON is
+     * incomplete).
+     */
+    public void end() {
+        if (future.isDone())
+            return;
+        try {
+            future.complete(finish.get());
+        }
+        catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Read from a channel until no more bytes are available, or the end of the input is reached.  When used with a
+     * channel in non-blocking mode, this function should be called each time the channel is ready for reading.
+     *
+     * @param   channel     the channel
+     * @return  {@code true} if the parsing is complete (and the future has been completed)
+     * @throws  IOException     if the channel reports an error (the future is also completed exceptionally)
+     */
+    public boolean read(ReadableByteChannel channel) throws IOException {
+        ByteBuffer buffer = getBuffer();
+        while (!future.isDone()) {
+            buffer.clear();
+            int n;
+            try {
+                n = channel.read(buffer);
+            }
+            catch (IOException e) {
+                future.completeExceptionally(e);
+                throw e;
+            }
+            if (n < 0)
+                end();
+            else if (n == 0)
+                return false;
+            else {
+                buffer.flip();
+                accept(buffer);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Read from an asynchronous channel (for example, an
+     * {@link java.nio.channels.AsynchronousSocketChannel AsynchronousSocketChannel}) until the end of the input.  Each
+     * read is started when the previous one completes, so no thread is occupied while waiting for input.  The channel
+     * is not closed.
+     *
+     * @param   channel     the channel
+     * @return  the {@link CompletableFuture} that will be completed with the result
+     */
+    public CompletableFuture<R> read(AsynchronousByteChannel channel) {
+        readNext(channel);
+        return future;
+    }
+
+    private void readNext(AsynchronousByteChannel channel) {
+        ByteBuffer buffer = getBuffer();
+        buffer.clear();
+        try {
+            channel.read(buffer, channel, readHandler);
+        }
+        catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    private ByteBuffer getBuffer() {
+        if (buffer == null)
+            buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        return buffer;
+    }
+
+    private class ReadHandler implements CompletionHandler<Integer, AsynchronousByteChannel> {
+
+        @Override
+        public void completed(Integer n, AsynchronousByteChannel channel) {
+            if (n < 0)
+                end();
+            else {
+                buffer.flip();
+                accept(buffer);
+                if (!future.isDone())
+                    readNext(channel);
+            }
+        }
+
+        @Override
+        public void failed(Throwable exc, AsynchronousByteChannel channel) {
+            future.completeExceptionally(exc);
+        }
+
+    }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * @(#) JSONEventHandler.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream;
+
+/**
+ * Callback interface for {@link JSONEventParser}.  The functions are called in document order as each part of the JSON
+ * is recognised; all of them have empty default implementations, so a handler need only override the ones it is
+ * interested in.
+ *
+ * <p>Strings, object keys and numbers are passed as {@link CharSequence} views of the parser's internal buffers; they
+ * are valid only for the duration of the call, and must be copied (for example with {@code toString()}) if they are to
+ * be retained.</p>
+ *
+ * @author  Peter Wall
+ */
+public interface JSONEventHandler {
+
+    /**
+     * Called at the start of an object.
+     */
+    default void startObject() {
+    }
+
+    /**
+     * Called for each key in an object; the value for the key will be reported by the following call (or calls, if the
+     * value is an object or array).
+     *
+     * @param   key     the key (after the processing of escape sequences)
+     */
+    default void key(CharSequence key) {
+    }
+
+    /**
+     * Called at the end of an object.
+     */
+    default void endObject() {
+    }
+
+    /**
+     * Called at the start of an array.
+     */
+    default void startArray() {
+    }
+
+    /**
+     * Called at the end of an array.
+     */
+    default void endArray() {
+    }
+
+    /**
+     * Called for a string value.
+     *
+     * @param   value   the string (after the processing of escape sequences)
+     */
+    default void stringValue(CharSequence value) {
+    }
+
+    /**
+     * Called for a number value.
+     *
+     * @param   value   the characters of the number, exactly as they appeared in the JSON
+     */
+    default void numberValue(CharSequence value) {
+    }
+
+    /**
+     * Called for a {@code true} or {@code false} value.
+     *
+     * @param   value   the boolean value
+     */
+    default void booleanValue(boolean value) {
+    }
+
+    /**
+     * Called for a {@code null} value.
+     */
+    default void nullValue() {
+    }
+
+}
@@ -0,0 +1,213 @@
+/*
+ * @(#) JSONEventParser.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream;
+
+import java.nio.ByteBuffer;
+
+import net.pwall.json.JSONException;
+import net.pwall.pipeline.AbstractIntAcceptor;
+
+/**
+ * A stream class that consumes a sequence of characters and reports the structure of the JSON to a
+ * {@link JSONEventHandler}, without creating any {@link net.pwall.json.JSONValue} objects.  The memory used is
+ * proportional to the depth of nesting and the length of the longest string, not to the size of the document, so this
+ * class may be used to extract data from JSON documents of any size.
+ *
+ * <p>The input functions are the same as those of {@link JSONStream}, and the syntax rules and the exceptions thrown
+ * for invalid JSON are the same as those of {@link JSONValueBuilder}, with one exception: since the parser retains no
+ * record of the keys of an object, duplicate keys are not detected.  An exception thrown by the handler will be
+ * propagated to the caller of the input function.</p>
+ *
+ * @author  Peter Wall
+ */
+public class JSONEventParser extends AbstractIntAcceptor<Void> {
+
+    private final EventBuilder delegate;
+    private boolean started;
+    private final InputAdapter input = new InputAdapter(this::acceptChars);
+
+    public JSONEventParser(JSONEventHandler handler) {
+        this(handler, new JSONParseContext());
+    }
+
+    public JSONEventParser(JSONEventHandler handler, JSONParseContext context) {
+        delegate = new EventBuilder(handler, context);
+        started = false;
+    }
+
+    @Override
+    public void acceptInt(int value) {
+        if (!started) {
+            started = true;
+            if (value == InputAdapter.BOM)
+                return;
+        }
+        while (true) {
+            if (delegate.acceptChar(value))
+                break;
+        }
+    }
+
+    /**
+     * Accept a {@link CharSequence} in a single operation.
+     *
+     * @param   cs      the characters
+     */
+    public void acceptChars(CharSequence cs) {
+        acceptChars(cs, 0, cs.length());
+    }
+
+    /**
+     * Accept a subsequence of a {@link CharSequence} in a single operation.
+     *
+     * @param   cs      the characters
+     * @param   start   the index of the first character
+     * @param   end     the index after the last character
+     */
+    public void acceptChars(CharSequence cs, int start, int end) {
+        int i = start;
+        if (!started && i < end) {
+            started = true;
+            if (cs.charAt(i) == InputAdapter.BOM)
+                i++;
+        }
+        while (i < end)
+            i = delegate.acceptChars(cs, i, end);
+    }
+
+    /**
+     * Accept a portion of a {@code char} array in a single operation.
+     *
+     * @param   buf     the array
+     * @param   off     the offset of the first character
+     * @param   len     the number of characters
+     */
+    public void acceptChars(char[] buf, int off, int len) {
+        input.acceptChars(buf, off, len);
+    }
+
+    /**
+     * Accept a block of UTF-8 encoded bytes (see {@link JSONStream#acceptBytes(byte[], int, int)}).
+     *
+     * @param   bytes   the byte array
+     * @param   off     the offset of the first byte
+     * @param   len     the number of bytes
+     * @throws  JSONException if the bytes are not valid UTF-8 or the JSON is not valid
+     */
+    public void acceptBytes(byte[] bytes, int off, int len) {
+        input.acceptBytes(bytes, off, len);
+    }
+
+    /**
+     * Accept an array of UTF-8 encoded bytes.
+     *
+     * @param   bytes   the byte array
+     * @throws  JSONException if the bytes are not valid UTF-8 or the JSON is not valid
+     */
+    public void acceptBytes(byte[] bytes) {
+        input.acceptBytes(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Accept the remaining UTF-8 encoded bytes in a {@link ByteBuffer}; the position of the buffer is advanced to its
+     * limit.
+     *
+     * @param   buffer  the buffer
+     * @throws  JSONException if the bytes are not valid UTF-8 or the JSON is not valid
+     */
+    public void acceptBytes(ByteBuffer buffer) {
+        input.acceptBytes(buffer);
+    }
+
+    /**
+     * Reset the parser so that it may be used to parse another document.
+     */
+    public void reset() {
+        delegate.reset();
+        started = false;
+        input.reset();
+    }
+
+    @Override
+    public boolean isComplete() {
+        return delegate.isComplete();
+    }
+
+    @Override
+    public void close() {
+        input.close();
+        delegate.close();
+    }
+
+    private static class EventBuilder extends JSONStackParser {
+
+        private final JSONEventHandler handler;
+
+        EventBuilder(JSONEventHandler handler, JSONParseContext context) {
+            super(context);
+            this.handler = handler;
+        }
+
+        @Override
+        void startObject() {
+            handler.startObject();
+        }
+
+        @Override
+        void key(CharSequence key) {
+            handler.key(key);
+        }
+
+        @Override
+        void endObject() {
+            handler.endObject();
+        }
+
+        @Override
+        void startArray() {
+            handler.startArray();
+        }
+
+        @Override
+        void endArray() {
+            handler.endArray();
+        }
+
+        @Override
+        void scalarValue(JSONBuilder scalar) {
+            if (scalar == stringBuilder)
+                handler.stringValue(stringBuilder.getChars());
+            else if (scalar == numberBuilder)
+                handler.numberValue(numberBuilder.getChars());
+            else if (scalar == nullBuilder)
+                handler.nullValue();
+            else
+                handler.booleanValue(scalar == trueBuilder);
+        }
+
+    }
+
+}
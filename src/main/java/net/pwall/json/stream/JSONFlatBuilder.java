@@ -0,0 +1,197 @@
+/*
+ * @(#) JSONFlatBuilder.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.pwall.json.JSONArray;
+import net.pwall.json.JSONException;
+import net.pwall.json.JSONObject;
+import net.pwall.json.JSONValue;
+
+/**
+ * An alternative to {@link JSONValueBuilder} that parses a complete JSON value using a single state machine with an
+ * explicit stack of open containers.  Where {@link JSONValueBuilder} forwards each character down a chain of nested
+ * builders (so that the cost per character grows with the depth of nesting), this class handles each character in
+ * constant time regardless of depth, and the nesting depth is limited only by the heap, not by the call stack.
+ *
+ * <p>The results, and the exceptions thrown for invalid JSON, are the same as those of {@link JSONValueBuilder}.  To
+ * use this class with a {@link JSONStream}:</p>
+ * <pre>
+ *     JSONStream stream = new JSONStream(new JSONFlatBuilder());
+ * </pre>
+ *
+ * <p>Optionally, the objects and arrays nested at or below a specified depth may be returned as {@link JSONLazyValue}
+ * objects, holding the original text of the value, which is parsed only if the content is accessed.  Only structural
+ * errors are detected in those values until they are parsed (see {@link JSONSkipBuilder}).</p>
+ *
+ * @author  Peter Wall
+ */
+public class JSONFlatBuilder extends JSONStackParser implements JSONBuilder {
+
+    private static final int initialDepth = 16;
+
+    private final int lazyDepth;
+    private final List<List<JSONValue>> arrays;
+    private final List<Map<String, JSONValue>> objects;
+    private String[] names;
+    private JSONValue result;
+    private JSONLazyBuilder lazyBuilder;
+
+    public JSONFlatBuilder() {
+        this(new JSONParseContext());
+    }
+
+    public JSONFlatBuilder(JSONParseContext context) {
+        this(context, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Create a {@code JSONFlatBuilder} that returns objects and arrays at or below the specified depth as
+     * {@link JSONLazyValue} objects.  A depth of 0 causes the entire value (if it is an object or array) to be
+     * returned as a {@link JSONLazyValue}, 1 causes the values within the outermost object or array to be returned
+     * that way, and so on.
+     *
+     * @param   context     the {@link JSONParseContext}
+     * @param   lazyDepth   the depth of nesting at which objects and arrays are to be returned as
+     *                      {@link JSONLazyValue} objects
+     * @throws  IllegalArgumentException    if the depth is negative
+     */
+    public JSONFlatBuilder(JSONParseContext context, int lazyDepth) {
+        super(context);
+        if (lazyDepth < 0)
+            throw new IllegalArgumentException("Illegal lazy depth: " + lazyDepth);
+        this.lazyDepth = lazyDepth;
+        arrays = new ArrayList<>();
+        objects = new ArrayList<>();
+        names = new String[initialDepth];
+    }
+
+    @Override
+    public JSONValue getResult() {
+        if (!isComplete())
+            throw new JSONException("JSON not complete");
+        return result;
+    }
+
+    @Override
+    public void reset() {
+        for (int level = 0; level < depth; level++) {
+            if (isObject(level))
+                objects.get(level).clear();
+            else
+                arrays.get(level).clear();
+            names[level] = null;
+        }
+        result = null;
+        super.reset();
+    }
+
+    @Override
+    JSONBuilder delegateBuilder(int ch) {
+        if (depth >= lazyDepth && (ch == '{' || ch == '[')) {
+            if (lazyBuilder == null)
+                lazyBuilder = new JSONLazyBuilder(context);
+            lazyBuilder.reset(depth);
+            return lazyBuilder;
+        }
+        return null;
+    }
+
+    @Override
+    void startObject() {
+        int level = prepareLevel();
+        // the collections for each level are retained and re-used for later containers at the same level
+        if (objects.get(level) == null)
+            objects.set(level, new LinkedHashMap<>());
+    }
+
+    @Override
+    void key(CharSequence key) {
+        int level = depth - 1;
+        String name = context.key(key);
+        if (objects.get(level).containsKey(name))
+            throw new JSONException("Duplicate key in JSON object");
+        names[level] = name;
+    }
+
+    @Override
+    void endObject() {
+        Map<String, JSONValue> entries = objects.get(depth);
+        JSONValue value = new JSONObject(entries);
+        entries.clear();
+        names[depth] = null;
+        addValue(value);
+    }
+
+    @Override
+    void startArray() {
+        int level = prepareLevel();
+        if (arrays.get(level) == null)
+            arrays.set(level, new ArrayList<>());
+    }
+
+    @Override
+    void endArray() {
+        List<JSONValue> entries = arrays.get(depth);
+        JSONValue value = new JSONArray(entries);
+        entries.clear();
+        addValue(value);
+    }
+
+    @Override
+    void scalarValue(JSONBuilder scalar) {
+        addValue(scalar.getResult());
+    }
+
+    private int prepareLevel() {
+        int level = depth - 1;
+        if (level == names.length)
+            names = Arrays.copyOf(names, level * 2);
+        if (arrays.size() == level) {
+            arrays.add(null);
+            objects.add(null);
+        }
+        return level;
+    }
+
+    private void addValue(JSONValue value) {
+        if (depth == 0)
+            result = value;
+        else {
+            int level = depth - 1;
+            if (isObject(level))
+                objects.get(level).put(names[level], value);
+            else
+                arrays.get(level).add(value);
+        }
+    }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * @(#) JSONKeyCache.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream;
+
+/**
+ * A bounded cache of object keys.  When a key has been seen before, the characters of the incoming key are matched
+ * against the cached {@link String} and the existing instance is returned, so that a document containing many objects
+ * with the same keys (for example, a large array of similar objects) allocates each key only once, and the parsed
+ * objects all share the same key instances.
+ *
+ * <p>The cache is direct-mapped: each key is stored in a slot selected by its hash code, and a new key replaces any
+ * existing key in the same slot.  Keys longer than {@link #MAX_KEY_LENGTH} are not cached.  The cache is not
+ * thread-safe; it is normally owned by a single {@link JSONParseContext}.</p>
+ *
+ * @author  Peter Wall
+ */
+public class JSONKeyCache {
+
+    public static final int DEFAULT_SIZE = 256;
+    public static final int MAX_KEY_LENGTH = 64;
+
+    private final String[] keys;
+    private final int mask;
+
+    public JSONKeyCache() {
+        this(DEFAULT_SIZE);
+    }
+
+    /**
+     * Create a {@code JSONKeyCache} with the specified number of slots (rounded up to a power of two).
+     *
+     * @param   size    the number of slots
+     * @throws  IllegalArgumentException if the size is less than 1
+     */
+    public JSONKeyCache(int size) {
+        if (size < 1 || size > 1 << 30)
+            throw new IllegalArgumentException("Illegal key cache size: " + size);
+        int slots = Integer.highestOneBit(size);
+        if (slots < size)
+            slots <<= 1;
+        keys = new String[slots];
+        mask = slots - 1;
+    }
+
+    /**
+     * Get the number of slots in the cache.
+     *
+     * @return  the number of slots
+     */
+    public int getSize() {
+        return keys.length;
+    }
+
+    /**
+     * Get the {@link String} for a key, returning the cached instance if the same key has been seen before.
+     *
+     * @param   chars   the characters of the key
+     * @return  the key as a {@link String}
+     */
+    public String get(CharSequence chars) {
+        int length = chars.length();
+        if (length > MAX_KEY_LENGTH)
+            return chars.toString();
+        int hash = 0;
+        for (int i = 0; i < length; i++)
+            hash = 31 * hash + chars.charAt(i);
+        int index = (hash ^ (hash >>> 16)) & mask;
+        String key = keys[index];
+        if (key != null && key.hashCode() == hash && matches(key, chars, length))
+            return key;
+        key = chars.toString();
+        keys[index] = key;
+        return key;
+    }
+
+    /**
+     * Clear the cache.
+     */
+    public void clear() {
+        for (int i = 0; i < keys.length; i++)
+            keys[i] = null;
+    }
+
+    private static boolean matches(String key, CharSequence chars, int length) {
+        if (key.length() != length)
+            return false;
+        for (int i = 0; i < length; i++)
+            if (key.charAt(i) != chars.charAt(i))
+                return false;
+        return true;
+    }
+
+}
@@ -2,7 +2,7 @@
  * @(#) JSONKeywordBuilder.kt
  *
  * json-stream JSON Streaming library for Java
- * Copyright (c) 2020 Peter Wall
+ * Copyright (c) 2020, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -40,6 +40,15 @@ public class JSONKeywordBuilder implements JSONBuilder {
         offset = 1;
     }
 
+    /**
+     * Reset the builder to its initial state (the first character of the keyword having been seen), so that it may be
+     * used for another occurrence of the keyword.
+     */
+    @Override
+    public void reset() {
+        offset = 1;
+    }
+
     @Override
     public boolean isComplete() {
         return offset == keyword.length();
@@ -0,0 +1,82 @@
+/*
+ * @(#) JSONLazyBuilder.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream;
+
+import net.pwall.json.JSONException;
+import net.pwall.json.JSONValue;
+
+/**
+ * A {@link JSONSkipBuilder} that also records the characters of the value, and returns a {@link JSONLazyValue} as its
+ * result.  Used by {@link JSONFlatBuilder} for the containers nested below the lazy depth.  The limits on depth and
+ * string length are applied while the value is recorded, and the {@link JSONParseLimits} of the context are passed to
+ * the {@link JSONLazyValue}, to be applied in full when it is parsed.
+ *
+ * @author  Peter Wall
+ */
+class JSONLazyBuilder extends JSONSkipBuilder {
+
+    private final JSONParseContext context;
+    private final StringBuilder sb;
+
+    JSONLazyBuilder(JSONParseContext context) {
+        super(context);
+        this.context = context;
+        sb = new StringBuilder();
+    }
+
+    @Override
+    public JSONValue getResult() {
+        if (!isComplete())
+            throw new JSONException("JSON not complete");
+        return new JSONLazyValue(sb.toString(), context);
+    }
+
+    @Override
+    public boolean acceptChar(int ch) {
+        if (isComplete())
+            return super.acceptChar(ch);
+        boolean consumed = super.acceptChar(ch);
+        if (consumed)
+            sb.appendCodePoint(ch);
+        return consumed;
+    }
+
+    @Override
+    public int acceptChars(CharSequence cs, int start, int end) {
+        if (isComplete())
+            return super.acceptChars(cs, start, end);
+        int i = super.acceptChars(cs, start, end);
+        sb.append(cs, start, i);
+        return i;
+    }
+
+    @Override
+    void reset(int baseDepth) {
+        sb.setLength(0);
+        super.reset(baseDepth);
+    }
+
+}
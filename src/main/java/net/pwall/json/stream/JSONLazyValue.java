@@ -0,0 +1,213 @@
+/*
+ * @(#) JSONLazyValue.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream;
+
+import java.io.IOException;
+
+import net.pwall.json.JSONArray;
+import net.pwall.json.JSONException;
+import net.pwall.json.JSONObject;
+import net.pwall.json.JSONValue;
+
+/**
+ * A {@link JSONValue} (an object or an array) held in the form of the original JSON text, and parsed only when its
+ * content is first accessed.  Values of this class are created by a {@link JSONFlatBuilder} for the containers nested
+ * at or below a specified depth, so that a large document may be parsed, and parts of it forwarded unchanged, without
+ * building (and then re-serializing) the parts that are never examined.
+ *
+ * <p>The {@link #toJSON()} and {@link #appendJSON(Appendable)} functions output the original text, including any
+ * whitespace, without parsing it.  The {@link #getValue()} function (and the functions that depend on it) parses the
+ * text the first time it is called, and returns the same {@link JSONObject} or {@link JSONArray} on each subsequent
+ * call.  The text was checked only for structural errors (see {@link JSONSkipBuilder}) when the enclosing document was
+ * parsed, so any other syntax error will be reported by the first call to {@link #getValue()}.</p>
+ *
+ * <p>A value created by a {@link JSONFlatBuilder} is parsed using the settings of the builder's
+ * {@link JSONParseContext}: the same {@link JSONParseLimits} (the offsets in any resulting error are relative to the
+ * start of the text of the value), the same {@linkplain JSONParseContext#setDoubleNumbers(boolean) number type}, and,
+ * if the context has a {@link JSONKeyCache}, a new cache of the same size (the cache of the original context is not
+ * used, because the value may be parsed on another thread).</p>
+ *
+ * @author  Peter Wall
+ */
+public class JSONLazyValue implements JSONValue {
+
+    private static final long serialVersionUID = 1418326207469517036L;
+
+    private final String text;
+    private final JSONParseLimits limits;
+    private final boolean doubleNumbers;
+    private final int keyCacheSize;
+    private volatile JSONValue value;
+
+    /**
+     * Create a {@code JSONLazyValue} from the text of a JSON object or array.
+     *
+     * @param   text    the JSON text
+     */
+    public JSONLazyValue(String text) {
+        this(text, null, false, 0);
+    }
+
+    /**
+     * Create a {@code JSONLazyValue} from the text of a JSON object or array, to be parsed using the specified limits.
+     *
+     * @param   text    the JSON text
+     * @param   limits  the {@link JSONParseLimits} (may be {@code null})
+     */
+    public JSONLazyValue(String text, JSONParseLimits limits) {
+        this(text, limits, false, 0);
+    }
+
+    /**
+     * Create a {@code JSONLazyValue} from the text of a JSON object or array, to be parsed using the settings of the
+     * specified context.
+     *
+     * @param   text    the JSON text
+     * @param   context the {@link JSONParseContext}
+     */
+    JSONLazyValue(String text, JSONParseContext context) {
+        this(text, context.getLimits(), context.isDoubleNumbers(),
+                context.getKeyCache() != null ? context.getKeyCache().getSize() : 0);
+    }
+
+    private JSONLazyValue(String text, JSONParseLimits limits, boolean doubleNumbers, int keyCacheSize) {
+        this.text = text;
+        this.limits = limits;
+        this.doubleNumbers = doubleNumbers;
+        this.keyCacheSize = keyCacheSize;
+        value = null;
+    }
+
+    /**
+     * Get the original JSON text of the value.
+     *
+     * @return  the text
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Test whether the value has been parsed.
+     *
+     * @return  {@code true} if {@link #getValue()} has been called successfully
+     */
+    public boolean isMaterialized() {
+        return value != null;
+    }
+
+    /**
+     * Get the parsed value, parsing the text if this is the first call.
+     *
+     * @return  the value (a {@link JSONObject} or a {@link JSONArray})
+     * @throws  JSONException if the text is not valid JSON
+     */
+    public JSONValue getValue() {
+        JSONValue result = value;
+        if (result == null) {
+            JSONParseContext context = new JSONParseContext();
+            context.setLimits(limits);
+            context.setDoubleNumbers(doubleNumbers);
+            if (keyCacheSize > 0)
+                context.setKeyCache(new JSONKeyCache(keyCacheSize));
+            JSONStream stream = new JSONStream(new JSONFlatBuilder(context));
+            stream.acceptChars(text);
+            stream.close();
+            result = stream.getResult();
+            value = result;
+        }
+        return result;
+    }
+
+    /**
+     * Get the parsed value as a {@link JSONObject}.
+     *
+     * @return  the object
+     * @throws  JSONException if the text is not valid JSON, or is not an object
+     */
+    public JSONObject getObject() {
+        JSONValue result = getValue();
+        if (!(result instanceof JSONObject))
+            throw new JSONException("Not a JSON object");
+        return (JSONObject)result;
+    }
+
+    /**
+     * Get the parsed value as a {@link JSONArray}.
+     *
+     * @return  the array
+     * @throws  JSONException if the text is not valid JSON, or is not an array
+     */
+    public JSONArray getArray() {
+        JSONValue result = getValue();
+        if (!(result instanceof JSONArray))
+            throw new JSONException("Not a JSON array");
+        return (JSONArray)result;
+    }
+
+    @Override
+    public void appendJSON(Appendable a) throws IOException {
+        a.append(text);
+    }
+
+    @Override
+    public String toJSON() {
+        return text;
+    }
+
+    @Override
+    public Object toSimpleValue() {
+        return getValue().toSimpleValue();
+    }
+
+    /**
+     * Compare this value with another.  A {@code JSONLazyValue} is equal to another {@code JSONLazyValue} or to a
+     * {@link JSONValue} if the parsed values are equal (the comparison will cause the text to be parsed); note that
+     * the reverse comparison (for example, {@code jsonObject.equals(lazyValue)}) will not give the same result.
+     *
+     * @param   other   the other value
+     * @return  {@code true} if the values are equal
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other)
+            return true;
+        if (other instanceof JSONLazyValue)
+            return text.equals(((JSONLazyValue)other).text) || getValue().equals(((JSONLazyValue)other).getValue());
+        return other instanceof JSONValue && getValue().equals(other);
+    }
+
+    @Override
+    public int hashCode() {
+        return getValue().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+
+}
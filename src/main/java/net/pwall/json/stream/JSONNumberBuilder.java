@@ -2,7 +2,7 @@
  * @(#) JSONNumberBuilder.kt
  *
  * json-stream JSON Streaming library for Java
- * Copyright (c) 2020 Peter Wall
+ * Copyright (c) 2020, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -26,6 +26,7 @@
 package net.pwall.json.stream;
 
 import net.pwall.json.JSONDecimal;
+import net.pwall.json.JSONDouble;
 import net.pwall.json.JSONException;
 import net.pwall.json.JSONInteger;
 import net.pwall.json.JSONLong;
@@ -36,11 +37,47 @@ public class JSONNumberBuilder implements JSONBuilder {
 
     private enum State { MINUS_SEEN, ZERO_SEEN, INTEGER, DOT_SEEN, FRACTION, E_SEEN, E_SIGN_SEEN, EXPONENT, COMPLETE }
 
+    private static final String limitMessage = "JSON number length exceeds limit";
+    private static final int cacheLow = -128;
+    private static final int cacheHigh = 1023;
+    private static final JSONInteger[] integerCache = new JSONInteger[cacheHigh - cacheLow + 1];
+
+    static {
+        for (int i = cacheLow; i <= cacheHigh; i++)
+            integerCache[i - cacheLow] = new JSONInteger(i);
+    }
+
+    private final JSONParseContext context;
     private final StringBuilder number;
     private State state;
     private boolean floating;
+    private boolean negative;
+    private boolean overflow;
+    private long accumulator;
+    private int maxLength;
 
     public JSONNumberBuilder(char initialChar) {
+        this(initialChar, null);
+    }
+
+    /**
+     * Create a {@code JSONNumberBuilder} using the options in a {@link JSONParseContext}.
+     *
+     * @param   initialChar     the first character of the number
+     * @param   context         the context (may be {@code null})
+     */
+    JSONNumberBuilder(char initialChar, JSONParseContext context) {
+        this.context = context;
+        number = new StringBuilder();
+        reset(initialChar);
+    }
+
+    /**
+     * Reset the builder to its initial state, so that it may be used for another number.
+     *
+     * @param   initialChar     the first character of the number
+     */
+    void reset(char initialChar) {
         if (initialChar == '-')
             state = State.MINUS_SEEN;
         else if (initialChar == '0')
@@ -49,9 +86,14 @@ public class JSONNumberBuilder implements JSONBuilder {
             state = State.INTEGER;
         else
             throw new JSONException("Illegal JSON number");
-        number = new StringBuilder();
+        number.setLength(0);
         number.append(initialChar);
+        maxLength = context != null ? context.maxNumberLength() : Integer.MAX_VALUE;
         floating = false;
+        negative = initialChar == '-';
+        overflow = false;
+        // the value of the integer part is accumulated as a negative number, to allow for Long.MIN_VALUE
+        accumulator = negative ? 0 : '0' - initialChar;
     }
 
     @Override
@@ -65,21 +107,67 @@ public class JSONNumberBuilder implements JSONBuilder {
             throw new JSONException("Number not complete");
         if (number.length() == 1 && number.charAt(0) == '0')
             return JSONZero.ZERO;
-        if (floating)
+        if (floating) {
+            if (context != null && context.isDoubleNumbers())
+                return new JSONDouble(doubleValue());
             return new JSONDecimal(number.toString());
+        }
+        if (!overflow && (negative || accumulator != Long.MIN_VALUE))
+            return integerValue(negative ? accumulator : -accumulator);
         long longValue = Long.parseLong(number.toString());
         int intValue = (int)longValue;
         return (long)intValue == longValue ? new JSONInteger(intValue) : new JSONLong(longValue);
     }
 
+    private static JSONValue integerValue(long longValue) {
+        if (longValue >= cacheLow && longValue <= cacheHigh)
+            return integerCache[(int)longValue - cacheLow];
+        int intValue = (int)longValue;
+        return (long)intValue == longValue ? new JSONInteger(intValue) : new JSONLong(longValue);
+    }
+
+    /**
+     * Get the characters of the number, without converting it to a {@link JSONValue}.
+     *
+     * @return  the characters of the number (valid until the builder is reset)
+     * @throws  JSONException   if the number is not complete
+     */
+    CharSequence getChars() {
+        if (!isComplete())
+            throw new JSONException("Number not complete");
+        return number;
+    }
+
+    /**
+     * Get the value of the number as a {@code double}, without converting it to a {@link JSONValue}.
+     *
+     * @return  the value, correctly rounded
+     * @throws  JSONException   if the number is not complete, or is too large for a {@code double}
+     */
+    double doubleValue() {
+        double value = DoubleConverter.toDouble(getChars());
+        if (Double.isInfinite(value))
+            throw new JSONException("JSON number too large for double");
+        return value;
+    }
+
     @Override
     public boolean acceptChar(int ch) {
+        boolean consumed = accept(ch);
+        if (number.length() > maxLength)
+            throw context.limitExceeded(limitMessage);
+        return consumed;
+    }
+
+    private boolean accept(int ch) {
         switch (state) {
             case MINUS_SEEN:
                 if (ch == '0')
                     state = State.ZERO_SEEN;
-                else if (ch >= '1' && ch <= '9')
+                else if (ch >= '1' && ch <= '9') {
                     state = State.INTEGER;
+                    accumulate(ch);
+                }
                 else
                     throw new JSONException("Illegal JSON number");
                 break;
@@ -92,7 +180,9 @@ public class JSONNumberBuilder implements JSONBuilder {
                     state = State.COMPLETE;
                 break;
             case INTEGER:
-                if (!(ch >= '0' && ch <= '9')) {
+                if (ch >= '0' && ch <= '9')
+                    accumulate(ch);
+                else {
                     if (ch == '.')
                         state = State.DOT_SEEN;
                     else if (ch == 'e' || ch == 'E')
@@ -145,6 +235,61 @@ public class JSONNumberBuilder implements JSONBuilder {
         return true;
     }
 
+    @Override
+    public int acceptChars(CharSequence cs, int start, int end) {
+        if (state == State.COMPLETE)
+            return JSONBuilder.super.acceptChars(cs, start, end);
+        int i = start;
+        while (i < end) {
+            if (state == State.INTEGER) {
+                int runStart = i;
+                char ch;
+                while (i < end && isDigit(ch = cs.charAt(i))) {
+                    accumulate(ch);
+                    i++;
+                }
+                if (i > runStart)
+                    appendRun(cs, runStart, i);
+                if (i == end)
+                    break;
+            }
+            else if (state == State.FRACTION || state == State.EXPONENT) {
+                int runStart = i;
+                while (i < end && isDigit(cs.charAt(i)))
+                    i++;
+                if (i > runStart)
+                    appendRun(cs, runStart, i);
+                if (i == end)
+                    break;
+            }
+            if (!accept(cs.charAt(i)))
+                break;
+            if (number.length() > maxLength)
+                throw context.limitExceeded(limitMessage, i);
+            i++;
+        }
+        return i;
+    }
+
+    private void appendRun(CharSequence cs, int start, int end) {
+        number.append(cs, start, end);
+        if (number.length() > maxLength)
+            throw context.limitExceeded(limitMessage, end - (number.length() - maxLength));
+    }
+
+    private void accumulate(int ch) {
+        long value = accumulator;
+        int digit = ch - '0';
+        if (value < Long.MIN_VALUE / 10 || (value *= 10) < Long.MIN_VALUE + digit)
+            overflow = true;
+        else
+            accumulator = value - digit;
+    }
+
+    private static boolean isDigit(char ch) {
+        return ch >= '0' && ch <= '9';
+    }
+
     @Override
     public void close() {
         switch (state) {
@@ -2,7 +2,7 @@
  * @(#) JSONObjectBuilder.kt
  *
  * json-stream JSON Streaming library for Java
- * Copyright (c) 2020 Peter Wall
+ * Copyright (c) 2020, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -36,15 +36,21 @@ public class JSONObjectBuilder implements JSONBuilder {
 
     private enum State { INITIAL, NAME, COLON, VALUE, COMMA, NEXT, COMPLETE }
 
+    private final JSONParseContext context;
     private final Map<String, JSONValue> entries;
     private State state;
     private JSONBuilder child;
     private String name;
 
     public JSONObjectBuilder() {
+        this(new JSONParseContext());
+    }
+
+    public JSONObjectBuilder(JSONParseContext context) {
+        this.context = context;
         state = State.INITIAL;
         entries = new LinkedHashMap<>();
-        child = new JSONStringBuilder();
+        child = null;
     }
 
     @Override
@@ -66,25 +72,23 @@ public class JSONObjectBuilder implements JSONBuilder {
                 if (!JSONBuilder.isWhitespace(ch)) {
                     if (ch == '}')
                         state = State.COMPLETE;
-                    else if (ch == '"')
+                    else if (ch == '"') {
+                        child = context.stringBuilder();
                         state = State.NAME;
+                    }
                     else
                         throw new JSONException("Illegal syntax in JSON object");
                 }
                 break;
             case NAME:
                 child.acceptChar(ch); // JSONStringProcessor always returns true
-                if (child.isComplete()) {
-                    name = child.getResult().toString();
-                    if (entries.containsKey(name))
-                        throw new JSONException("Duplicate key in JSON object");
-                    state = State.COLON;
-                }
+                if (child.isComplete())
+                    setName();
                 break;
             case COLON:
                 if (!JSONBuilder.isWhitespace(ch)) {
                     if (ch == ':') {
-                        child = new JSONValueBuilder();
+                        child = context.valueBuilder();
                         state = State.VALUE;
                     }
                     else
@@ -93,18 +97,19 @@ public class JSONObjectBuilder implements JSONBuilder {
                 break;
             case VALUE:
                 boolean consumed = child.acceptChar(ch);
-                if (child.isComplete()) {
-                    entries.put(name, child.getResult());
-                    state = State.COMMA;
-                }
+                if (child.isComplete())
+                    addEntry();
                 if (consumed)
                     break;
                 state = State.COMMA;
                 // will drop through if character not consumed
             case COMMA:
                 if (!JSONBuilder.isWhitespace(ch)) {
-                    if (ch == ',')
+                    if (ch == ',') {
+                        if (entries.size() >= context.maxEntries())
+                            throw context.limitExceeded("JSON object entries exceed limit");
                         state = State.NEXT;
+                    }
                     else if (ch == '}')
                         state = State.COMPLETE;
                     else
@@ -114,7 +119,7 @@ public class JSONObjectBuilder implements JSONBuilder {
             case NEXT:
                 if (!JSONBuilder.isWhitespace(ch)) {
                     if (ch == '"') {
-                        child = new JSONStringBuilder();
+                        child = context.stringBuilder();
                         state = State.NAME;
                     }
                     else
@@ -127,4 +132,57 @@ public class JSONObjectBuilder implements JSONBuilder {
         return true;
     }
 
+    @Override
+    public int acceptChars(CharSequence cs, int start, int end) {
+        if (state == State.COMPLETE)
+            return JSONBuilder.super.acceptChars(cs, start, end);
+        int i = start;
+        while (i < end) {
+            if (state == State.NAME) {
+                i = child.acceptChars(cs, i, end);
+                if (child.isComplete())
+                    setName();
+            }
+            else if (state == State.VALUE) {
+                i = child.acceptChars(cs, i, end);
+                if (child.isComplete())
+                    addEntry();
+            }
+            else {
+                context.setIndex(i);
+                acceptChar(cs.charAt(i++));
+                if (state == State.COMPLETE)
+                    break;
+            }
+        }
+        return i;
+    }
+
+    private void setName() {
+        name = context.key(((JSONStringBuilder)child).getChars());
+        context.release(child);
+        child = null;
+        if (entries.containsKey(name))
+            throw new JSONException("Duplicate key in JSON object");
+        state = State.COLON;
+    }
+
+    private void addEntry() {
+        entries.put(name, child.getResult());
+        context.release(child);
+        child = null;
+        state = State.COMMA;
+    }
+
+    @Override
+    public void reset() {
+        if (child != null) {
+            context.release(child);
+            child = null;
+        }
+        entries.clear();
+        name = null;
+        state = State.INITIAL;
+    }
+
 }
@@ -0,0 +1,281 @@
+/*
+ * @(#) JSONObjectPipeline.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import net.pwall.json.JSONException;
+import net.pwall.json.JSONValue;
+import net.pwall.pipeline.AbstractIntObjectPipeline;
+import net.pwall.pipeline.Acceptor;
+
+/**
+ * A pipeline class that takes a stream of characters (Unicode code points) forming a JSON object, and outputs each
+ * entry of the object as a {@link Map.Entry} as soon as the entry is complete, so that the complete object need never
+ * be held in memory.
+ *
+ * <p>By default, the keys of the entries are retained (in a set of keys only) so that duplicate keys may be detected;
+ * this check may be disabled for objects with a very large number of entries.</p>
+ *
+ * @author  Peter Wall
+ * @param   <R>     the pipeline result type (may be {@link Void} if all results are processed on the fly)
+ */
+public class JSONObjectPipeline<R> extends AbstractIntObjectPipeline<Map.Entry<String, JSONValue>, R> {
+
+    private enum State { INITIAL, FIRST, NAME, COLON, ENTRY, COMMA, NEXT, COMPLETE }
+
+    private final JSONParseContext context;
+    private final Set<String> keys;
+    private State state;
+    private JSONBuilder child;
+    private String name;
+    private final InputAdapter input = new InputAdapter(this::acceptChars);
+
+    public JSONObjectPipeline(Acceptor<Map.Entry<String, JSONValue>, R> entryConsumer) {
+        this(entryConsumer, new JSONParseContext(), true);
+    }
+
+    public JSONObjectPipeline(Acceptor<Map.Entry<String, JSONValue>, R> entryConsumer, boolean checkDuplicates) {
+        this(entryConsumer, new JSONParseContext(), checkDuplicates);
+    }
+
+    /**
+     * Create a {@code JSONObjectPipeline}.
+     *
+     * @param   entryConsumer   the downstream acceptor for the entries of the object
+     * @param   context         the {@link JSONParseContext} to supply the builders for the entries
+     * @param   checkDuplicates if {@code true}, the keys will be retained in order to check for duplicates
+     */
+    public JSONObjectPipeline(Acceptor<Map.Entry<String, JSONValue>, R> entryConsumer, JSONParseContext context,
+            boolean checkDuplicates) {
+        super(entryConsumer);
+        this.context = context;
+        keys = checkDuplicates ? new HashSet<>() : null;
+        state = State.INITIAL;
+        child = null;
+        name = null;
+    }
+
+    public boolean isComplete() {
+        return state == State.COMPLETE;
+    }
+
+    @Override
+    public void acceptInt(int value) {
+        switch (state) {
+            case INITIAL:
+                if (!JSONBuilder.isWhitespace(value)) {
+                    if (value == '{')
+                        state = State.FIRST;
+                    else
+                        throw new JSONException("Pipeline must contain object");
+                }
+                break;
+            case FIRST:
+                if (!JSONBuilder.isWhitespace(value)) {
+                    if (value == '}')
+                        state = State.COMPLETE;
+                    else if (value == '"')
+                        startName();
+                    else
+                        throw new JSONException("Illegal syntax in object");
+                }
+                break;
+            case NAME:
+                child.acceptChar(value); // JSONStringBuilder always returns true
+                if (child.isComplete())
+                    endName();
+                break;
+            case COLON:
+                if (!JSONBuilder.isWhitespace(value)) {
+                    if (value == ':') {
+                        child = context.valueBuilder();
+                        state = State.ENTRY;
+                    }
+                    else
+                        throw new JSONException("Illegal syntax in object");
+                }
+                break;
+            case ENTRY:
+                boolean consumed = child.acceptChar(value);
+                if (child.isComplete())
+                    emitEntry();
+                if (consumed)
+                    break;
+                // will drop through if character not consumed
+            case COMMA:
+                if (!JSONBuilder.isWhitespace(value)) {
+                    if (value == ',')
+                        state = State.NEXT;
+                    else if (value == '}')
+                        state = State.COMPLETE;
+                    else
+                        throw new JSONException("Illegal syntax in object");
+                }
+                break;
+            case NEXT:
+                if (!JSONBuilder.isWhitespace(value)) {
+                    if (value == '"')
+                        startName();
+                    else
+                        throw new JSONException("Illegal syntax in object");
+                }
+                break;
+            case COMPLETE:
+                JSONBuilder.checkWhitespace(value);
+        }
+    }
+
+    /**
+     * Accept a {@link CharSequence} in a single operation, passing the characters to the entry builders in bulk.
+     *
+     * @param   cs      the characters
+     */
+    public void acceptChars(CharSequence cs) {
+        acceptChars(cs, 0, cs.length());
+    }
+
+    /**
+     * Accept a subsequence of a {@link CharSequence} in a single operation.
+     *
+     * @param   cs      the characters
+     * @param   start   the index of the first character
+     * @param   end     the index after the last character
+     */
+    public void acceptChars(CharSequence cs, int start, int end) {
+        int i = start;
+        while (i < end) {
+            if (state == State.ENTRY) {
+                i = child.acceptChars(cs, i, end);
+                if (child.isComplete())
+                    emitEntry();
+            }
+            else if (state == State.NAME) {
+                i = child.acceptChars(cs, i, end);
+                if (child.isComplete())
+                    endName();
+            }
+            else
+                acceptInt(cs.charAt(i++));
+        }
+    }
+
+    /**
+     * Accept a portion of a {@code char} array in a single operation.
+     *
+     * @param   buf     the array
+     * @param   off     the offset of the first character
+     * @param   len     the number of characters
+     */
+    public void acceptChars(char[] buf, int off, int len) {
+        input.acceptChars(buf, off, len);
+    }
+
+    /**
+     * Accept a block of UTF-8 encoded bytes (see {@link JSONArrayPipeline#acceptBytes(byte[], int, int)}).
+     *
+     * @param   bytes   the byte array
+     * @param   off     the offset of the first byte
+     * @param   len     the number of bytes
+     * @throws  JSONException if the bytes are not valid UTF-8 or the JSON is not valid
+     */
+    public void acceptBytes(byte[] bytes, int off, int len) {
+        input.acceptBytes(bytes, off, len);
+    }
+
+    /**
+     * Accept an array of UTF-8 encoded bytes.
+     *
+     * @param   bytes   the byte array
+     * @throws  JSONException if the bytes are not valid UTF-8 or the JSON is not valid
+     */
+    public void acceptBytes(byte[] bytes) {
+        input.acceptBytes(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Accept the remaining UTF-8 encoded bytes in a {@link ByteBuffer}; the position of the buffer is advanced to its
+     * limit.
+     *
+     * @param   buffer  the buffer
+     * @throws  JSONException if the bytes are not valid UTF-8 or the JSON is not valid
+     */
+    public void acceptBytes(ByteBuffer buffer) {
+        input.acceptBytes(buffer);
+    }
+
+    private void startName() {
+        child = context.stringBuilder();
+        state = State.NAME;
+    }
+
+    private void endName() {
+        name = context.key(((JSONStringBuilder)child).getChars());
+        context.release(child);
+        child = null;
+        if (keys != null && !keys.add(name))
+            throw new JSONException("Duplicate key in JSON object");
+        state = State.COLON;
+    }
+
+    private void emitEntry() {
+        JSONValue value = child.getResult();
+        context.release(child);
+        child = null;
+        state = State.COMMA;
+        String key = name;
+        name = null;
+        emit(new AbstractMap.SimpleImmutableEntry<>(key, value));
+    }
+
+    /**
+     * Reset the pipeline so that it may be used to process another object; the entry builders are retained and
+     * re-used.  The downstream acceptor is not affected.
+     */
+    public void reset() {
+        if (child != null) {
+            context.release(child);
+            child = null;
+        }
+        name = null;
+        if (keys != null)
+            keys.clear();
+        state = State.INITIAL;
+        input.reset();
+    }
+
+    @Override
+    public void close() {
+        input.close();
+        if (!isComplete())
+            throw new JSONException("Unexpected end of data in JSON object");
+    }
+
+}
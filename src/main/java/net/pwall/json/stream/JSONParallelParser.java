@@ -0,0 +1,527 @@
+/*
+ * @(#) JSONParallelParser.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+
+import net.pwall.json.JSONException;
+import net.pwall.json.JSONValue;
+import net.pwall.pipeline.AbstractAcceptor;
+import net.pwall.pipeline.Acceptor;
+
+/**
+ * A parser that uses multiple threads to parse large volumes of JSON held in memory, in a memory-mapped region or in a
+ * file.
+ *
+ * <p>The {@code parseLines()} functions parse <a href="https://jsonlines.org/">JSON Lines</a> (NDJSON) input: the
+ * input is split into chunks at newline boundaries, and the chunks are parsed on a {@link ForkJoinPool}, each thread
+ * using its own {@link JSONSequencePipeline} (re-used for all the chunks it parses).  A JSON Lines record can not
+ * contain an unescaped newline, so the chunk boundaries always fall between records.</p>
+ *
+ * <p>The {@code parseArray()} functions parse a single JSON array, passing each element of the array to the acceptor.
+ * A fast structural scan (tracking only strings, escape sequences and the depth of nesting) locates the boundaries of
+ * the elements, and chunks of consecutive elements are then parsed on the {@link ForkJoinPool} while the scan
+ * continues.  The scan does not check the syntax of the elements; that is left to the parsers for the chunks, which use
+ * the same rules as {@link JSONArrayPipeline}.</p>
+ *
+ * <p>The parsed values are passed to an {@link Acceptor}.  In ordered mode (the default), the values are passed in
+ * input order, on the calling thread; otherwise, they are passed as each chunk is completed, on the thread that parsed
+ * the chunk (the calls to the acceptor are synchronised on the acceptor, so the acceptor need not be thread-safe).
+ * The acceptor is not closed.  The number of chunks in progress at any time is limited, so the memory used for
+ * completed values waiting to be passed on is bounded.</p>
+ *
+ * @author  Peter Wall
+ */
+public class JSONParallelParser {
+
+    /** The default chunk size (in bytes). */
+    public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+    private final boolean ordered;
+    private final int maxInFlight;
+    private final ThreadLocal<Worker> workers;
+
+    public JSONParallelParser() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE, true);
+    }
+
+    public JSONParallelParser(boolean ordered) {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE, ordered);
+    }
+
+    /**
+     * Create a {@code JSONParallelParser}.
+     *
+     * @param   pool        the {@link ForkJoinPool} to run the parsing tasks
+     * @param   chunkSize   the approximate size of each chunk (in bytes)
+     * @param   ordered     if {@code true}, the values will be passed to the acceptor in input order
+     * @throws  IllegalArgumentException    if the chunk size is not positive
+     */
+    public JSONParallelParser(ForkJoinPool pool, int chunkSize, boolean ordered) {
+        if (chunkSize <= 0)
+            throw new IllegalArgumentException("Illegal chunk size: " + chunkSize);
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+        this.ordered = ordered;
+        maxInFlight = pool.getParallelism() * 4;
+        workers = ThreadLocal.withInitial(Worker::new);
+    }
+
+    /**
+     * Parse JSON Lines input from a byte array.
+     *
+     * @param   bytes       the UTF-8 encoded input
+     * @param   acceptor    the acceptor for the parsed values
+     * @throws  JSONException   if the input is not valid
+     */
+    public void parseLines(byte[] bytes, Acceptor<JSONValue, ?> acceptor) {
+        parseLines(ByteBuffer.wrap(bytes), acceptor);
+    }
+
+    /**
+     * Parse JSON Lines input from a portion of a byte array.
+     *
+     * @param   bytes       the UTF-8 encoded input
+     * @param   off         the offset of the first byte
+     * @param   len         the number of bytes
+     * @param   acceptor    the acceptor for the parsed values
+     * @throws  JSONException   if the input is not valid
+     */
+    public void parseLines(byte[] bytes, int off, int len, Acceptor<JSONValue, ?> acceptor) {
+        parseLines(ByteBuffer.wrap(bytes, off, len), acceptor);
+    }
+
+    /**
+     * Parse JSON Lines input from the remaining bytes of a {@link ByteBuffer} (which may be a memory-mapped region);
+     * the position of the buffer is advanced to its limit.
+     *
+     * @param   buffer      the UTF-8 encoded input
+     * @param   acceptor    the acceptor for the parsed values
+     * @throws  JSONException   if the input is not valid
+     */
+    public void parseLines(ByteBuffer buffer, Acceptor<JSONValue, ?> acceptor) {
+        Dispatcher dispatcher = new Dispatcher(acceptor);
+        dispatcher.submitLines(buffer);
+        dispatcher.finish();
+        buffer.position(buffer.limit());
+    }
+
+    /**
+     * Parse JSON Lines input from a file.  The file is memory-mapped in windows of up to 1GB, so files of any size may
+     * be parsed.
+     *
+     * @param   path        the path of the file
+     * @param   acceptor    the acceptor for the parsed values
+     * @throws  JSONException   if the input is not valid
+     * @throws  IOException     if an error occurs reading the file
+     */
+    public void parseLines(Path path, Acceptor<JSONValue, ?> acceptor) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Dispatcher dispatcher = new Dispatcher(acceptor);
+            long size = channel.size();
+            long start = 0;
+            while (start < size) {
+                long length = Math.min(MappedFile.windowSize, size - start);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+                int end = (int)length;
+                if (start + length < size) {
+                    // end the window after the last complete line; the remainder starts the next window
+                    end = lastNewline(window, end) + 1;
+                    if (end == 0) {
+                        dispatcher.cancel();
+                        throw new JSONException("JSON Lines record too long");
+                    }
+                    window.limit(end);
+                }
+                dispatcher.submitLines(window);
+                start += end;
+            }
+            dispatcher.finish();
+        }
+    }
+
+    /**
+     * Parse a JSON array from a byte array, passing each element to the acceptor.
+     *
+     * @param   bytes       the UTF-8 encoded input
+     * @param   acceptor    the acceptor for the array elements
+     * @throws  JSONException   if the input is not valid
+     */
+    public void parseArray(byte[] bytes, Acceptor<JSONValue, ?> acceptor) {
+        parseArray(ByteBuffer.wrap(bytes), acceptor);
+    }
+
+    /**
+     * Parse a JSON array from a portion of a byte array, passing each element to the acceptor.
+     *
+     * @param   bytes       the UTF-8 encoded input
+     * @param   off         the offset of the first byte
+     * @param   len         the number of bytes
+     * @param   acceptor    the acceptor for the array elements
+     * @throws  JSONException   if the input is not valid
+     */
+    public void parseArray(byte[] bytes, int off, int len, Acceptor<JSONValue, ?> acceptor) {
+        parseArray(ByteBuffer.wrap(bytes, off, len), acceptor);
+    }
+
+    /**
+     * Parse a JSON array from the remaining bytes of a {@link ByteBuffer} (which may be a memory-mapped region),
+     * passing each element to the acceptor; the position of the buffer is advanced to its limit.
+     *
+     * @param   buffer      the UTF-8 encoded input
+     * @param   acceptor    the acceptor for the array elements
+     * @throws  JSONException   if the input is not valid
+     */
+    public void parseArray(ByteBuffer buffer, Acceptor<JSONValue, ?> acceptor) {
+        Dispatcher dispatcher = new Dispatcher(acceptor);
+        ArrayScanner scanner = new ArrayScanner(dispatcher);
+        scanner.scan(buffer, buffer.position(), buffer.limit(), true);
+        dispatcher.finish();
+        buffer.position(buffer.limit());
+    }
+
+    /**
+     * Parse a JSON array from a file, passing each element to the acceptor.  The file is memory-mapped in windows of up
+     * to 1GB, so files of any size may be parsed, but no single element may exceed the window size.
+     *
+     * @param   path        the path of the file
+     * @param   acceptor    the acceptor for the array elements
+     * @throws  JSONException   if the input is not valid
+     * @throws  IOException     if an error occurs reading the file
+     */
+    public void parseArray(Path path, Acceptor<JSONValue, ?> acceptor) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Dispatcher dispatcher = new Dispatcher(acceptor);
+            ArrayScanner scanner = new ArrayScanner(dispatcher);
+            long size = channel.size();
+            long start = 0;
+            do {
+                long length = Math.min(MappedFile.windowSize, size - start);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+                boolean last = start + length == size;
+                int resume = scanner.scan(window, 0, (int)length, last);
+                if (!last && resume == 0) {
+                    dispatcher.cancel();
+                    throw new JSONException("JSON array element too large");
+                }
+                start += resume;
+            } while (start < size);
+            dispatcher.finish();
+        }
+    }
+
+    private static int lastNewline(ByteBuffer buffer, int end) {
+        for (int i = end - 1; i >= buffer.position(); i--)
+            if (buffer.get(i) == '\n')
+                return i;
+        return -1;
+    }
+
+    /**
+     * Submits the chunks to the pool, and collects the results.  The tasks in progress are held in a queue; when the
+     * queue is full, the caller waits for the task at the head of the queue to complete.
+     */
+    private class Dispatcher {
+
+        private final Acceptor<JSONValue, ?> acceptor;
+        private final Deque<ForkJoinTask<List<JSONValue>>> inFlight;
+
+        Dispatcher(Acceptor<JSONValue, ?> acceptor) {
+            this.acceptor = acceptor;
+            inFlight = new ArrayDeque<>();
+        }
+
+        void submitLines(ByteBuffer buffer) {
+            int position = buffer.position();
+            int limit = buffer.limit();
+            while (position < limit) {
+                int end = position + Math.min(chunkSize, limit - position);
+                while (end < limit && buffer.get(end - 1) != '\n')
+                    end++;
+                ByteBuffer chunk = buffer.duplicate();
+                chunk.limit(end);
+                chunk.position(position);
+                submit(chunk);
+                position = end;
+            }
+        }
+
+        private void submit(ByteBuffer chunk) {
+            submit(worker -> worker.parseLines(chunk));
+        }
+
+        void submit(Function<Worker, List<JSONValue>> task) {
+            if (inFlight.size() >= maxInFlight)
+                completeHead();
+            inFlight.addLast(pool.submit(() -> {
+                List<JSONValue> values = task.apply(workers.get());
+                if (ordered)
+                    return values;
+                deliver(values);
+                return null;
+            }));
+        }
+
+        private void completeHead() {
+            List<JSONValue> values;
+            try {
+                values = inFlight.removeFirst().join();
+            }
+            catch (RuntimeException | Error e) {
+                cancel();
+                throw e;
+            }
+            if (ordered)
+                deliver(values);
+        }
+
+        void finish() {
+            while (!inFlight.isEmpty())
+                completeHead();
+        }
+
+        void cancel() {
+            while (!inFlight.isEmpty())
+                inFlight.removeFirst().cancel(false);
+        }
+
+        private void deliver(List<JSONValue> values) {
+            synchronized (acceptor) {
+                for (JSONValue value : values)
+                    acceptor.accept(value);
+            }
+        }
+
+    }
+
+    /**
+     * The structural scan of an array.  The elements are grouped into chunks of consecutive elements, each of which is
+     * parsed as a separate task.  The scan may be performed in several steps (one for each window of a memory-mapped
+     * file); a step ends either at the end of the data, or (when the data is not complete) at the start of the first
+     * chunk not yet submitted, and the next step starts from that point.
+     */
+    private class ArrayScanner {
+
+        private final Dispatcher dispatcher;
+        private boolean initial;
+        private boolean started;
+        private boolean complete;
+        private boolean chunksSubmitted;
+
+        ArrayScanner(Dispatcher dispatcher) {
+            this.dispatcher = dispatcher;
+            initial = true;
+            started = false;
+            complete = false;
+            chunksSubmitted = false;
+        }
+
+        /**
+         * Scan a step of the input.
+         *
+         * @param   buffer  the buffer
+         * @param   from    the index of the first byte
+         * @param   to      the index after the last byte
+         * @param   last    {@code true} if this is the last step
+         * @return  the index at which the next step should start
+         */
+        int scan(ByteBuffer buffer, int from, int to, boolean last) {
+            int i = from;
+            int resume = to;
+            if (initial) {
+                initial = false;
+                if (i + 3 <= to && buffer.get(i) == (byte)0xEF && buffer.get(i + 1) == (byte)0xBB &&
+                        buffer.get(i + 2) == (byte)0xBF)
+                    i += 3; // UTF-8 byte order mark
+            }
+            if (!started) {
+                while (i < to && JSONBuilder.isWhitespace(buffer.get(i)))
+                    i++;
+                if (i < to) {
+                    if (buffer.get(i++) != '[')
+                        fail("Pipeline must contain array");
+                    started = true;
+                }
+            }
+            if (complete)
+                checkWhitespace(buffer, i, to);
+            else if (started)
+                resume = scanElements(buffer, i, to);
+            if (last && !complete)
+                fail(started ? "Unexpected end of data in JSON array" : "Pipeline must contain array");
+            return resume;
+        }
+
+        /**
+         * Scan the elements of the array, starting at the beginning of an element, and submit a chunk each time the
+         * size of the elements scanned reaches the chunk size.
+         *
+         * @return  the index at which the next step should start
+         */
+        private int scanElements(ByteBuffer buffer, int from, int to) {
+            int i = from;
+            int chunkStart = i;
+            int chunkEnd = chunkEnd(i);
+            int depth = 1;
+            boolean empty = true;
+            boolean commaSeen = false;
+            while (i < to) {
+                byte b = buffer.get(i++);
+                if (b == '"') {
+                    while (true) {
+                        if (i >= to)
+                            return chunkStart;
+                        b = buffer.get(i++);
+                        if (b == '"')
+                            break;
+                        if (b == '\\')
+                            i++;
+                    }
+                    empty = false;
+                }
+                else if (b == '[' || b == '{') {
+                    depth++;
+                    empty = false;
+                }
+                else if (b == ']' || b == '}') {
+                    if (--depth == 0) {
+                        // an empty chunk is allowed only for an empty array
+                        if (empty && (commaSeen || chunksSubmitted))
+                            fail("Illegal syntax in JSON");
+                        if (!empty)
+                            submitChunk(buffer, chunkStart, i - 1);
+                        complete = true;
+                        checkWhitespace(buffer, i, to);
+                        return to;
+                    }
+                }
+                else if (b == ',') {
+                    if (depth == 1) {
+                        if (empty)
+                            fail("Illegal syntax in JSON");
+                        if (i >= chunkEnd) {
+                            submitChunk(buffer, chunkStart, i - 1);
+                            chunkStart = i;
+                            chunkEnd = chunkEnd(i);
+                        }
+                        empty = true;
+                        commaSeen = true;
+                    }
+                }
+                else if (!JSONBuilder.isWhitespace(b))
+                    empty = false;
+            }
+            return chunkStart;
+        }
+
+        private int chunkEnd(int start) {
+            return (int)Math.min((long)start + chunkSize, Integer.MAX_VALUE);
+        }
+
+        private void submitChunk(ByteBuffer buffer, int start, int end) {
+            dispatcher.submit(worker -> worker.parseElements(buffer, start, end));
+            chunksSubmitted = true;
+        }
+
+        private void checkWhitespace(ByteBuffer buffer, int from, int to) {
+            for (int i = from; i < to; i++)
+                if (!JSONBuilder.isWhitespace(buffer.get(i)))
+                    fail("Unexpected characters at end of JSON");
+        }
+
+        private void fail(String message) {
+            dispatcher.cancel();
+            throw new JSONException(message);
+        }
+
+    }
+
+    /**
+     * The per-thread parser.
+     */
+    private static class Worker {
+
+        private final JSONSequencePipeline<Void> pipeline;
+        private List<JSONValue> values;
+        private JSONArrayPipeline<Void> arrayPipeline;
+
+        Worker() {
+            pipeline = new JSONSequencePipeline<>(new AbstractAcceptor<JSONValue, Void>() {
+                @Override
+                public void acceptObject(JSONValue value) {
+                    values.add(value);
+                }
+            });
+        }
+
+        List<JSONValue> parseLines(ByteBuffer chunk) {
+            values = new ArrayList<>();
+            pipeline.reset();
+            pipeline.acceptBytes(chunk);
+            pipeline.close();
+            return values;
+        }
+
+        List<JSONValue> parseElements(ByteBuffer buffer, int start, int end) {
+            if (arrayPipeline == null) {
+                arrayPipeline = new JSONArrayPipeline<>(new AbstractAcceptor<JSONValue, Void>() {
+                    @Override
+                    public void acceptObject(JSONValue value) {
+                        values.add(value);
+                    }
+                });
+            }
+            values = new ArrayList<>();
+            ByteBuffer chunk = buffer.duplicate();
+            chunk.limit(end);
+            chunk.position(start);
+            // the chunk is a sequence of elements separated by commas; parse it as an array
+            arrayPipeline.reset();
+            arrayPipeline.acceptInt('[');
+            arrayPipeline.acceptBytes(chunk);
+            arrayPipeline.acceptInt(']');
+            arrayPipeline.close();
+            return values;
+        }
+
+    }
+
+}
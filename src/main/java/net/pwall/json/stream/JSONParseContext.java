@@ -0,0 +1,390 @@
+/*
+ * @(#) JSONParseContext.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.pwall.json.JSONBoolean;
+import net.pwall.json.JSONDecimal;
+import net.pwall.json.JSONDouble;
+import net.pwall.json.JSONException;
+
+/**
+ * State shared by all of the builders taking part in a single parser (for example, the builders created by a
+ * {@link JSONStream} or a {@link JSONArrayPipeline}).  The context holds a pool of builder objects; when a nested
+ * value is complete and its result has been taken, the builder is returned to the pool, and it is re-used (along with
+ * its collections and buffers) for a later value.  A parser that is {@linkplain JSONStream#reset() reset} and used for
+ * many documents will therefore, after the first few documents, allocate very little apart from the parsed values
+ * themselves.  The pools, like the other buffers held by the context, are created only when they are first needed, so
+ * a context used for a single small document costs little more than the document itself.
+ *
+ * <p>The context may also hold a {@link JSONKeyCache}, which allows the keys of objects to be shared between objects
+ * (and between documents) rather than allocating a new {@link String} for every key.  There is no cache by default; it
+ * may be enabled by {@link #setKeyCache(JSONKeyCache)}.</p>
+ *
+ * <p>By default, numbers with a fraction or an exponent are returned as {@link JSONDecimal} values, which preserve the
+ * exact decimal value.  When that precision is not required, the context may be set to return them instead as
+ * {@link JSONDouble} values (see {@link #setDoubleNumbers(boolean)}), which are considerably cheaper to create.</p>
+ *
+ * <p>The context may also hold a set of {@link JSONParseLimits}, which are applied by all of the builders using the
+ * context (see {@link #setLimits(JSONParseLimits)}), and a {@link JSONParseMetrics} object, which is updated by the
+ * {@link JSONStream} or {@link JSONArrayPipeline} using the context (see {@link #setMetrics(JSONParseMetrics)}).</p>
+ *
+ * <p>A context is not thread-safe; it must not be shared between parsers that may be used concurrently.</p>
+ *
+ * @author  Peter Wall
+ */
+public class JSONParseContext {
+
+    private List<JSONValueBuilder> valueBuilders;
+    private List<JSONObjectBuilder> objectBuilders;
+    private List<JSONArrayBuilder> arrayBuilders;
+    private List<JSONStringBuilder> stringBuilders;
+    private List<JSONNumberBuilder> numberBuilders;
+    private JSONKeywordBuilder trueBuilder;
+    private JSONKeywordBuilder falseBuilder;
+    private JSONKeywordBuilder nullBuilder;
+    private ScratchBuffer scratchBuffer;
+    private JSONKeyCache keyCache;
+    private boolean doubleNumbers;
+    private JSONParseLimits limits;
+    private int maxDepth;
+    private int maxStringLength;
+    private int maxNumberLength;
+    private int maxEntries;
+    private long maxChars;
+    private JSONParseMetrics.Recorder recorder;
+    private int depth;
+    private long base;
+    private int index;
+
+    public JSONParseContext() {
+        keyCache = null;
+        doubleNumbers = false;
+        setLimits(null);
+        recorder = null;
+        depth = 0;
+    }
+
+    /**
+     * Get the {@link JSONKeyCache} used for object keys.
+     *
+     * @return  the key cache, or {@code null} if keys are not cached (the default)
+     */
+    public JSONKeyCache getKeyCache() {
+        return keyCache;
+    }
+
+    /**
+     * Set the {@link JSONKeyCache} to be used for object keys.
+     *
+     * @param   keyCache    the key cache, or {@code null} if keys are not to be cached
+     */
+    public void setKeyCache(JSONKeyCache keyCache) {
+        this.keyCache = keyCache;
+    }
+
+    /**
+     * Test whether numbers with a fraction or an exponent are to be returned as {@link JSONDouble} values.
+     *
+     * @return  {@code true} if such numbers are to be returned as {@link JSONDouble} values
+     */
+    public boolean isDoubleNumbers() {
+        return doubleNumbers;
+    }
+
+    /**
+     * Specify whether numbers with a fraction or an exponent are to be returned as {@link JSONDouble} values (converted
+     * to the nearest {@code double}) rather than as {@link JSONDecimal} values.  Integers are not affected.
+     *
+     * @param   doubleNumbers   {@code true} if such numbers are to be returned as {@link JSONDouble} values
+     */
+    public void setDoubleNumbers(boolean doubleNumbers) {
+        this.doubleNumbers = doubleNumbers;
+    }
+
+    /**
+     * Get the {@link JSONParseLimits} applied by the builders using this context.
+     *
+     * @return  the limits (may be {@code null})
+     */
+    public JSONParseLimits getLimits() {
+        return limits;
+    }
+
+    /**
+     * Set the {@link JSONParseLimits} to be applied by the builders using this context.  The values of the limits are
+     * copied when this function is called, so later changes to the {@link JSONParseLimits} object have no effect
+     * unless it is set again.  The limits should not be changed while a document is being parsed.
+     *
+     * @param   limits  the limits, or {@code null} if there are to be no limits
+     */
+    public void setLimits(JSONParseLimits limits) {
+        this.limits = limits;
+        JSONParseLimits values = limits != null ? limits : new JSONParseLimits();
+        maxDepth = values.getMaxDepth();
+        maxStringLength = values.getMaxStringLength();
+        maxNumberLength = values.getMaxNumberLength();
+        maxEntries = values.getMaxEntries();
+        maxChars = values.getMaxChars();
+    }
+
+    /**
+     * Get the {@link JSONParseMetrics} updated by the parser using this context.
+     *
+     * @return  the metrics (may be {@code null})
+     */
+    public JSONParseMetrics getMetrics() {
+        return recorder != null ? recorder.getMetrics() : null;
+    }
+
+    /**
+     * Set the {@link JSONParseMetrics} to be updated by the parser using this context.  The same metrics object may be
+     * set on any number of contexts.  The metrics should not be changed while a document is being parsed.
+     *
+     * @param   metrics the metrics, or {@code null} if metrics are not to be recorded
+     */
+    public void setMetrics(JSONParseMetrics metrics) {
+        recorder = metrics != null ? new JSONParseMetrics.Recorder(metrics) : null;
+    }
+
+    JSONParseMetrics.Recorder recorder() {
+        return recorder;
+    }
+
+    int maxDepth() {
+        return maxDepth;
+    }
+
+    int maxStringLength() {
+        return maxStringLength;
+    }
+
+    int maxNumberLength() {
+        return maxNumberLength;
+    }
+
+    int maxEntries() {
+        return maxEntries;
+    }
+
+    long maxChars() {
+        return maxChars;
+    }
+
+    /**
+     * Record the offset in the input of the start of the current block of characters (that is, the offset of index 0
+     * of the {@link CharSequence} being processed), for use in reporting the offset at which a limit was exceeded.
+     *
+     * @param   base    the offset of index 0 of the current block
+     */
+    void startBlock(long base) {
+        this.base = base;
+        index = 0;
+    }
+
+    /**
+     * Record the index (within the current block) of a character passed to a builder individually, for use by any
+     * limit check made while processing that character.
+     *
+     * @param   index   the index
+     */
+    void setIndex(int index) {
+        this.index = index;
+    }
+
+    /**
+     * Create the exception for a limit exceeded at the character most recently recorded by {@link #setIndex(int)}.
+     *
+     * @param   message the message
+     * @return  the exception
+     */
+    JSONException limitExceeded(String message) {
+        return limitExceeded(message, index);
+    }
+
+    /**
+     * Create the exception for a limit exceeded at the specified character.
+     *
+     * @param   message the message
+     * @param   index   the index of the character within the current block
+     * @return  the exception
+     */
+    JSONException limitExceeded(String message, int index) {
+        return new JSONException(message + " at offset " + (base + index));
+    }
+
+    /**
+     * Record the start of a new document, so that the depth of nesting is counted from zero even if the context was
+     * previously used by a parser that was not reset.
+     */
+    void startDocument() {
+        depth = 0;
+    }
+
+    /**
+     * Record the start of an object or array parsed by a nested builder, checking the depth of nesting.
+     *
+     * @throws  JSONException   if the maximum depth is exceeded
+     */
+    void enterContainer() {
+        if (depth >= maxDepth)
+            throw limitExceeded("JSON nesting depth exceeds limit");
+        depth++;
+    }
+
+    /**
+     * Record the end of an object or array parsed by a nested builder.
+     */
+    void exitContainer() {
+        depth--;
+    }
+
+    /**
+     * Get the {@link String} form of an object key, using the key cache if there is one.
+     *
+     * @param   chars   the characters of the key
+     * @return  the key
+     */
+    String key(CharSequence chars) {
+        return keyCache != null ? keyCache.get(chars) : chars.toString();
+    }
+
+    /**
+     * Get the buffer shared by all of the string builders using this context.
+     *
+     * @return  the buffer
+     */
+    ScratchBuffer scratchBuffer() {
+        if (scratchBuffer == null)
+            scratchBuffer = new ScratchBuffer();
+        return scratchBuffer;
+    }
+
+    JSONValueBuilder valueBuilder() {
+        JSONValueBuilder valueBuilder = take(valueBuilders);
+        return valueBuilder != null ? valueBuilder : new JSONValueBuilder(this);
+    }
+
+    JSONObjectBuilder objectBuilder() {
+        enterContainer();
+        JSONObjectBuilder objectBuilder = take(objectBuilders);
+        return objectBuilder != null ? objectBuilder : new JSONObjectBuilder(this);
+    }
+
+    JSONArrayBuilder arrayBuilder() {
+        enterContainer();
+        JSONArrayBuilder arrayBuilder = take(arrayBuilders);
+        return arrayBuilder != null ? arrayBuilder : new JSONArrayBuilder(this);
+    }
+
+    JSONStringBuilder stringBuilder() {
+        JSONStringBuilder stringBuilder = take(stringBuilders);
+        if (stringBuilder == null)
+            return new JSONStringBuilder(this);
+        // the shared buffer may have been used by another builder since this one was released
+        stringBuilder.reset();
+        return stringBuilder;
+    }
+
+    JSONNumberBuilder numberBuilder(char initialChar) {
+        JSONNumberBuilder numberBuilder = take(numberBuilders);
+        if (numberBuilder == null)
+            return new JSONNumberBuilder(initialChar, this);
+        numberBuilder.reset(initialChar);
+        return numberBuilder;
+    }
+
+    // Only one keyword can be in progress at any time, so a single instance of each keyword builder is sufficient
+
+    JSONKeywordBuilder trueBuilder() {
+        if (trueBuilder == null)
+            trueBuilder = new JSONKeywordBuilder("true", JSONBoolean.TRUE);
+        else
+            trueBuilder.reset();
+        return trueBuilder;
+    }
+
+    JSONKeywordBuilder falseBuilder() {
+        if (falseBuilder == null)
+            falseBuilder = new JSONKeywordBuilder("false", JSONBoolean.FALSE);
+        else
+            falseBuilder.reset();
+        return falseBuilder;
+    }
+
+    JSONKeywordBuilder nullBuilder() {
+        if (nullBuilder == null)
+            nullBuilder = new JSONKeywordBuilder("null", null);
+        else
+            nullBuilder.reset();
+        return nullBuilder;
+    }
+
+    /**
+     * Return a builder to the pool.  The builder (and any builders it is using) is reset; it must not be used again by
+     * the caller.  An object or array builder obtained from this context is counted in the depth of nesting until it is
+     * released.
+     *
+     * @param   builder     the builder
+     */
+    void release(JSONBuilder builder) {
+        if (builder instanceof JSONValueBuilder) {
+            builder.reset();
+            valueBuilders = add(valueBuilders, (JSONValueBuilder)builder);
+        }
+        else if (builder instanceof JSONObjectBuilder) {
+            builder.reset();
+            objectBuilders = add(objectBuilders, (JSONObjectBuilder)builder);
+            exitContainer();
+        }
+        else if (builder instanceof JSONArrayBuilder) {
+            builder.reset();
+            arrayBuilders = add(arrayBuilders, (JSONArrayBuilder)builder);
+            exitContainer();
+        }
+        else if (builder instanceof JSONStringBuilder) {
+            builder.reset();
+            stringBuilders = add(stringBuilders, (JSONStringBuilder)builder);
+        }
+        else if (builder instanceof JSONNumberBuilder)
+            numberBuilders = add(numberBuilders, (JSONNumberBuilder)builder);
+    }
+
+    private static <T> T take(List<T> pool) {
+        int n = pool != null ? pool.size() : 0;
+        return n > 0 ? pool.remove(n - 1) : null;
+    }
+
+    private static <T> List<T> add(List<T> pool, T builder) {
+        if (pool == null)
+            pool = new ArrayList<>();
+        pool.add(builder);
+        return pool;
+    }
+
+}
@@ -0,0 +1,151 @@
+/*
+ * @(#) JSONParseLimits.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream;
+
+import java.io.Serializable;
+
+/**
+ * Limits on the resources that may be consumed in parsing a single JSON document, to protect against malformed or
+ * hostile input.  The limits are applied by all of the builders using a {@link JSONParseContext} to which the limits
+ * have been {@linkplain JSONParseContext#setLimits(JSONParseLimits) assigned}, and the limit on the total number of
+ * characters is applied by {@link JSONStream} and {@link JSONArrayPipeline}.  When a limit is exceeded, a
+ * {@link net.pwall.json.JSONException} is thrown immediately, giving the offset (in characters) at which the limit was
+ * exceeded.
+ *
+ * <pre>
+ *     JSONParseLimits limits = new JSONParseLimits();
+ *     limits.setMaxDepth(64);
+ *     limits.setMaxStringLength(1_000_000);
+ *     JSONParseContext context = new JSONParseContext();
+ *     context.setLimits(limits);
+ *     JSONStream stream = new JSONStream(context);
+ * </pre>
+ *
+ * <p>All limits are initially unlimited.  Within the values that a {@link JSONFlatBuilder} returns as
+ * {@link JSONLazyValue} objects, only the limits on depth and string length are applied while the enclosing document is
+ * parsed; the limits are applied in full when the lazy value is itself parsed.</p>
+ *
+ * @author  Peter Wall
+ */
+public class JSONParseLimits implements Serializable {
+
+    private static final long serialVersionUID = 2951919560911232876L;
+
+    private int maxDepth;
+    private int maxStringLength;
+    private int maxNumberLength;
+    private int maxEntries;
+    private long maxChars;
+
+    public JSONParseLimits() {
+        maxDepth = Integer.MAX_VALUE;
+        maxStringLength = Integer.MAX_VALUE;
+        maxNumberLength = Integer.MAX_VALUE;
+        maxEntries = Integer.MAX_VALUE;
+        maxChars = Long.MAX_VALUE;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Set the maximum depth of nesting of objects and arrays (the outermost object or array is at depth 1).
+     *
+     * @param   maxDepth    the maximum depth
+     * @throws  IllegalArgumentException    if the limit is not positive
+     */
+    public void setMaxDepth(int maxDepth) {
+        this.maxDepth = check(maxDepth);
+    }
+
+    public int getMaxStringLength() {
+        return maxStringLength;
+    }
+
+    /**
+     * Set the maximum length of a string or object key (in characters, after the decoding of escape sequences).
+     *
+     * @param   maxStringLength the maximum length
+     * @throws  IllegalArgumentException    if the limit is not positive
+     */
+    public void setMaxStringLength(int maxStringLength) {
+        this.maxStringLength = check(maxStringLength);
+    }
+
+    public int getMaxNumberLength() {
+        return maxNumberLength;
+    }
+
+    /**
+     * Set the maximum length of a number (in characters, including sign, decimal point and exponent).
+     *
+     * @param   maxNumberLength the maximum length
+     * @throws  IllegalArgumentException    if the limit is not positive
+     */
+    public void setMaxNumberLength(int maxNumberLength) {
+        this.maxNumberLength = check(maxNumberLength);
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Set the maximum number of entries in an object or array.  The limit does not apply to the array whose elements
+     * are streamed by {@link JSONArrayPipeline}, since those elements are not accumulated.
+     *
+     * @param   maxEntries  the maximum number of entries
+     * @throws  IllegalArgumentException    if the limit is not positive
+     */
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = check(maxEntries);
+    }
+
+    public long getMaxChars() {
+        return maxChars;
+    }
+
+    /**
+     * Set the maximum number of characters in a document (including any leading byte order mark and surrounding
+     * whitespace).
+     *
+     * @param   maxChars    the maximum number of characters
+     * @throws  IllegalArgumentException    if the limit is not positive
+     */
+    public void setMaxChars(long maxChars) {
+        if (maxChars <= 0)
+            throw new IllegalArgumentException("Illegal limit: " + maxChars);
+        this.maxChars = maxChars;
+    }
+
+    private static int check(int limit) {
+        if (limit <= 0)
+            throw new IllegalArgumentException("Illegal limit: " + limit);
+        return limit;
+    }
+
+}
@@ -0,0 +1,461 @@
+/*
+ * @(#) JSONParseMetrics.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import net.pwall.json.JSONArray;
+import net.pwall.json.JSONBoolean;
+import net.pwall.json.JSONDecimal;
+import net.pwall.json.JSONDouble;
+import net.pwall.json.JSONLong;
+import net.pwall.json.JSONNumberValue;
+import net.pwall.json.JSONObject;
+import net.pwall.json.JSONString;
+import net.pwall.json.JSONValue;
+import net.pwall.util.ListMap;
+
+/**
+ * Metrics describing the work done by the parsers using a {@link JSONParseContext} to which the metrics object has
+ * been {@linkplain JSONParseContext#setMetrics(JSONParseMetrics) assigned}.  The metrics are updated by
+ * {@link JSONStream} and {@link JSONArrayPipeline} at the end of each document (and, for a {@link JSONArrayPipeline},
+ * as each element is emitted), so a parser without metrics pays only a {@code null} check at those points, and a
+ * parser with metrics adds no cost to the processing of individual characters.
+ *
+ * <p>A single metrics object may be shared by any number of contexts, including those of parsers running on different
+ * threads, and it may be read at any time.  It may also be registered as a JMX MBean (see
+ * {@link #register(String)}), so that parsing activity can be monitored alongside other application metrics.</p>
+ *
+ * <p>The values counted are those in the results of the parsers; the value counts, the maximum depth and the estimated
+ * bytes are obtained by a walk of each result, made only when metrics are in use.  A {@link JSONLazyValue} is counted
+ * as a single object or array, since its content is not parsed.</p>
+ *
+ * @author  Peter Wall
+ */
+public class JSONParseMetrics implements JSONParseMetricsMBean {
+
+    private final LongAdder documents;
+    private final LongAdder characters;
+    private final LongAdder objects;
+    private final LongAdder arrays;
+    private final LongAdder strings;
+    private final LongAdder numbers;
+    private final LongAdder booleans;
+    private final LongAdder nulls;
+    private final LongAdder elements;
+    private final LongAdder bytes;
+    private final LongAdder parseNanos;
+    private final LongAccumulator maxDepth;
+    private final LongAccumulator maxParseNanos;
+    private volatile long lastParseNanos;
+
+    public JSONParseMetrics() {
+        documents = new LongAdder();
+        characters = new LongAdder();
+        objects = new LongAdder();
+        arrays = new LongAdder();
+        strings = new LongAdder();
+        numbers = new LongAdder();
+        booleans = new LongAdder();
+        nulls = new LongAdder();
+        elements = new LongAdder();
+        bytes = new LongAdder();
+        parseNanos = new LongAdder();
+        maxDepth = new LongAccumulator(Math::max, 0);
+        maxParseNanos = new LongAccumulator(Math::max, 0);
+        lastParseNanos = 0;
+    }
+
+    /**
+     * Get the number of documents parsed successfully.
+     *
+     * @return  the number of documents
+     */
+    @Override
+    public long getDocumentCount() {
+        return documents.sum();
+    }
+
+    /**
+     * Get the number of characters in the documents parsed successfully (including whitespace).
+     *
+     * @return  the number of characters
+     */
+    @Override
+    public long getCharacterCount() {
+        return characters.sum();
+    }
+
+    /**
+     * Get the total number of values of all types (including nested values) built.
+     *
+     * @return  the number of values
+     */
+    @Override
+    public long getValueCount() {
+        return objects.sum() + arrays.sum() + strings.sum() + numbers.sum() + booleans.sum() + nulls.sum();
+    }
+
+    @Override
+    public long getObjectCount() {
+        return objects.sum();
+    }
+
+    @Override
+    public long getArrayCount() {
+        return arrays.sum();
+    }
+
+    @Override
+    public long getStringCount() {
+        return strings.sum();
+    }
+
+    @Override
+    public long getNumberCount() {
+        return numbers.sum();
+    }
+
+    @Override
+    public long getBooleanCount() {
+        return booleans.sum();
+    }
+
+    @Override
+    public long getNullCount() {
+        return nulls.sum();
+    }
+
+    /**
+     * Get the number of array elements emitted by {@link JSONArrayPipeline} parsers.
+     *
+     * @return  the number of elements
+     */
+    @Override
+    public long getElementCount() {
+        return elements.sum();
+    }
+
+    /**
+     * Get the maximum depth of nesting of objects and arrays seen in any document (a document consisting of a single
+     * object or array with only primitive values has a depth of 1).
+     *
+     * @return  the maximum depth
+     */
+    @Override
+    public int getMaxDepth() {
+        return maxDepth.intValue();
+    }
+
+    /**
+     * Get the estimated number of bytes of heap occupied by the values built, based on typical object sizes in a
+     * 64-bit JVM with compressed references.  Each value is counted as if it were not shared with any other, so shared
+     * instances such as cached object keys and small integers are over-counted, while the instances of
+     * {@link JSONBoolean} (and Java {@code null}) are not counted at all.
+     *
+     * @return  the estimated number of bytes
+     */
+    @Override
+    public long getEstimatedBytes() {
+        return bytes.sum();
+    }
+
+    /**
+     * Get the total wall-clock time taken to parse the documents, in nanoseconds, measured from the first character of
+     * each document to the end of the document.  The time includes any time spent waiting for input between blocks and,
+     * for a {@link JSONArrayPipeline}, the time taken by the downstream acceptor, but it excludes the time taken to walk
+     * the parsed values to gather the other metrics.
+     *
+     * @return  the total time in nanoseconds
+     */
+    @Override
+    public long getTotalParseNanos() {
+        return parseNanos.sum();
+    }
+
+    /**
+     * Get the wall-clock time taken to parse the most recent document, in nanoseconds.
+     *
+     * @return  the time in nanoseconds
+     */
+    @Override
+    public long getLastParseNanos() {
+        return lastParseNanos;
+    }
+
+    /**
+     * Get the longest wall-clock time taken to parse any document, in nanoseconds.
+     *
+     * @return  the time in nanoseconds
+     */
+    @Override
+    public long getMaxParseNanos() {
+        return maxParseNanos.get();
+    }
+
+    /**
+     * Reset all the metrics to zero.  If documents are being parsed concurrently, their metrics may be partly included
+     * in the values after the reset.
+     */
+    @Override
+    public void reset() {
+        documents.reset();
+        characters.reset();
+        objects.reset();
+        arrays.reset();
+        strings.reset();
+        numbers.reset();
+        booleans.reset();
+        nulls.reset();
+        elements.reset();
+        bytes.reset();
+        parseNanos.reset();
+        maxDepth.reset();
+        maxParseNanos.reset();
+        lastParseNanos = 0;
+    }
+
+    /**
+     * Register this metrics object as an MBean with the platform MBean server, with the object name
+     * {@code net.pwall.json.stream:type=JSONParseMetrics,name=}<i>name</i>.
+     *
+     * @param   name    the name to distinguish this metrics object from others
+     * @return  the object name
+     * @throws  JMException if the name is invalid or already registered
+     */
+    public ObjectName register(String name) throws JMException {
+        ObjectName objectName = new ObjectName("net.pwall.json.stream:type=JSONParseMetrics,name=" +
+                ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        return objectName;
+    }
+
+    /**
+     * Accumulates the metrics of a single document on behalf of a single parser, adding them to the shared metrics
+     * only when the document is complete.
+     */
+    static class Recorder {
+
+        // approximate sizes in a 64-bit JVM with compressed references
+        private static final int stringBytes = 56; // JSONString + String + char[] header
+        private static final int keyBytes = 64; // ListMap.Entry + String + char[] header
+        private static final int objectBytes = 56; // JSONObject + ArrayList + Object[] header
+        private static final int arrayBytes = 40; // JSONArray + Object[] header
+        private static final int referenceBytes = 4;
+        private static final int smallNumberBytes = 16;
+        private static final int largeNumberBytes = 24;
+        private static final int decimalBytes = 56; // JSONDecimal + BigDecimal
+        private static final int lazyBytes = 64; // JSONLazyValue + String + char[] header
+
+        private final JSONParseMetrics metrics;
+        private boolean active;
+        private long startTime;
+        private long excludedNanos;
+        private long objects;
+        private long arrays;
+        private long strings;
+        private long numbers;
+        private long booleans;
+        private long nulls;
+        private long elements;
+        private long bytes;
+        private int maxDepth;
+        private JSONValue[] stack;
+        private int[] depths;
+
+        Recorder(JSONParseMetrics metrics) {
+            this.metrics = metrics;
+            active = false;
+            stack = new JSONValue[16];
+            depths = new int[16];
+        }
+
+        JSONParseMetrics getMetrics() {
+            return metrics;
+        }
+
+        /**
+         * Record the start of a document.
+         */
+        void start() {
+            active = true;
+            objects = 0;
+            arrays = 0;
+            strings = 0;
+            numbers = 0;
+            booleans = 0;
+            nulls = 0;
+            elements = 0;
+            bytes = 0;
+            maxDepth = 0;
+            excludedNanos = 0;
+            startTime = System.nanoTime();
+        }
+
+        /**
+         * Record the start of a document consisting of an array whose elements are emitted individually.
+         */
+        void startArray() {
+            start();
+            arrays = 1;
+            maxDepth = 1;
+        }
+
+        /**
+         * Record the complete value of a document.  This should be called after the end time of the document has been
+         * taken, so that the walk of the value is not included in the parse time.
+         *
+         * @param   value   the value
+         */
+        void value(JSONValue value) {
+            if (active)
+                walk(value, 0);
+        }
+
+        /**
+         * Record an element emitted from the outer array of a document.  The time taken to walk the element is
+         * excluded from the parse time of the document.
+         *
+         * @param   value   the element
+         */
+        void element(JSONValue value) {
+            long walkStart = System.nanoTime();
+            elements++;
+            walk(value, 1);
+            excludedNanos += System.nanoTime() - walkStart;
+        }
+
+        /**
+         * Record the end of a document, adding the metrics for the document to the shared metrics.  Subsequent calls
+         * (for example, from a repeated {@code close()}) are ignored until the next {@link #start()}.
+         *
+         * @param   characters  the number of characters in the document
+         * @param   endTime     the value of {@link System#nanoTime()} at the end of the document
+         */
+        void finish(long characters, long endTime) {
+            if (!active)
+                return;
+            active = false;
+            long nanos = endTime - startTime - excludedNanos;
+            metrics.documents.increment();
+            metrics.characters.add(characters);
+            metrics.objects.add(objects);
+            metrics.arrays.add(arrays);
+            metrics.strings.add(strings);
+            metrics.numbers.add(numbers);
+            metrics.booleans.add(booleans);
+            metrics.nulls.add(nulls);
+            metrics.elements.add(elements);
+            metrics.bytes.add(bytes);
+            metrics.parseNanos.add(nanos);
+            metrics.maxDepth.accumulate(maxDepth);
+            metrics.maxParseNanos.accumulate(nanos);
+            metrics.lastParseNanos = nanos;
+        }
+
+        /**
+         * Walk a value and its nested values, using an explicit stack so that the depth of nesting is limited only by
+         * the heap (as it is in {@link JSONFlatBuilder}).
+         */
+        private void walk(JSONValue value, int level) {
+            int top = 0;
+            stack[0] = value;
+            depths[0] = level;
+            while (top >= 0) {
+                JSONValue item = stack[top];
+                int depth = depths[top];
+                stack[top--] = null;
+                if (item instanceof JSONObject) {
+                    JSONObject object = (JSONObject)item;
+                    int size = object.size();
+                    objects++;
+                    bytes += objectBytes + (long)size * referenceBytes;
+                    container(depth + 1);
+                    for (int i = 0; i < size; i++) {
+                        ListMap.Entry<String, JSONValue> entry = object.getEntry(i);
+                        bytes += keyBytes + entry.getKey().length() * 2L;
+                        top = push(top, entry.getValue(), depth + 1);
+                    }
+                }
+                else if (item instanceof JSONArray) {
+                    JSONArray array = (JSONArray)item;
+                    int size = array.size();
+                    arrays++;
+                    bytes += arrayBytes + (long)size * referenceBytes;
+                    container(depth + 1);
+                    for (int i = 0; i < size; i++)
+                        top = push(top, array.get(i), depth + 1);
+                }
+                else if (item instanceof JSONString) {
+                    strings++;
+                    bytes += stringBytes + ((JSONString)item).length() * 2L;
+                }
+                else if (item instanceof JSONNumberValue) {
+                    numbers++;
+                    bytes += item instanceof JSONDecimal ? decimalBytes :
+                            item instanceof JSONLong || item instanceof JSONDouble ? largeNumberBytes :
+                            smallNumberBytes;
+                }
+                else if (item instanceof JSONBoolean)
+                    booleans++;
+                else if (item == null)
+                    nulls++;
+                else if (item instanceof JSONLazyValue) {
+                    String text = ((JSONLazyValue)item).getText();
+                    if (text.startsWith("{"))
+                        objects++;
+                    else
+                        arrays++;
+                    bytes += lazyBytes + text.length() * 2L;
+                    container(depth + 1);
+                }
+            }
+        }
+
+        private void container(int depth) {
+            if (depth > maxDepth)
+                maxDepth = depth;
+        }
+
+        private int push(int top, JSONValue value, int depth) {
+            int index = top + 1;
+            if (index == stack.length) {
+                stack = Arrays.copyOf(stack, index * 2);
+                depths = Arrays.copyOf(depths, index * 2);
+            }
+            stack[index] = value;
+            depths[index] = depth;
+            return index;
+        }
+
+    }
+
+}
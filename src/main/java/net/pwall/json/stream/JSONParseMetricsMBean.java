@@ -0,0 +1,67 @@
+/*
+ * @(#) JSONParseMetricsMBean.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream;
+
+/**
+ * The JMX management interface of {@link JSONParseMetrics}.
+ *
+ * @author  Peter Wall
+ */
+public interface JSONParseMetricsMBean {
+
+    long getDocumentCount();
+
+    long getCharacterCount();
+
+    long getValueCount();
+
+    long getObjectCount();
+
+    long getArrayCount();
+
+    long getStringCount();
+
+    long getNumberCount();
+
+    long getBooleanCount();
+
+    long getNullCount();
+
+    long getElementCount();
+
+    int getMaxDepth();
+
+    long getEstimatedBytes();
+
+    long getTotalParseNanos();
+
+    long getLastParseNanos();
+
+    long getMaxParseNanos();
+
+    void reset();
+
+}
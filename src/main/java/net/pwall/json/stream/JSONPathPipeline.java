@@ -0,0 +1,380 @@
+/*
+ * @(#) JSONPathPipeline.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import net.pwall.json.JSONException;
+import net.pwall.json.JSONValue;
+import net.pwall.pipeline.AbstractIntObjectPipeline;
+import net.pwall.pipeline.Acceptor;
+
+/**
+ * A pipeline class that takes a stream of characters (Unicode code points) forming a JSON value, and outputs only those
+ * nested values selected by one or more paths.  The paths are in the form of
+ * <a href="https://tools.ietf.org/html/rfc6901">JSON Pointer</a> strings, with the addition that a segment consisting
+ * of a single {@code *} matches any property name or array index; for example, {@code /data/items/*} selects each
+ * element of the {@code items} array in the {@code data} object.
+ *
+ * <p>Each selected value is passed to the downstream acceptor as soon as it is complete.  The parts of the input
+ * outside the selected values are checked for syntax, but no {@link JSONValue} objects are created for them, so the
+ * memory required is bounded by the size of the largest selected value.  If one selected value is nested within
+ * another, only the outer value is output.</p>
+ *
+ * <p>Where the input contains large sections that can not contain any selected value, those sections may instead be
+ * skipped by a {@link JSONSkipBuilder} (see {@link #setSkipUnselected(boolean)}), which is considerably faster, at the
+ * cost of detecting only structural errors in the skipped sections.</p>
+ *
+ * @author  Peter Wall
+ * @param   <R>     the pipeline result type (may be {@link Void} if all results are processed on the fly)
+ */
+public class JSONPathPipeline<R> extends AbstractIntObjectPipeline<JSONValue, R> {
+
+    /** The maximum number of paths. */
+    public static final int MAX_PATHS = 64;
+
+    private static final String WILDCARD = "*";
+
+    private final PathParser parser;
+    private final InputAdapter input = new InputAdapter(this::acceptChars);
+    private boolean skipUnselected;
+
+    public JSONPathPipeline(Acceptor<JSONValue, R> valueConsumer, String... paths) {
+        this(valueConsumer, new JSONParseContext(), paths);
+    }
+
+    /**
+     * Create a {@code JSONPathPipeline}.
+     *
+     * @param   valueConsumer   the downstream acceptor for the selected values
+     * @param   context         the {@link JSONParseContext} to supply the builders for the selected values
+     * @param   paths           the paths
+     * @throws  IllegalArgumentException    if a path is not valid, or there are no paths or too many paths
+     */
+    public JSONPathPipeline(Acceptor<JSONValue, R> valueConsumer, JSONParseContext context, String... paths) {
+        super(valueConsumer);
+        if (paths.length == 0 || paths.length > MAX_PATHS)
+            throw new IllegalArgumentException("Illegal number of paths: " + paths.length);
+        String[][] segments = new String[paths.length][];
+        for (int i = 0; i < paths.length; i++)
+            segments[i] = parsePath(paths[i]);
+        parser = new PathParser(context, segments);
+        skipUnselected = false;
+    }
+
+    /**
+     * Specify whether values that can not contain any selected value are to be skipped by a {@link JSONSkipBuilder}
+     * rather than being parsed in full.  Skipping is faster, but only structural errors are detected in the skipped
+     * values (see {@link JSONSkipBuilder}).  The default is {@code false}.
+     *
+     * @param   skipUnselected  {@code true} if unselected values are to be skipped
+     */
+    public void setSkipUnselected(boolean skipUnselected) {
+        this.skipUnselected = skipUnselected;
+    }
+
+    public boolean isComplete() {
+        return parser.isComplete();
+    }
+
+    @Override
+    public void acceptInt(int value) {
+        while (true) {
+            if (parser.acceptChar(value))
+                break;
+        }
+    }
+
+    /**
+     * Accept a {@link CharSequence} in a single operation.
+     *
+     * @param   cs      the characters
+     */
+    public void acceptChars(CharSequence cs) {
+        acceptChars(cs, 0, cs.length());
+    }
+
+    /**
+     * Accept a subsequence of a {@link CharSequence} in a single operation.
+     *
+     * @param   cs      the characters
+     * @param   start   the index of the first character
+     * @param   end     the index after the last character
+     */
+    public void acceptChars(CharSequence cs, int start, int end) {
+        int i = start;
+        while (i < end)
+            i = parser.acceptChars(cs, i, end);
+    }
+
+    /**
+     * Accept a portion of a {@code char} array in a single operation.
+     *
+     * @param   buf     the array
+     * @param   off     the offset of the first character
+     * @param   len     the number of characters
+     */
+    public void acceptChars(char[] buf, int off, int len) {
+        input.acceptChars(buf, off, len);
+    }
+
+    /**
+     * Accept a block of UTF-8 encoded bytes (see {@link JSONArrayPipeline#acceptBytes(byte[], int, int)}).
+     *
+     * @param   bytes   the byte array
+     * @param   off     the offset of the first byte
+     * @param   len     the number of bytes
+     * @throws  JSONException if the bytes are not valid UTF-8 or the JSON is not valid
+     */
+    public void acceptBytes(byte[] bytes, int off, int len) {
+        input.acceptBytes(bytes, off, len);
+    }
+
+    /**
+     * Accept an array of UTF-8 encoded bytes.
+     *
+     * @param   bytes   the byte array
+     * @throws  JSONException if the bytes are not valid UTF-8 or the JSON is not valid
+     */
+    public void acceptBytes(byte[] bytes) {
+        input.acceptBytes(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Accept the remaining UTF-8 encoded bytes in a {@link ByteBuffer}; the position of the buffer is advanced to its
+     * limit.
+     *
+     * @param   buffer  the buffer
+     * @throws  JSONException if the bytes are not valid UTF-8 or the JSON is not valid
+     */
+    public void acceptBytes(ByteBuffer buffer) {
+        input.acceptBytes(buffer);
+    }
+
+    /**
+     * Reset the pipeline so that it may be used to process another document.  The downstream acceptor is not
+     * affected.
+     */
+    public void reset() {
+        parser.reset();
+        input.reset();
+    }
+
+    @Override
+    public void close() {
+        input.close();
+        parser.close();
+    }
+
+    private static String[] parsePath(String path) {
+        if (path.isEmpty())
+            return new String[0];
+        if (path.charAt(0) != '/')
+            throw new IllegalArgumentException("Illegal JSON path: " + path);
+        String[] segments = path.substring(1).split("/", -1);
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (segment.indexOf('~') >= 0) {
+                StringBuilder sb = new StringBuilder(segment.length());
+                for (int j = 0; j < segment.length(); j++) {
+                    char ch = segment.charAt(j);
+                    if (ch == '~') {
+                        char next = ++j < segment.length() ? segment.charAt(j) : 0;
+                        if (next == '0')
+                            sb.append('~');
+                        else if (next == '1')
+                            sb.append('/');
+                        else
+                            throw new IllegalArgumentException("Illegal JSON path: " + path);
+                    }
+                    else
+                        sb.append(ch);
+                }
+                segments[i] = sb.toString();
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * The parser, which keeps track of the paths matching each open container.  At each level, {@code containerMasks}
+     * holds a bit for each path that matches the path of the container, and {@code childMasks} (for objects) holds a
+     * bit for each path that also matches the current key.
+     */
+    private class PathParser extends JSONStackParser {
+
+        private static final int initialDepth = 16;
+
+        private final String[][] paths;
+        private final long[] lengthMasks;
+        private final JSONSkipBuilder skipBuilder;
+        private long[] containerMasks;
+        private long[] childMasks;
+        private int[] indices;
+        private long valueMask;
+
+        PathParser(JSONParseContext context, String[][] paths) {
+            super(context);
+            this.paths = paths;
+            int maxLength = 0;
+            for (String[] path : paths)
+                maxLength = Math.max(maxLength, path.length);
+            lengthMasks = new long[maxLength + 1];
+            for (int i = 0; i < paths.length; i++)
+                lengthMasks[paths[i].length] |= 1L << i;
+            skipBuilder = new JSONSkipBuilder(context);
+            containerMasks = new long[initialDepth];
+            childMasks = new long[initialDepth];
+            indices = new int[initialDepth];
+            valueMask = 0;
+        }
+
+        @Override
+        JSONBuilder delegateBuilder(int ch) {
+            int level = depth - 1;
+            if (level < 0)
+                valueMask = -1L >>> (Long.SIZE - paths.length);
+            else if (isObject(level))
+                valueMask = childMasks[level];
+            else {
+                int index = ++indices[level];
+                long mask = containerMasks[level];
+                if (mask != 0)
+                    mask &= indexMask(level, index);
+                valueMask = mask;
+            }
+            if (depth < lengthMasks.length && (valueMask & lengthMasks[depth]) != 0)
+                return context.valueBuilder();
+            if (valueMask == 0 && skipUnselected) {
+                skipBuilder.reset(depth);
+                return skipBuilder;
+            }
+            return null;
+        }
+
+        @Override
+        void startObject() {
+            pushMask();
+        }
+
+        @Override
+        void key(CharSequence key) {
+            int level = depth - 1;
+            long mask = containerMasks[level];
+            if (mask != 0)
+                mask &= keyMask(level, key);
+            childMasks[level] = mask;
+        }
+
+        @Override
+        void endObject() {
+        }
+
+        @Override
+        void startArray() {
+            pushMask();
+        }
+
+        @Override
+        void endArray() {
+        }
+
+        @Override
+        void scalarValue(JSONBuilder scalar) {
+            if (scalar == stringBuilder || scalar == numberBuilder || scalar == trueBuilder || scalar == falseBuilder ||
+                    scalar == nullBuilder || scalar == skipBuilder)
+                return;
+            JSONValue value = scalar.getResult();
+            context.release(scalar);
+            emit(value);
+        }
+
+        private void pushMask() {
+            int level = depth - 1;
+            if (level == containerMasks.length) {
+                containerMasks = Arrays.copyOf(containerMasks, level * 2);
+                childMasks = Arrays.copyOf(childMasks, level * 2);
+                indices = Arrays.copyOf(indices, level * 2);
+            }
+            containerMasks[level] = valueMask;
+            childMasks[level] = 0;
+            indices[level] = -1;
+        }
+
+        private long keyMask(int level, CharSequence key) {
+            long result = 0;
+            for (int i = 0; i < paths.length; i++) {
+                String[] path = paths[i];
+                if (level < path.length) {
+                    String segment = path[level];
+                    if (segment.equals(WILDCARD) || contentEquals(segment, key))
+                        result |= 1L << i;
+                }
+            }
+            return result;
+        }
+
+        private long indexMask(int level, int index) {
+            long result = 0;
+            for (int i = 0; i < paths.length; i++) {
+                String[] path = paths[i];
+                if (level < path.length) {
+                    String segment = path[level];
+                    if (segment.equals(WILDCARD) || isIndex(segment, index))
+                        result |= 1L << i;
+                }
+            }
+            return result;
+        }
+
+        private boolean contentEquals(String segment, CharSequence key) {
+            int n = segment.length();
+            if (key.length() != n)
+                return false;
+            for (int i = 0; i < n; i++)
+                if (segment.charAt(i) != key.charAt(i))
+                    return false;
+            return true;
+        }
+
+        private boolean isIndex(String segment, int index) {
+            int n = segment.length();
+            if (n == 0 || n > 1 && segment.charAt(0) == '0')
+                return false;
+            int value = 0;
+            for (int i = 0; i < n; i++) {
+                char ch = segment.charAt(i);
+                if (ch < '0' || ch > '9' || value > (Integer.MAX_VALUE - 9) / 10)
+                    return false;
+                value = value * 10 + ch - '0';
+            }
+            return value == index;
+        }
+
+    }
+
+}
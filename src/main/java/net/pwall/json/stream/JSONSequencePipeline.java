@@ -0,0 +1,244 @@
+/*
+ * @(#) JSONSequencePipeline.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+import net.pwall.json.JSONException;
+import net.pwall.json.JSONValue;
+import net.pwall.pipeline.AbstractIntObjectPipeline;
+import net.pwall.pipeline.Acceptor;
+
+/**
+ * A pipeline class that takes a stream of characters (Unicode code points) forming a sequence of JSON values, and
+ * outputs each value as soon as it is complete.  The values may be separated by newlines
+ * (<a href="https://jsonlines.org/">JSON Lines</a> or NDJSON), by any other whitespace, or by the record separator
+ * character ({@code U+001E}) used by <a href="https://tools.ietf.org/html/rfc7464">RFC 7464</a> JSON text sequences;
+ * values that are objects, arrays, strings or keywords need not be separated at all.
+ *
+ * <p>A single builder is re-used for all the values in the sequence, so the cost of setting up the parser is incurred
+ * only once, not once per record.</p>
+ *
+ * @author  Peter Wall
+ * @param   <R>     the pipeline result type (may be {@link Void} if all results are processed on the fly)
+ */
+public class JSONSequencePipeline<R> extends AbstractIntObjectPipeline<JSONValue, R> {
+
+    /** The record separator character used by RFC 7464. */
+    public static final int RS = 0x1E;
+
+    private final JSONBuilder builder;
+    private boolean started;
+    private boolean inValue;
+    private final InputAdapter input = new InputAdapter(this::acceptChars);
+
+    public JSONSequencePipeline(Acceptor<JSONValue, R> valueConsumer) {
+        this(valueConsumer, new JSONValueBuilder());
+    }
+
+    public JSONSequencePipeline(Acceptor<JSONValue, R> valueConsumer, JSONParseContext context) {
+        this(valueConsumer, new JSONValueBuilder(context));
+    }
+
+    /**
+     * Create a {@code JSONSequencePipeline} using the specified builder to parse each value, for example a
+     * {@link JSONFlatBuilder}.  The builder must support {@link JSONBuilder#reset()}.
+     *
+     * @param   valueConsumer   the downstream acceptor for the values
+     * @param   builder         the builder
+     */
+    public JSONSequencePipeline(Acceptor<JSONValue, R> valueConsumer, JSONBuilder builder) {
+        super(valueConsumer);
+        this.builder = builder;
+        started = false;
+        inValue = false;
+    }
+
+    /**
+     * Test whether the pipeline is between values (as opposed to part way through a value).
+     *
+     * @return  {@code true} if the pipeline is between values
+     */
+    public boolean isComplete() {
+        return !inValue;
+    }
+
+    @Override
+    public void acceptInt(int value) {
+        if (!started) {
+            started = true;
+            if (value == InputAdapter.BOM)
+                return;
+        }
+        if (inValue) {
+            boolean consumed = builder.acceptChar(value);
+            if (builder.isComplete())
+                emitValue();
+            if (consumed)
+                return;
+        }
+        if (!isSeparator(value)) {
+            inValue = true;
+            builder.acceptChar(value); // always true for first character
+        }
+    }
+
+    /**
+     * Accept a {@link CharSequence} in a single operation.
+     *
+     * @param   cs      the characters
+     */
+    public void acceptChars(CharSequence cs) {
+        acceptChars(cs, 0, cs.length());
+    }
+
+    /**
+     * Accept a subsequence of a {@link CharSequence} in a single operation.
+     *
+     * @param   cs      the characters
+     * @param   start   the index of the first character
+     * @param   end     the index after the last character
+     */
+    public void acceptChars(CharSequence cs, int start, int end) {
+        int i = start;
+        if (!started && i < end) {
+            started = true;
+            if (cs.charAt(i) == InputAdapter.BOM)
+                i++;
+        }
+        while (i < end) {
+            if (inValue) {
+                i = builder.acceptChars(cs, i, end);
+                if (builder.isComplete())
+                    emitValue();
+            }
+            else {
+                char ch = cs.charAt(i++);
+                if (!isSeparator(ch)) {
+                    inValue = true;
+                    builder.acceptChar(ch); // always true for first character
+                }
+            }
+        }
+    }
+
+    /**
+     * Accept a portion of a {@code char} array in a single operation.
+     *
+     * @param   buf     the array
+     * @param   off     the offset of the first character
+     * @param   len     the number of characters
+     */
+    public void acceptChars(char[] buf, int off, int len) {
+        input.acceptChars(buf, off, len);
+    }
+
+    /**
+     * Accept a block of UTF-8 encoded bytes (see {@link JSONArrayPipeline#acceptBytes(byte[], int, int)}).
+     *
+     * @param   bytes   the byte array
+     * @param   off     the offset of the first byte
+     * @param   len     the number of bytes
+     * @throws  JSONException if the bytes are not valid UTF-8 or the JSON is not valid
+     */
+    public void acceptBytes(byte[] bytes, int off, int len) {
+        input.acceptBytes(bytes, off, len);
+    }
+
+    /**
+     * Accept an array of UTF-8 encoded bytes.
+     *
+     * @param   bytes   the byte array
+     * @throws  JSONException if the bytes are not valid UTF-8 or the JSON is not valid
+     */
+    public void acceptBytes(byte[] bytes) {
+        input.acceptBytes(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Accept the remaining UTF-8 encoded bytes in a {@link ByteBuffer}; the position of the buffer is advanced to its
+     * limit.
+     *
+     * @param   buffer  the buffer
+     * @throws  JSONException if the bytes are not valid UTF-8 or the JSON is not valid
+     */
+    public void acceptBytes(ByteBuffer buffer) {
+        input.acceptBytes(buffer);
+    }
+
+    /**
+     * Process a file containing a UTF-8 encoded sequence of JSON values (for example, JSON Lines), passing each value
+     * to an acceptor.  The file is memory-mapped (in windows of up to 1GB, so files of any size may be processed), and
+     * the mapped bytes are passed to {@link #acceptBytes(ByteBuffer)}, avoiding the overhead of a
+     * {@link java.io.Reader}.
+     *
+     * @param   path        the path of the file
+     * @param   acceptor    the acceptor for the values
+     * @param   <R>         the result type of the acceptor
+     * @return  the result of the acceptor
+     * @throws  JSONException   if the file does not contain valid JSON
+     * @throws  IOException     if an error occurs reading the file
+     */
+    public static <R> R process(Path path, Acceptor<JSONValue, R> acceptor) throws IOException {
+        JSONSequencePipeline<R> pipeline = new JSONSequencePipeline<>(acceptor);
+        MappedFile.forEachWindow(path, pipeline::acceptBytes);
+        pipeline.close();
+        return pipeline.getResult();
+    }
+
+    private static boolean isSeparator(int ch) {
+        return JSONBuilder.isWhitespace(ch) || ch == RS;
+    }
+
+    private void emitValue() {
+        JSONValue value = builder.getResult();
+        builder.reset();
+        inValue = false;
+        emit(value);
+    }
+
+    /**
+     * Reset the pipeline so that it may be used to process another sequence.  The downstream acceptor is not affected.
+     */
+    public void reset() {
+        builder.reset();
+        started = false;
+        inValue = false;
+        input.reset();
+    }
+
+    @Override
+    public void close() {
+        input.close();
+        if (inValue) {
+            builder.close();
+            emitValue();
+        }
+    }
+
+}
@@ -0,0 +1,299 @@
+/*
+ * @(#) JSONSkipBuilder.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream;
+
+import java.util.Arrays;
+
+import net.pwall.json.JSONException;
+import net.pwall.json.JSONValue;
+
+/**
+ * A builder that consumes a complete JSON value without building it, in order to find where the value ends.  The
+ * builder keeps track only of the nesting of arrays and objects and of the bounds of strings (including escape
+ * sequences); no characters are stored and no objects are allocated, so skipping a value costs a fraction of a full
+ * parse.  The result of the builder is always {@code null}.
+ *
+ * <p>Because the builder does not examine the content of the value in detail, it detects only structural errors: an
+ * unexpected closing bracket or brace, a closing bracket or brace that does not match the corresponding opening one,
+ * a misplaced {@code ,} or {@code :} at the start of a value, or the end of data inside the value.  Other errors (for
+ * example, a missing comma or an invalid number) will not be reported.</p>
+ *
+ * <p>The builder may be used with a {@link JSONStream} to check the overall structure of a document quickly, and it is
+ * used by {@link JSONPathPipeline} to skip the parts of the input that can not contain a selected value.</p>
+ *
+ * <p>When the builder is used on behalf of a parser with {@link JSONParseLimits}, the limits on the depth of nesting
+ * and on the length of strings are applied while skipping; the other limits can not be applied without a full parse.</p>
+ *
+ * @author  Peter Wall
+ */
+public class JSONSkipBuilder implements JSONBuilder {
+
+    private enum State { INITIAL, CONTAINER, STRING, ESCAPE, SCALAR, COMPLETE }
+
+    private static final int initialDepth = 16;
+    private static final String depthLimitMessage = "JSON nesting depth exceeds limit";
+    private static final String stringLimitMessage = "JSON string length exceeds limit";
+
+    private final JSONParseContext context;
+    private State state;
+    private boolean[] objects;
+    private int depth;
+    private int maxDepth;
+    private int maxStringLength;
+    private int stringLength;
+
+    public JSONSkipBuilder() {
+        this(null);
+    }
+
+    /**
+     * Create a {@code JSONSkipBuilder} that applies the limits of a {@link JSONParseContext}.
+     *
+     * @param   context     the context (may be {@code null})
+     */
+    JSONSkipBuilder(JSONParseContext context) {
+        this.context = context;
+        objects = new boolean[initialDepth];
+        depth = 0;
+        state = State.INITIAL;
+        maxDepth = context != null ? context.maxDepth() : Integer.MAX_VALUE;
+        maxStringLength = context != null ? context.maxStringLength() : Integer.MAX_VALUE;
+    }
+
+    @Override
+    public boolean isComplete() {
+        return state == State.COMPLETE;
+    }
+
+    @Override
+    public JSONValue getResult() {
+        if (!isComplete())
+            throw new JSONException("JSON not complete");
+        return null;
+    }
+
+    @Override
+    public boolean acceptChar(int ch) {
+        return accept(ch, -1);
+    }
+
+    /**
+     * Accept a character.
+     *
+     * @param   ch      the character
+     * @param   index   the index of the character in the current block, or -1 if it was passed individually
+     * @return  {@code true} if the character was consumed
+     */
+    private boolean accept(int ch, int index) {
+        switch (state) {
+            case INITIAL:
+                if (!JSONBuilder.isWhitespace(ch))
+                    startValue(ch, index);
+                break;
+            case CONTAINER:
+                acceptStructural(ch, index);
+                break;
+            case STRING:
+                if (ch == '"')
+                    endString();
+                else if (ch == '\\')
+                    state = State.ESCAPE;
+                else
+                    addStringLength(1, index);
+                break;
+            case ESCAPE:
+                // the four hex digits of a Unicode escape will be counted as characters of the string
+                addStringLength(ch == 'u' ? -3 : 1, index < 0 ? -1 : index + 1);
+                state = State.STRING;
+                break;
+            case SCALAR:
+                if (isDelimiter(ch)) {
+                    state = State.COMPLETE;
+                    return false;
+                }
+                break;
+            case COMPLETE:
+                JSONBuilder.checkWhitespace(ch);
+        }
+        return true;
+    }
+
+    @Override
+    public int acceptChars(CharSequence cs, int start, int end) {
+        if (state == State.COMPLETE)
+            return JSONBuilder.super.acceptChars(cs, start, end);
+        int i = start;
+        while (i < end) {
+            char ch = cs.charAt(i);
+            switch (state) {
+                case STRING:
+                    // the characters of a string are of no interest apart from the closing quote and escapes
+                    int runStart = i;
+                    while (ch != '"' && ch != '\\') {
+                        if (++i == end) {
+                            addStringLength(end - runStart, end);
+                            return end;
+                        }
+                        ch = cs.charAt(i);
+                    }
+                    addStringLength(i - runStart, i);
+                    i++;
+                    if (ch == '"')
+                        endString();
+                    else
+                        state = State.ESCAPE;
+                    break;
+                case CONTAINER:
+                    // likewise, between strings only the brackets and braces matter
+                    while (ch != '"' && ch != '[' && ch != ']' && ch != '{' && ch != '}') {
+                        if (++i == end)
+                            return end;
+                        ch = cs.charAt(i);
+                    }
+                    acceptStructural(ch, i++);
+                    break;
+                case SCALAR:
+                    while (!isDelimiter(ch)) {
+                        if (++i == end)
+                            return end;
+                        ch = cs.charAt(i);
+                    }
+                    state = State.COMPLETE;
+                    return i;
+                default:
+                    accept(ch, i++);
+            }
+            if (state == State.COMPLETE)
+                break;
+        }
+        return i;
+    }
+
+    @Override
+    public void close() {
+        if (state == State.SCALAR)
+            state = State.COMPLETE;
+        else if (state != State.COMPLETE)
+            throw new JSONException("Unexpected end of data");
+    }
+
+    @Override
+    public void reset() {
+        reset(0);
+    }
+
+    /**
+     * Reset the builder to skip a value nested within the specified number of objects or arrays, for the purpose of
+     * applying the limit on the depth of nesting.
+     *
+     * @param   baseDepth   the depth of nesting at which the value occurs
+     */
+    void reset(int baseDepth) {
+        depth = 0;
+        state = State.INITIAL;
+        maxDepth = context != null ? context.maxDepth() - baseDepth : Integer.MAX_VALUE;
+        maxStringLength = context != null ? context.maxStringLength() : Integer.MAX_VALUE;
+    }
+
+    private void startValue(int ch, int index) {
+        if (ch == '{')
+            push(true, index);
+        else if (ch == '[')
+            push(false, index);
+        else if (ch == '"')
+            startString();
+        else if (ch == ']' || ch == '}' || ch == ',' || ch == ':')
+            throw new JSONException("Illegal syntax in JSON");
+        else
+            state = State.SCALAR;
+    }
+
+    private void acceptStructural(int ch, int index) {
+        switch (ch) {
+            case '"':
+                startString();
+                break;
+            case '{':
+                push(true, index);
+                break;
+            case '[':
+                push(false, index);
+                break;
+            case '}':
+                pop(true);
+                break;
+            case ']':
+                pop(false);
+                break;
+        }
+    }
+
+    private void push(boolean object, int index) {
+        if (depth >= maxDepth)
+            throw limitExceeded(depthLimitMessage, index);
+        if (depth == objects.length)
+            objects = Arrays.copyOf(objects, depth * 2);
+        objects[depth++] = object;
+        state = State.CONTAINER;
+    }
+
+    private void pop(boolean object) {
+        if (objects[--depth] != object)
+            throw new JSONException(object ? "Illegal syntax in JSON array" : "Illegal syntax in JSON object");
+        state = depth == 0 ? State.COMPLETE : State.CONTAINER;
+    }
+
+    private void startString() {
+        stringLength = 0;
+        state = State.STRING;
+    }
+
+    /**
+     * Add to the length of the current string, checking the limit.
+     *
+     * @param   n       the number of characters to add
+     * @param   index   the index in the current block of the character after those added, or -1
+     */
+    private void addStringLength(int n, int index) {
+        stringLength += n;
+        if (stringLength > maxStringLength)
+            throw limitExceeded(stringLimitMessage, index < 0 ? -1 : index - (stringLength - maxStringLength));
+    }
+
+    private JSONException limitExceeded(String message, int index) {
+        return index < 0 ? context.limitExceeded(message) : context.limitExceeded(message, index);
+    }
+
+    private void endString() {
+        state = depth == 0 ? State.COMPLETE : State.CONTAINER;
+    }
+
+    private static boolean isDelimiter(int ch) {
+        return JSONBuilder.isWhitespace(ch) || ch == ',' || ch == ']' || ch == '}' || ch == ':' || ch == '"' ||
+                ch == '[' || ch == '{';
+    }
+
+}
@@ -0,0 +1,371 @@
+/*
+ * @(#) JSONStackParser.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream;
+
+import java.util.Arrays;
+
+import net.pwall.json.JSONBoolean;
+import net.pwall.json.JSONException;
+
+/**
+ * The state machine used by {@link JSONFlatBuilder} and {@link JSONEventParser}.  The parser keeps an explicit stack
+ * of open containers, so each character is handled in constant time regardless of the depth of nesting; strings,
+ * numbers and keywords are parsed by a single re-usable instance of the relevant scalar builder.
+ *
+ * <p>Subclasses are notified of the structure of the JSON through the abstract functions, and are responsible for
+ * doing something with it (for example, building a {@link net.pwall.json.JSONValue}).  The syntax rules, and the
+ * exceptions thrown for invalid JSON, are the same as those of {@link JSONValueBuilder}.</p>
+ *
+ * @author  Peter Wall
+ */
+abstract class JSONStackParser {
+
+    private enum State { VALUE, ARRAY_FIRST, ARRAY_COMMA, OBJECT_FIRST, OBJECT_NEXT, NAME, COLON, OBJECT_COMMA, SCALAR,
+            COMPLETE }
+
+    private static final int initialDepth = 16;
+
+    final JSONParseContext context;
+    final JSONStringBuilder stringBuilder;
+    final JSONNumberBuilder numberBuilder;
+    final JSONKeywordBuilder trueBuilder;
+    final JSONKeywordBuilder falseBuilder;
+    final JSONKeywordBuilder nullBuilder;
+    private State state;
+    private JSONBuilder scalar;
+    private boolean[] objects;
+    private int[] commas;
+    private boolean suspended;
+    int depth;
+
+    JSONStackParser(JSONParseContext context) {
+        this.context = context;
+        stringBuilder = new JSONStringBuilder(context);
+        numberBuilder = new JSONNumberBuilder('0', context);
+        trueBuilder = new JSONKeywordBuilder("true", JSONBoolean.TRUE);
+        falseBuilder = new JSONKeywordBuilder("false", JSONBoolean.FALSE);
+        nullBuilder = new JSONKeywordBuilder("null", null);
+        objects = new boolean[initialDepth];
+        commas = new int[initialDepth];
+        depth = 0;
+        state = State.VALUE;
+    }
+
+    /**
+     * Called when an object is started; {@link #depth} has been incremented to include the new object.
+     */
+    abstract void startObject();
+
+    /**
+     * Called when an object key is complete.
+     *
+     * @param   key     the characters of the key (valid only for the duration of the call)
+     */
+    abstract void key(CharSequence key);
+
+    /**
+     * Called when an object is complete; {@link #depth} has been decremented to exclude the object.
+     */
+    abstract void endObject();
+
+    /**
+     * Called when an array is started; {@link #depth} has been incremented to include the new array.
+     */
+    abstract void startArray();
+
+    /**
+     * Called when an array is complete; {@link #depth} has been decremented to exclude the array.
+     */
+    abstract void endArray();
+
+    /**
+     * Called when a scalar value (string, number or keyword) is complete, or when a value parsed by a builder returned
+     * from {@link #delegateBuilder(int)} is complete.
+     *
+     * @param   scalar  the builder for the value (one of {@link #stringBuilder}, {@link #numberBuilder},
+     *                  {@link #trueBuilder}, {@link #falseBuilder} or {@link #nullBuilder}, or the delegate builder)
+     */
+    abstract void scalarValue(JSONBuilder scalar);
+
+    /**
+     * Called at the start of each value, before any of the other notifications for the value.  The default
+     * implementation returns {@code null}; a subclass may instead return a builder, in which case the value will be
+     * parsed by that builder, and {@link #scalarValue(JSONBuilder)} will be called with the builder when the value is
+     * complete.
+     *
+     * @param   ch      the first character of the value
+     * @return  a builder to parse the value, or {@code null}
+     */
+    JSONBuilder delegateBuilder(int ch) {
+        return null;
+    }
+
+    /**
+     * Stop the current {@link #acceptChars(CharSequence, int, int)} operation after the event being reported; the
+     * operation will return the index of the first character not yet processed.
+     */
+    void suspend() {
+        suspended = true;
+    }
+
+    /**
+     * Test whether the container at the specified level is an object.
+     *
+     * @param   level   the level (0 for the outermost container)
+     * @return  {@code true} if the container is an object, {@code false} if it is an array
+     */
+    boolean isObject(int level) {
+        return objects[level];
+    }
+
+    public boolean isComplete() {
+        return state == State.COMPLETE;
+    }
+
+    public boolean acceptChar(int ch) {
+        switch (state) {
+            case VALUE:
+                if (!JSONBuilder.isWhitespace(ch))
+                    startValue(ch);
+                break;
+            case ARRAY_FIRST:
+                if (!JSONBuilder.isWhitespace(ch)) {
+                    if (ch == ']')
+                        endContainer();
+                    else
+                        startValue(ch);
+                }
+                break;
+            case ARRAY_COMMA:
+                if (!JSONBuilder.isWhitespace(ch)) {
+                    if (ch == ',') {
+                        countEntry(false);
+                        state = State.VALUE;
+                    }
+                    else if (ch == ']')
+                        endContainer();
+                    else
+                        throw new JSONException("Illegal syntax in JSON array");
+                }
+                break;
+            case OBJECT_FIRST:
+                if (!JSONBuilder.isWhitespace(ch)) {
+                    if (ch == '}')
+                        endContainer();
+                    else if (ch == '"')
+                        startName();
+                    else
+                        throw new JSONException("Illegal syntax in JSON object");
+                }
+                break;
+            case OBJECT_NEXT:
+                if (!JSONBuilder.isWhitespace(ch)) {
+                    if (ch == '"')
+                        startName();
+                    else
+                        throw new JSONException("Illegal syntax in JSON object");
+                }
+                break;
+            case NAME:
+                stringBuilder.acceptChar(ch); // JSONStringBuilder always returns true
+                if (stringBuilder.isComplete())
+                    endName();
+                break;
+            case COLON:
+                if (!JSONBuilder.isWhitespace(ch)) {
+                    if (ch == ':')
+                        state = State.VALUE;
+                    else
+                        throw new JSONException("Illegal syntax in JSON object");
+                }
+                break;
+            case OBJECT_COMMA:
+                if (!JSONBuilder.isWhitespace(ch)) {
+                    if (ch == ',') {
+                        countEntry(true);
+                        state = State.OBJECT_NEXT;
+                    }
+                    else if (ch == '}')
+                        endContainer();
+                    else
+                        throw new JSONException("Illegal syntax in JSON object");
+                }
+                break;
+            case SCALAR:
+                boolean consumed = scalar.acceptChar(ch);
+                if (scalar.isComplete()) {
+                    endScalar();
+                    if (!consumed)
+                        return state != State.COMPLETE && acceptChar(ch);
+                }
+                break;
+            case COMPLETE:
+                JSONBuilder.checkWhitespace(ch);
+        }
+        return true;
+    }
+
+    public int acceptChars(CharSequence cs, int start, int end) {
+        int i = start;
+        suspended = false;
+        if (state == State.COMPLETE) {
+            while (i < end)
+                JSONBuilder.checkWhitespace(cs.charAt(i++));
+            return end;
+        }
+        while (i < end) {
+            if (state == State.SCALAR) {
+                i = scalar.acceptChars(cs, i, end);
+                if (scalar.isComplete())
+                    endScalar();
+            }
+            else if (state == State.NAME) {
+                i = stringBuilder.acceptChars(cs, i, end);
+                if (stringBuilder.isComplete())
+                    endName();
+            }
+            else {
+                char ch = cs.charAt(i++);
+                if (!JSONBuilder.isWhitespace(ch)) {
+                    context.setIndex(i - 1);
+                    acceptChar(ch);
+                }
+            }
+            if (state == State.COMPLETE || suspended)
+                break;
+        }
+        return i;
+    }
+
+    public void close() {
+        if (state == State.SCALAR && depth == 0) {
+            scalar.close();
+            endScalar();
+        }
+        else if (state == State.VALUE && depth == 0)
+            throw new JSONException("JSON value not complete");
+        else if (state != State.COMPLETE)
+            throw new JSONException("Unexpected end of data");
+    }
+
+    public void reset() {
+        depth = 0;
+        scalar = null;
+        state = State.VALUE;
+    }
+
+    private void startValue(int ch) {
+        JSONBuilder delegate = delegateBuilder(ch);
+        if (delegate != null) {
+            delegate.acceptChar(ch); // always true for first character
+            scalar = delegate;
+            state = State.SCALAR;
+        }
+        else if (ch == '{') {
+            push(true);
+            state = State.OBJECT_FIRST;
+            startObject();
+        }
+        else if (ch == '[') {
+            push(false);
+            state = State.ARRAY_FIRST;
+            startArray();
+        }
+        else {
+            if (ch == '"') {
+                stringBuilder.reset();
+                scalar = stringBuilder;
+            }
+            else if (ch == '-' || ch >= '0' && ch <= '9') {
+                numberBuilder.reset((char)ch);
+                scalar = numberBuilder;
+            }
+            else if (ch == 't')
+                scalar = resetKeyword(trueBuilder);
+            else if (ch == 'f')
+                scalar = resetKeyword(falseBuilder);
+            else if (ch == 'n')
+                scalar = resetKeyword(nullBuilder);
+            else
+                throw new JSONException("Illegal syntax in JSON");
+            state = State.SCALAR;
+        }
+    }
+
+    private static JSONKeywordBuilder resetKeyword(JSONKeywordBuilder keywordBuilder) {
+        keywordBuilder.reset();
+        return keywordBuilder;
+    }
+
+    private void startName() {
+        stringBuilder.reset();
+        state = State.NAME;
+    }
+
+    private void endName() {
+        state = State.COLON;
+        key(stringBuilder.getChars());
+    }
+
+    private void push(boolean object) {
+        if (depth >= context.maxDepth())
+            throw context.limitExceeded("JSON nesting depth exceeds limit");
+        if (depth == objects.length) {
+            objects = Arrays.copyOf(objects, depth * 2);
+            commas = Arrays.copyOf(commas, depth * 2);
+        }
+        commas[depth] = 0;
+        objects[depth++] = object;
+    }
+
+    private void countEntry(boolean object) {
+        // the number of commas is one less than the number of entries, including the one about to start
+        if (++commas[depth - 1] >= context.maxEntries())
+            throw context.limitExceeded(object ? "JSON object entries exceed limit" : "JSON array entries exceed limit");
+    }
+
+    private void endContainer() {
+        boolean object = objects[--depth];
+        endValue();
+        if (object)
+            endObject();
+        else
+            endArray();
+    }
+
+    private void endScalar() {
+        endValue();
+        scalarValue(scalar);
+    }
+
+    private void endValue() {
+        if (depth == 0)
+            state = State.COMPLETE;
+        else
+            state = objects[depth - 1] ? State.OBJECT_COMMA : State.ARRAY_COMMA;
+    }
+
+}
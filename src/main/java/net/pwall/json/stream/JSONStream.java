@@ -2,7 +2,7 @@
  * @(#) JSONStream.kt
  *
  * json-stream JSON Streaming library for Java
- * Copyright (c) 2020 Peter Wall
+ * Copyright (c) 2020, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -25,6 +25,11 @@
 
 package net.pwall.json.stream;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+import net.pwall.json.JSONException;
 import net.pwall.json.JSONValue;
 import net.pwall.pipeline.AbstractIntAcceptor;
 
@@ -39,21 +44,62 @@ import net.pwall.pipeline.AbstractIntAcceptor;
  */
 public class JSONStream extends AbstractIntAcceptor<JSONValue> {
 
-    private static final int BOM = 0xFEFF;
+    private static final String inputLimitMessage = "JSON input length exceeds limit";
 
-    private final JSONValueBuilder delegate;
+    private final JSONBuilder delegate;
+    private final JSONParseContext context;
     private boolean started;
+    private long count;
+    private JSONParseMetrics.Recorder recorder;
+    private final InputAdapter input = new InputAdapter(this::acceptChars);
 
     public JSONStream() {
-        delegate = new JSONValueBuilder();
+        this(new JSONValueBuilder());
+    }
+
+    /**
+     * Create a {@code JSONStream} using a {@link JSONValueBuilder} with the specified {@link JSONParseContext} (for
+     * example, a context with {@link JSONParseLimits}).
+     *
+     * @param   context     the context
+     */
+    public JSONStream(JSONParseContext context) {
+        this(new JSONValueBuilder(context));
+    }
+
+    /**
+     * Create a {@code JSONStream} using the specified builder to parse the JSON, for example a
+     * {@link JSONFlatBuilder}.  The builder must accept a complete JSON value (with optional surrounding whitespace).
+     * If the builder is a {@link JSONValueBuilder} or a {@link JSONFlatBuilder}, the limit on the number of characters
+     * in the {@link JSONParseLimits} of its context (if any) is applied by the stream.
+     *
+     * @param   delegate    the builder
+     */
+    public JSONStream(JSONBuilder delegate) {
+        this.delegate = delegate;
+        context = contextOf(delegate);
         started = false;
+        count = 0;
+    }
+
+    private static JSONParseContext contextOf(JSONBuilder builder) {
+        if (builder instanceof JSONValueBuilder)
+            return ((JSONValueBuilder)builder).getContext();
+        if (builder instanceof JSONStackParser)
+            return ((JSONStackParser)builder).context;
+        // the stream still tracks the offset, for any limits applied by the builder
+        return new JSONParseContext();
     }
 
     @Override
     public void acceptInt(int value) {
+        context.startBlock(count);
+        if (count >= context.maxChars())
+            throw context.limitExceeded(inputLimitMessage, 0);
+        count++;
         if (!started) {
-            started = true;
-            if (value == BOM)
+            startDocument();
+            if (value == InputAdapter.BOM)
                 return;
         }
         while (true) {
@@ -62,6 +108,142 @@ public class JSONStream extends AbstractIntAcceptor<JSONValue> {
         }
     }
 
+    /**
+     * Accept a {@link CharSequence} in a single operation.  Unlike {@code accept(CharSequence)}, which passes each
+     * character individually through {@link #acceptInt(int)}, this method hands the characters to the builders in
+     * bulk, so that runs of string content, digits and whitespace are consumed in tight loops.
+     *
+     * @param   cs      the characters
+     */
+    public void acceptChars(CharSequence cs) {
+        acceptChars(cs, 0, cs.length());
+    }
+
+    /**
+     * Accept a subsequence of a {@link CharSequence} in a single operation.
+     *
+     * @param   cs      the characters
+     * @param   start   the index of the first character
+     * @param   end     the index after the last character
+     */
+    public void acceptChars(CharSequence cs, int start, int end) {
+        long base = count - start;
+        int i = start;
+        if (!started && i < end) {
+            startDocument();
+            if (cs.charAt(i) == InputAdapter.BOM)
+                i++;
+        }
+        int limit = end;
+        if (base + end > context.maxChars())
+            limit = (int)(context.maxChars() - base);
+        context.startBlock(base);
+        while (i < limit)
+            i = delegate.acceptChars(cs, i, limit);
+        count = base + limit;
+        if (limit < end)
+            throw context.limitExceeded(inputLimitMessage, limit);
+    }
+
+    /**
+     * Accept a portion of a {@code char} array in a single operation.
+     *
+     * @param   buf     the array
+     * @param   off     the offset of the first character
+     * @param   len     the number of characters
+     */
+    public void acceptChars(char[] buf, int off, int len) {
+        input.acceptChars(buf, off, len);
+    }
+
+    /**
+     * Accept a block of UTF-8 encoded bytes.  The bytes are scanned directly, and only multi-byte sequences (which may
+     * occur only inside strings) are decoded; a multi-byte sequence may be split across successive blocks.  This
+     * removes the need for a separate decoding stage in front of the stream, but the byte-oriented and
+     * character-oriented functions should not be mixed in a single document.
+     *
+     * @param   bytes   the byte array
+     * @param   off     the offset of the first byte
+     * @param   len     the number of bytes
+     * @throws  JSONException if the bytes are not valid UTF-8 or the JSON is not valid
+     */
+    public void acceptBytes(byte[] bytes, int off, int len) {
+        input.acceptBytes(bytes, off, len);
+    }
+
+    /**
+     * Accept an array of UTF-8 encoded bytes.
+     *
+     * @param   bytes   the byte array
+     * @throws  JSONException if the bytes are not valid UTF-8 or the JSON is not valid
+     */
+    public void acceptBytes(byte[] bytes) {
+        input.acceptBytes(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Accept the remaining UTF-8 encoded bytes in a {@link ByteBuffer}; the position of the buffer is advanced to its
+     * limit.
+     *
+     * @param   buffer  the buffer
+     * @throws  JSONException if the bytes are not valid UTF-8 or the JSON is not valid
+     */
+    public void acceptBytes(ByteBuffer buffer) {
+        input.acceptBytes(buffer);
+    }
+
+    /**
+     * Parse a file containing UTF-8 encoded JSON.  The file is memory-mapped (in windows of up to 1GB, so files of any
+     * size may be parsed), and the mapped bytes are passed to {@link #acceptBytes(ByteBuffer)}, avoiding the overhead
+     * of a {@link java.io.Reader}.
+     *
+     * @param   path    the path of the file
+     * @return  the parsed value
+     * @throws  JSONException   if the file does not contain valid JSON
+     * @throws  IOException     if an error occurs reading the file
+     */
+    public static JSONValue parse(Path path) throws IOException {
+        return parse(path, new JSONValueBuilder());
+    }
+
+    /**
+     * Parse a file containing UTF-8 encoded JSON, using the specified builder (for example, a {@link JSONFlatBuilder}).
+     *
+     * @param   path    the path of the file
+     * @param   builder the builder
+     * @return  the parsed value
+     * @throws  JSONException   if the file does not contain valid JSON
+     * @throws  IOException     if an error occurs reading the file
+     */
+    public static JSONValue parse(Path path, JSONBuilder builder) throws IOException {
+        JSONStream stream = new JSONStream(builder);
+        MappedFile.forEachWindow(path, stream::acceptBytes);
+        stream.close();
+        return stream.getResult();
+    }
+
+    private void startDocument() {
+        started = true;
+        context.startDocument();
+        recorder = context.recorder();
+        if (recorder != null)
+            recorder.start();
+    }
+
+    /**
+     * Reset the stream so that it may be used to parse another document.  The builders used for the previous document
+     * are retained and re-used, so a single {@code JSONStream} may be used to parse a large number of documents with
+     * very little allocation apart from the parsed values themselves.
+     *
+     * @throws  UnsupportedOperationException if the builder in use can not be reset
+     */
+    public void reset() {
+        delegate.reset();
+        started = false;
+        count = 0;
+        input.reset();
+    }
+
     @Override
     public JSONValue getResult() {
         return delegate.getResult();
@@ -69,7 +251,13 @@ public class JSONStream extends AbstractIntAcceptor<JSONValue> {
 
     @Override
     public void close() {
+        input.close();
         delegate.close();
+        if (recorder != null) {
+            long endTime = System.nanoTime();
+            recorder.value(delegate.getResult());
+            recorder.finish(count, endTime);
+        }
     }
 
 }
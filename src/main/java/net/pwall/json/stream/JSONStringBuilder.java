@@ -2,7 +2,7 @@
  * @(#) JSONStringBuilder.kt
  *
  * json-stream JSON Streaming library for Java
- * Copyright (c) 2020 Peter Wall
+ * Copyright (c) 2020, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -33,13 +33,36 @@ public class JSONStringBuilder implements JSONBuilder {
 
     private enum State { NORMAL, BACKSLASH, UNICODE1, UNICODE2, UNICODE3, UNICODE4, COMPLETE }
 
-    private final StringBuilder sb;
+    private static final String limitMessage = "JSON string length exceeds limit";
+
+    private final JSONParseContext context;
+    private final ScratchBuffer sb;
     private State state;
     private int unicode;
+    private int maxLength;
 
     public JSONStringBuilder() {
+        this(null);
+    }
+
+    /**
+     * Create a {@code JSONStringBuilder} using the shared {@link ScratchBuffer} and the limits of a
+     * {@link JSONParseContext}.  The buffer may be shared by any number of builders, as long as only one of them is in
+     * use at any time.
+     *
+     * @param   context     the context (may be {@code null})
+     */
+    JSONStringBuilder(JSONParseContext context) {
+        this.context = context;
+        sb = context != null ? context.scratchBuffer() : new ScratchBuffer();
+        reset();
+    }
+
+    @Override
+    public void reset() {
         state = State.NORMAL;
-        sb = new StringBuilder();
+        sb.clear();
+        maxLength = context != null ? context.maxStringLength() : Integer.MAX_VALUE;
     }
 
     @Override
@@ -51,11 +74,31 @@ public class JSONStringBuilder implements JSONBuilder {
     public JSONValue getResult() {
         if (!isComplete())
             throw new JSONException("Unterminated JSON string");
-        return new JSONString(sb);
+        return new JSONString(sb.toString());
+    }
+
+    /**
+     * Get the characters of the string, without creating a {@link JSONString}.  The characters are held in the
+     * (possibly shared) scratch buffer, so they are valid only until another string is started.
+     *
+     * @return  the characters
+     * @throws  JSONException if the string is not complete
+     */
+    CharSequence getChars() {
+        if (!isComplete())
+            throw new JSONException("Unterminated JSON string");
+        return sb;
     }
 
     @Override
     public boolean acceptChar(int ch) {
+        accept(ch);
+        if (sb.length() > maxLength)
+            throw context.limitExceeded(limitMessage);
+        return true;
+    }
+
+    private void accept(int ch) {
         switch (state) {
             case NORMAL:
                 acceptNormal(ch);
@@ -79,7 +122,41 @@ public class JSONStringBuilder implements JSONBuilder {
             case COMPLETE:
                 JSONBuilder.checkWhitespace(ch);
         }
-        return true;
+    }
+
+    @Override
+    public int acceptChars(CharSequence cs, int start, int end) {
+        if (state == State.COMPLETE)
+            return JSONBuilder.super.acceptChars(cs, start, end);
+        int i = start;
+        while (i < end) {
+            if (state == State.NORMAL) {
+                int runStart = i;
+                if (cs instanceof ByteCharSequence)
+                    i = ((ByteCharSequence)cs).findStringDelimiter(i, end);
+                else {
+                    while (i < end) {
+                        char ch = cs.charAt(i);
+                        if (ch == '"' || ch == '\\' || ch <= 0x1F)
+                            break;
+                        i++;
+                    }
+                }
+                if (i > runStart) {
+                    sb.append(cs, runStart, i);
+                    if (sb.length() > maxLength)
+                        throw context.limitExceeded(limitMessage, i - (sb.length() - maxLength));
+                }
+                if (i == end)
+                    break;
+            }
+            accept(cs.charAt(i++));
+            if (sb.length() > maxLength)
+                throw context.limitExceeded(limitMessage, i - 1);
+            if (state == State.COMPLETE)
+                break;
+        }
+        return i;
     }
 
     private void acceptNormal(int ch) {
@@ -0,0 +1,60 @@
+/*
+ * @(#) JSONToken.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream;
+
+/**
+ * The tokens returned by {@link JSONTokenReader#nextToken()}.
+ *
+ * @author  Peter Wall
+ */
+public enum JSONToken {
+
+    /** The start of an object. */
+    START_OBJECT,
+    /** The end of an object. */
+    END_OBJECT,
+    /** The start of an array. */
+    START_ARRAY,
+    /** The end of an array. */
+    END_ARRAY,
+    /** An object key (available from {@link JSONTokenReader#getString()}). */
+    KEY,
+    /** A string value (available from {@link JSONTokenReader#getString()}). */
+    STRING,
+    /** A number value (available from {@link JSONTokenReader#getLong()} and similar functions). */
+    NUMBER,
+    /** The keyword {@code true}. */
+    TRUE,
+    /** The keyword {@code false}. */
+    FALSE,
+    /** The keyword {@code null}. */
+    NULL,
+    /** The end of the document; the JSON value is complete and the input has ended. */
+    END_DOCUMENT,
+    /** No complete token is available in the input supplied so far. */
+    NEED_MORE_INPUT
+
+}
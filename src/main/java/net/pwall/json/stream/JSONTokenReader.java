@@ -0,0 +1,539 @@
+/*
+ * @(#) JSONTokenReader.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+import net.pwall.json.JSONException;
+
+/**
+ * A pull parser, returning the tokens of a JSON document one at a time.  The input may be read from a {@link Reader}
+ * as required, or it may be supplied in blocks by the {@code acceptChars()} or {@code acceptBytes()} functions; in the
+ * latter case, {@link #nextToken()} returns {@link JSONToken#NEED_MORE_INPUT} when the input supplied so far has been
+ * exhausted, so that the parser may be used with non-blocking input.
+ *
+ * <p>The syntax rules, and the exceptions thrown for invalid JSON, are the same as those of {@link JSONValueBuilder},
+ * except that duplicate keys in an object are not detected.  No {@link net.pwall.json.JSONValue} objects are created;
+ * the value of a string or number token may be obtained by the accessor functions, which are valid until the next
+ * call to {@link #nextToken()}.</p>
+ *
+ * <pre>
+ *     JSONTokenReader reader = new JSONTokenReader(new StringReader(json));
+ *     JSONToken token;
+ *     while ((token = reader.nextToken()) != JSONToken.END_DOCUMENT) {
+ *         // ...
+ *     }
+ * </pre>
+ *
+ * @author  Peter Wall
+ */
+public class JSONTokenReader {
+
+    private static final int defaultBufferSize = 8192;
+
+    private final Reader reader;
+    private final TokenParser parser;
+    private char[] buffer;
+    private CharBuffer chars;
+    private int position;
+    private int limit;
+    private boolean started;
+    private boolean inputEnded;
+    private boolean parserClosed;
+    private final InputAdapter input = new InputAdapter(this::acceptChars);
+    private JSONToken token;
+    private boolean pushedBack;
+    private boolean skipping;
+    private int skipDepth;
+
+    /**
+     * Create a {@code JSONTokenReader} to which the input will be supplied by the {@code acceptChars()} or
+     * {@code acceptBytes()} functions.
+     */
+    public JSONTokenReader() {
+        this(null, new JSONParseContext());
+    }
+
+    /**
+     * Create a {@code JSONTokenReader} to read from a {@link Reader}.  The {@link Reader} is not closed by this class.
+     *
+     * @param   reader  the {@link Reader}
+     */
+    public JSONTokenReader(Reader reader) {
+        this(reader, new JSONParseContext());
+    }
+
+    public JSONTokenReader(Reader reader, JSONParseContext context) {
+        this.reader = reader;
+        parser = new TokenParser(context);
+        setBuffer(new char[defaultBufferSize]);
+        position = 0;
+        limit = 0;
+        started = false;
+        inputEnded = false;
+        parserClosed = false;
+        token = null;
+        pushedBack = false;
+        skipping = false;
+    }
+
+    /**
+     * Get the next token.
+     *
+     * @return  the token
+     * @throws  JSONException           if the JSON is not valid
+     * @throws  UncheckedIOException    if an error occurs reading from the {@link Reader}
+     */
+    public JSONToken nextToken() {
+        if (pushedBack) {
+            pushedBack = false;
+            return token;
+        }
+        token = null;
+        while (true) {
+            if (position < limit) {
+                position = parser.acceptChars(chars, position, limit);
+                if (token != null)
+                    return token;
+            }
+            else if (!inputEnded) {
+                if (reader == null)
+                    return token = JSONToken.NEED_MORE_INPUT;
+                readInput();
+            }
+            else if (!parserClosed) {
+                parserClosed = true;
+                parser.close();
+                if (token != null)
+                    return token;
+            }
+            else
+                return token = JSONToken.END_DOCUMENT;
+        }
+    }
+
+    /**
+     * Get the current token (the token most recently returned by {@link #nextToken()}).
+     *
+     * @return  the token, or {@code null} if {@link #nextToken()} has not been called
+     */
+    public JSONToken getToken() {
+        return token;
+    }
+
+    /**
+     * Get the depth of nesting of the current token: the number of objects and arrays that have been started and not
+     * yet ended.  A {@link JSONToken#START_OBJECT} or {@link JSONToken#START_ARRAY} token is included in the count, an
+     * {@link JSONToken#END_OBJECT} or {@link JSONToken#END_ARRAY} token is not.
+     *
+     * @return  the depth
+     */
+    public int getDepth() {
+        return parser.depth;
+    }
+
+    /**
+     * Skip the next value.  If the next token is the start of an object or array, the tokens up to and including the
+     * matching end are skipped; if it is an object key, the key and its value are skipped.  If the next token is the end
+     * of the enclosing object or array, there is no value to skip, and that token will be returned by the next call to
+     * {@link #nextToken()}.
+     *
+     * <p>If more input is needed before the value is complete, this function returns {@code false}; when more input
+     * has been supplied, it should be called again to continue skipping.</p>
+     *
+     * @return  {@code true} if the value has been skipped, {@code false} if more input is needed
+     * @throws  JSONException   if the JSON is not valid
+     */
+    public boolean skipValue() {
+        if (!skipping) {
+            skipping = true;
+            skipDepth = parser.depth;
+        }
+        while (true) {
+            JSONToken next = nextToken();
+            switch (next) {
+                case NEED_MORE_INPUT:
+                    return false;
+                case START_OBJECT:
+                case START_ARRAY:
+                case KEY:
+                    break;
+                case END_OBJECT:
+                case END_ARRAY:
+                    if (parser.depth < skipDepth) {
+                        pushedBack = true;
+                        skipping = false;
+                        return true;
+                    }
+                    // drop through
+                default:
+                    if (parser.depth == skipDepth) {
+                        skipping = false;
+                        return true;
+                    }
+            }
+        }
+    }
+
+    /**
+     * Get the value of a {@link JSONToken#KEY} or {@link JSONToken#STRING} token as a {@link String}.
+     *
+     * @return  the string
+     * @throws  JSONException   if the current token is not a key or string
+     */
+    public String getString() {
+        return getStringChars().toString();
+    }
+
+    /**
+     * Get the value of a {@link JSONToken#KEY} or {@link JSONToken#STRING} token as a {@link CharSequence}, without
+     * allocating a {@link String}.  The characters are valid only until the next call to {@link #nextToken()}.
+     *
+     * @return  the characters of the string
+     * @throws  JSONException   if the current token is not a key or string
+     */
+    public CharSequence getStringChars() {
+        if (token != JSONToken.KEY && token != JSONToken.STRING)
+            throw new JSONException("Current token is not a string");
+        return parser.stringBuilder.getChars();
+    }
+
+    /**
+     * Get the characters of a {@link JSONToken#NUMBER} token, exactly as they appeared in the JSON.  The characters are
+     * valid only until the next call to {@link #nextToken()}.
+     *
+     * @return  the characters of the number
+     * @throws  JSONException   if the current token is not a number
+     */
+    public CharSequence getNumberChars() {
+        if (token != JSONToken.NUMBER)
+            throw new JSONException("Current token is not a number");
+        return parser.numberBuilder.getChars();
+    }
+
+    /**
+     * Get the value of a {@link JSONToken#NUMBER} token as a {@code long}.
+     *
+     * @return  the value
+     * @throws  JSONException   if the current token is not a number, or the number is not an integer in the range of
+     *                          a {@code long}
+     */
+    public long getLong() {
+        CharSequence number = getNumberChars();
+        int n = number.length();
+        boolean negative = number.charAt(0) == '-';
+        long result = 0;
+        for (int i = negative ? 1 : 0; i < n; i++) {
+            char ch = number.charAt(i);
+            if (ch < '0' || ch > '9')
+                throw new JSONException("JSON number is not an integer");
+            // accumulate as a negative value, to allow for Long.MIN_VALUE
+            if (result < Long.MIN_VALUE / 10)
+                throw new JSONException("JSON number too large for long");
+            result *= 10;
+            int digit = ch - '0';
+            if (result < Long.MIN_VALUE + digit)
+                throw new JSONException("JSON number too large for long");
+            result -= digit;
+        }
+        if (negative)
+            return result;
+        if (result == Long.MIN_VALUE)
+            throw new JSONException("JSON number too large for long");
+        return -result;
+    }
+
+    /**
+     * Get the value of a {@link JSONToken#NUMBER} token as an {@code int}.
+     *
+     * @return  the value
+     * @throws  JSONException   if the current token is not a number, or the number is not an integer in the range of
+     *                          an {@code int}
+     */
+    public int getInt() {
+        long value = getLong();
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE)
+            throw new JSONException("JSON number too large for int");
+        return (int)value;
+    }
+
+    /**
+     * Get the value of a {@link JSONToken#NUMBER} token as a {@code double}, correctly rounded.
+     *
+     * @return  the value
+     * @throws  JSONException   if the current token is not a number, or the number is too large for a {@code double}
+     */
+    public double getDouble() {
+        if (token != JSONToken.NUMBER)
+            throw new JSONException("Current token is not a number");
+        return parser.numberBuilder.doubleValue();
+    }
+
+    /**
+     * Get the value of a {@link JSONToken#NUMBER} token as a {@link BigDecimal}.
+     *
+     * @return  the value
+     * @throws  JSONException   if the current token is not a number
+     */
+    public BigDecimal getBigDecimal() {
+        return new BigDecimal(getNumberChars().toString());
+    }
+
+    /**
+     * Get the value of a {@link JSONToken#TRUE} or {@link JSONToken#FALSE} token.
+     *
+     * @return  the value
+     * @throws  JSONException   if the current token is not {@code true} or {@code false}
+     */
+    public boolean getBoolean() {
+        if (token == JSONToken.TRUE)
+            return true;
+        if (token == JSONToken.FALSE)
+            return false;
+        throw new JSONException("Current token is not a boolean");
+    }
+
+    /**
+     * Supply a block of characters.
+     *
+     * @param   cs      the characters
+     * @throws  IllegalStateException   if the parser reads from a {@link Reader}, or the end of input has been signalled
+     */
+    public void acceptChars(CharSequence cs) {
+        acceptChars(cs, 0, cs.length());
+    }
+
+    /**
+     * Supply a subsequence of a {@link CharSequence}.  The characters are copied, so the caller may re-use the
+     * {@link CharSequence} after the call.
+     *
+     * @param   cs      the characters
+     * @param   start   the index of the first character
+     * @param   end     the index after the last character
+     * @throws  IllegalStateException   if the parser reads from a {@link Reader}, or the end of input has been signalled
+     */
+    public void acceptChars(CharSequence cs, int start, int end) {
+        checkInputAllowed();
+        if (!started && start < end) {
+            started = true;
+            if (cs.charAt(start) == InputAdapter.BOM)
+                start++;
+        }
+        int n = end - start;
+        ensureSpace(n);
+        for (int i = start; i < end; i++)
+            buffer[limit++] = cs.charAt(i);
+    }
+
+    /**
+     * Supply a portion of a {@code char} array.  The characters are copied, so the caller may re-use the array after
+     * the call.
+     *
+     * @param   buf     the array
+     * @param   off     the offset of the first character
+     * @param   len     the number of characters
+     * @throws  IllegalStateException   if the parser reads from a {@link Reader}, or the end of input has been signalled
+     */
+    public void acceptChars(char[] buf, int off, int len) {
+        checkInputAllowed();
+        if (!started && len > 0) {
+            started = true;
+            if (buf[off] == InputAdapter.BOM) {
+                off++;
+                len--;
+            }
+        }
+        ensureSpace(len);
+        System.arraycopy(buf, off, buffer, limit, len);
+        limit += len;
+    }
+
+    /**
+     * Supply a block of UTF-8 encoded bytes; a multi-byte sequence may be split across successive blocks.
+     *
+     * @param   bytes   the byte array
+     * @param   off     the offset of the first byte
+     * @param   len     the number of bytes
+     * @throws  JSONException           if the bytes are not valid UTF-8
+     * @throws  IllegalStateException   if the parser reads from a {@link Reader}, or the end of input has been signalled
+     */
+    public void acceptBytes(byte[] bytes, int off, int len) {
+        checkInputAllowed();
+        input.acceptBytes(bytes, off, len);
+    }
+
+    /**
+     * Supply the remaining UTF-8 encoded bytes in a {@link ByteBuffer}; the position of the buffer is advanced to its
+     * limit.
+     *
+     * @param   buffer  the buffer
+     * @throws  JSONException           if the bytes are not valid UTF-8
+     * @throws  IllegalStateException   if the parser reads from a {@link Reader}, or the end of input has been signalled
+     */
+    public void acceptBytes(ByteBuffer buffer) {
+        checkInputAllowed();
+        input.acceptBytes(buffer);
+    }
+
+    /**
+     * Signal the end of the input supplied by the {@code acceptChars()} or {@code acceptBytes()} functions.  Any
+     * remaining tokens may then be read by {@link #nextToken()}, which will return {@link JSONToken#END_DOCUMENT}
+     * (rather than {@link JSONToken#NEED_MORE_INPUT}) when they are exhausted.
+     *
+     * @throws  JSONException   if the bytes supplied end with an incomplete UTF-8 sequence
+     */
+    public void close() {
+        input.close();
+        inputEnded = true;
+    }
+
+    /**
+     * Reset the parser so that it may be used to parse another document (supplied by the {@code acceptChars()} or
+     * {@code acceptBytes()} functions).  Any unread input is discarded.
+     */
+    public void reset() {
+        parser.reset();
+        input.reset();
+        position = 0;
+        limit = 0;
+        started = false;
+        inputEnded = false;
+        parserClosed = false;
+        token = null;
+        pushedBack = false;
+        skipping = false;
+    }
+
+    private void checkInputAllowed() {
+        if (reader != null)
+            throw new IllegalStateException("JSONTokenReader is reading from a Reader");
+        if (inputEnded)
+            throw new IllegalStateException("JSONTokenReader input has ended");
+    }
+
+    private void ensureSpace(int n) {
+        if (position == limit) {
+            position = 0;
+            limit = 0;
+        }
+        if (limit + n > buffer.length) {
+            int remaining = limit - position;
+            if (remaining + n <= buffer.length)
+                System.arraycopy(buffer, position, buffer, 0, remaining);
+            else {
+                char[] newBuffer = new char[Math.max(buffer.length * 2, remaining + n)];
+                System.arraycopy(buffer, position, newBuffer, 0, remaining);
+                setBuffer(newBuffer);
+            }
+            position = 0;
+            limit = remaining;
+        }
+    }
+
+    private void setBuffer(char[] buffer) {
+        this.buffer = buffer;
+        chars = CharBuffer.wrap(buffer);
+    }
+
+    private void readInput() {
+        try {
+            int n = reader.read(buffer, 0, buffer.length);
+            if (n < 0) {
+                inputEnded = true;
+                return;
+            }
+            position = 0;
+            limit = n;
+            if (!started && n > 0) {
+                started = true;
+                if (buffer[0] == InputAdapter.BOM)
+                    position = 1;
+            }
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private class TokenParser extends JSONStackParser {
+
+        TokenParser(JSONParseContext context) {
+            super(context);
+        }
+
+        private void setToken(JSONToken newToken) {
+            token = newToken;
+            suspend();
+        }
+
+        @Override
+        void startObject() {
+            setToken(JSONToken.START_OBJECT);
+        }
+
+        @Override
+        void key(CharSequence key) {
+            setToken(JSONToken.KEY);
+        }
+
+        @Override
+        void endObject() {
+            setToken(JSONToken.END_OBJECT);
+        }
+
+        @Override
+        void startArray() {
+            setToken(JSONToken.START_ARRAY);
+        }
+
+        @Override
+        void endArray() {
+            setToken(JSONToken.END_ARRAY);
+        }
+
+        @Override
+        void scalarValue(JSONBuilder scalar) {
+            if (scalar == stringBuilder)
+                setToken(JSONToken.STRING);
+            else if (scalar == numberBuilder)
+                setToken(JSONToken.NUMBER);
+            else if (scalar == trueBuilder)
+                setToken(JSONToken.TRUE);
+            else if (scalar == falseBuilder)
+                setToken(JSONToken.FALSE);
+            else
+                setToken(JSONToken.NULL);
+        }
+
+    }
+
+}
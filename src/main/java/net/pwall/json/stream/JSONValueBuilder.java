@@ -2,7 +2,7 @@
  * @(#) JSONValueBuilder.kt
  *
  * json-stream JSON Streaming library for Java
- * Copyright (c) 2020 Peter Wall
+ * Copyright (c) 2020, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -25,15 +25,20 @@
 
 package net.pwall.json.stream;
 
-import net.pwall.json.JSONBoolean;
 import net.pwall.json.JSONException;
 import net.pwall.json.JSONValue;
 
 public class JSONValueBuilder implements JSONBuilder {
 
+    private final JSONParseContext context;
     private JSONBuilder delegate;
 
     public JSONValueBuilder() {
+        this(new JSONParseContext());
+    }
+
+    public JSONValueBuilder(JSONParseContext context) {
+        this.context = context;
         delegate = null;
     }
 
@@ -54,19 +59,19 @@ public class JSONValueBuilder implements JSONBuilder {
         if (delegate == null) {
             if (!JSONBuilder.isWhitespace(ch)) {
                 if (ch == '{')
-                    delegate = new JSONObjectBuilder();
+                    delegate = context.objectBuilder();
                 else if (ch == '[')
-                    delegate = new JSONArrayBuilder();
+                    delegate = context.arrayBuilder();
                 else if (ch == '"')
-                    delegate = new JSONStringBuilder();
+                    delegate = context.stringBuilder();
                 else if (ch == '-' || ch >= '0' && ch <= '9')
-                    delegate = new JSONNumberBuilder((char)ch);
+                    delegate = context.numberBuilder((char)ch);
                 else if (ch == 't')
-                    delegate = new JSONKeywordBuilder("true", JSONBoolean.TRUE);
+                    delegate = context.trueBuilder();
                 else if (ch == 'f')
-                    delegate = new JSONKeywordBuilder("false", JSONBoolean.FALSE);
+                    delegate = context.falseBuilder();
                 else if (ch == 'n')
-                    delegate = new JSONKeywordBuilder("null", null);
+                    delegate = context.nullBuilder();
                 else
                     throw new JSONException("Illegal syntax in JSON");
             }
@@ -79,6 +84,35 @@ public class JSONValueBuilder implements JSONBuilder {
         return delegate.acceptChar(ch);
     }
 
+    @Override
+    public int acceptChars(CharSequence cs, int start, int end) {
+        int i = start;
+        while (delegate == null) {
+            if (i == end)
+                return end;
+            context.setIndex(i);
+            acceptChar(cs.charAt(i++));
+        }
+        if (delegate.isComplete()) {
+            while (i < end)
+                JSONBuilder.checkWhitespace(cs.charAt(i++));
+            return end;
+        }
+        return delegate.acceptChars(cs, i, end);
+    }
+
+    JSONParseContext getContext() {
+        return context;
+    }
+
+    @Override
+    public void reset() {
+        if (delegate != null) {
+            context.release(delegate);
+            delegate = null;
+        }
+    }
+
     @Override
     public void close() {
         if (delegate != null) {
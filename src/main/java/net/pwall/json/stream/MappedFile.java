@@ -0,0 +1,69 @@
+/*
+ * @(#) MappedFile.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Access to the content of a file by memory-mapping.  A single mapping is limited to 2GB, so larger files are mapped
+ * in successive windows.
+ *
+ * @author  Peter Wall
+ */
+final class MappedFile {
+
+    /** The maximum size of a mapped window. */
+    static final int windowSize = 1 << 30;
+
+    private MappedFile() {
+    }
+
+    /**
+     * Map a file in successive windows, passing each window to a consumer.  The windows are contiguous and do not
+     * overlap, so a window boundary may fall anywhere (including within a multi-byte UTF-8 sequence).
+     *
+     * @param   path        the path of the file
+     * @param   consumer    the consumer of each window
+     * @throws  IOException if an error occurs opening or mapping the file
+     */
+    static void forEachWindow(Path path, Consumer<ByteBuffer> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long start = 0;
+            while (start < size) {
+                long length = Math.min(windowSize, size - start);
+                consumer.accept(channel.map(FileChannel.MapMode.READ_ONLY, start, length));
+                start += length;
+            }
+        }
+    }
+
+}
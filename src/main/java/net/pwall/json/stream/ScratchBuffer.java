@@ -0,0 +1,113 @@
+/*
+ * @(#) ScratchBuffer.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+/**
+ * A growable buffer of characters, used to accumulate the content of strings.  A single buffer is shared by all of the
+ * {@link JSONStringBuilder} instances belonging to a {@link JSONParseContext} (only one string can be in progress at
+ * any time), so that the buffer grows to the size of the longest string and is then re-used for every string, and the
+ * only allocation for each string is the final {@link String}, of exactly the required length.
+ *
+ * <p>Characters are copied into the buffer in bulk where possible: from a {@link String} or an array-backed
+ * {@link CharBuffer} by an array copy, and from a {@link ByteCharSequence} (a run of ASCII bytes from the UTF-8 input
+ * path) by a simple widening loop over the byte array.</p>
+ *
+ * @author  Peter Wall
+ */
+final class ScratchBuffer implements CharSequence {
+
+    private static final int initialSize = 64;
+
+    private char[] chars;
+    private int length;
+
+    ScratchBuffer() {
+        chars = new char[initialSize];
+        length = 0;
+    }
+
+    void clear() {
+        length = 0;
+    }
+
+    void append(char ch) {
+        if (length == chars.length)
+            grow(length + 1);
+        chars[length++] = ch;
+    }
+
+    void append(CharSequence cs, int start, int end) {
+        int n = end - start;
+        if (length + n > chars.length)
+            grow(length + n);
+        if (cs instanceof ByteCharSequence)
+            ((ByteCharSequence)cs).getChars(start, end, chars, length);
+        else if (cs instanceof String)
+            ((String)cs).getChars(start, end, chars, length);
+        else if (cs instanceof CharBuffer && ((CharBuffer)cs).hasArray()) {
+            CharBuffer charBuffer = (CharBuffer)cs;
+            System.arraycopy(charBuffer.array(), charBuffer.arrayOffset() + charBuffer.position() + start, chars,
+                    length, n);
+        }
+        else {
+            for (int i = start, j = length; i < end; i++, j++)
+                chars[j] = cs.charAt(i);
+        }
+        length += n;
+    }
+
+    private void grow(int minimum) {
+        chars = Arrays.copyOf(chars, Math.max(minimum, chars.length * 2));
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index >= length)
+            throw new StringIndexOutOfBoundsException(index);
+        return chars[index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end)
+            throw new StringIndexOutOfBoundsException(start);
+        return new String(chars, start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        return new String(chars, 0, length);
+    }
+
+}
@@ -0,0 +1,205 @@
+/*
+ * @(#) UTF8Decoder.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+
+import net.pwall.json.JSONException;
+
+/**
+ * A UTF-8 front end for the byte-oriented entry points of the parsers and pipelines (see {@link InputAdapter}).
+ * Since all of the syntactic elements of JSON fall within the ASCII subset, runs of ASCII bytes are passed on
+ * undecoded, as a {@link CharSequence} view of the original bytes; only multi-byte sequences (which can validly occur
+ * only inside strings) are decoded.  A multi-byte sequence may be split across blocks of input.
+ *
+ * @author  Peter Wall
+ */
+abstract class UTF8Decoder {
+
+    private static final int bufferSize = 4096;
+
+    private final ByteCharSequence ascii;
+    private final char[] chars;
+    private final CharBuffer charBuffer;
+    private byte[] scratch;
+    private int needed;
+    private int length;
+    private int codePoint;
+
+    UTF8Decoder() {
+        ascii = new ByteCharSequence();
+        chars = new char[bufferSize];
+        charBuffer = CharBuffer.wrap(chars);
+        needed = 0;
+    }
+
+    /**
+     * Accept a run of characters (the destination of all decoded input).
+     *
+     * @param   cs      the characters
+     * @param   start   the index of the first character
+     * @param   end     the index after the last character
+     */
+    abstract void acceptChars(CharSequence cs, int start, int end);
+
+    /**
+     * Accept a block of bytes.
+     *
+     * @param   bytes   the byte array
+     * @param   off     the offset of the first byte
+     * @param   len     the number of bytes
+     */
+    void accept(byte[] bytes, int off, int len) {
+        int i = off;
+        int end = off + len;
+        while (i < end && needed > 0)
+            continuation(bytes[i++]);
+        while (i < end) {
+            int runStart = i;
+            i = ascii.findNonASCII(bytes, i, end);
+            if (i > runStart) {
+                ascii.set(bytes, runStart, i - runStart);
+                acceptChars(ascii, 0, i - runStart);
+            }
+            if (i < end)
+                i = decode(bytes, i, end);
+        }
+    }
+
+    /**
+     * Accept the remaining bytes of a {@link ByteBuffer}.  The position of the buffer is advanced to its limit.
+     *
+     * @param   buffer  the buffer
+     */
+    void accept(ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            accept(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            buffer.position(buffer.limit());
+        }
+        else {
+            if (scratch == null)
+                scratch = new byte[bufferSize];
+            while (buffer.hasRemaining()) {
+                int n = Math.min(buffer.remaining(), bufferSize);
+                buffer.get(scratch, 0, n);
+                accept(scratch, 0, n);
+            }
+        }
+    }
+
+    /**
+     * Reset the decoder, discarding any incomplete multi-byte sequence.
+     */
+    void reset() {
+        needed = 0;
+    }
+
+    /**
+     * Close the decoder.
+     *
+     * @throws  JSONException if the input ended part way through a multi-byte sequence
+     */
+    void close() {
+        if (needed > 0)
+            throw new JSONException("Incomplete UTF-8 sequence in JSON");
+    }
+
+    /**
+     * Decode a run of non-ASCII characters into the character buffer, and pass them on.
+     *
+     * @param   bytes   the byte array
+     * @param   start   the index of the first (non-ASCII) byte
+     * @param   end     the index after the last byte
+     * @return  the index of the next byte to be processed
+     */
+    private int decode(byte[] bytes, int start, int end) {
+        int i = start;
+        int n = 0;
+        while (i < end && bytes[i] < 0) {
+            if (n >= bufferSize - 1) {
+                acceptChars(charBuffer, 0, n);
+                n = 0;
+            }
+            int b = bytes[i++] & 0xFF;
+            if (b >= 0xC2 && b <= 0xDF)
+                lead(b & 0x1F, 1);
+            else if (b >= 0xE0 && b <= 0xEF)
+                lead(b & 0x0F, 2);
+            else if (b >= 0xF0 && b <= 0xF4)
+                lead(b & 0x07, 3);
+            else
+                throw new JSONException("Illegal UTF-8 sequence in JSON");
+            if (i + needed > end) {
+                // sequence is split across blocks - flush what we have and complete it later
+                if (n > 0)
+                    acceptChars(charBuffer, 0, n);
+                while (i < end)
+                    continuation(bytes[i++]);
+                return end;
+            }
+            while (needed > 0)
+                addContinuation(bytes[i++]);
+            n = store(n);
+        }
+        if (n > 0)
+            acceptChars(charBuffer, 0, n);
+        return i;
+    }
+
+    private void lead(int bits, int count) {
+        codePoint = bits;
+        needed = count;
+        length = count;
+    }
+
+    private void continuation(byte b) {
+        addContinuation(b);
+        if (needed == 0)
+            acceptChars(charBuffer, 0, store(0));
+    }
+
+    private void addContinuation(byte b) {
+        if ((b & 0xC0) != 0x80)
+            throw new JSONException("Illegal UTF-8 sequence in JSON");
+        codePoint = (codePoint << 6) | (b & 0x3F);
+        needed--;
+    }
+
+    private int store(int n) {
+        if (length == 2 && codePoint < 0x800 || length == 3 && codePoint < 0x10000 || codePoint > 0x10FFFF ||
+                Character.isSurrogate((char)codePoint) && Character.isBmpCodePoint(codePoint))
+            throw new JSONException("Illegal UTF-8 sequence in JSON");
+        if (Character.isBmpCodePoint(codePoint))
+            chars[n++] = (char)codePoint;
+        else {
+            chars[n++] = Character.highSurrogate(codePoint);
+            chars[n++] = Character.lowSurrogate(codePoint);
+        }
+        return n;
+    }
+
+}
@@ -0,0 +1,253 @@
+/*
+ * @(#) JSONArrayPublisherTest.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Pipe;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import net.pwall.json.JSONException;
+import net.pwall.json.JSONInteger;
+import net.pwall.json.JSONObject;
+import net.pwall.json.JSONString;
+import net.pwall.json.JSONValue;
+import net.pwall.json.stream.JSONArrayPublisher;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JSONArrayPublisherTest {
+
+    @Test
+    public void shouldPublishOnlyRequestedElements() {
+        CountingInputStream input = new CountingInputStream(createArray(100000));
+        TestSubscriber subscriber = new TestSubscriber(0);
+        new JSONArrayPublisher(input).subscribe(subscriber);
+        assertEquals(0, input.count);
+        subscriber.subscription.request(3);
+        assertEquals(3, subscriber.values.size());
+        assertEquals(2, ((JSONObject)subscriber.values.get(2)).getInt("id"));
+        assertTrue(input.count <= 8192);
+        subscriber.subscription.request(1000);
+        assertEquals(1003, subscriber.values.size());
+        assertTrue(input.count < 100000);
+        subscriber.subscription.cancel();
+        assertTrue(input.closed);
+        subscriber.subscription.request(10);
+        assertEquals(1003, subscriber.values.size());
+        assertFalse(subscriber.complete);
+    }
+
+    @Test
+    public void shouldPublishAllElementsWhenRequestedOneAtATime() {
+        TestSubscriber subscriber = new TestSubscriber(1);
+        new JSONArrayPublisher(new StringReader("[\"a\", null, 123, {\"b\":[]}]")).subscribe(subscriber);
+        assertTrue(subscriber.complete);
+        assertNull(subscriber.error);
+        assertEquals(4, subscriber.values.size());
+        assertEquals(new JSONString("a"), subscriber.values.get(0));
+        assertNull(subscriber.values.get(1));
+        assertEquals(new JSONInteger(123), subscriber.values.get(2));
+    }
+
+    @Test
+    public void shouldCompleteEmptyArray() {
+        TestSubscriber subscriber = new TestSubscriber(1);
+        CountingInputStream input = new CountingInputStream(" [ ] ".getBytes(StandardCharsets.UTF_8));
+        new JSONArrayPublisher(input).subscribe(subscriber);
+        assertTrue(subscriber.complete);
+        assertEquals(0, subscriber.values.size());
+        assertTrue(input.closed);
+    }
+
+    @Test
+    public void shouldReportErrorAfterValidElements() {
+        TestSubscriber subscriber = new TestSubscriber(Long.MAX_VALUE);
+        new JSONArrayPublisher(new StringReader("[1,2,}")).subscribe(subscriber);
+        assertEquals(2, subscriber.values.size());
+        assertFalse(subscriber.complete);
+        assertTrue(subscriber.error instanceof JSONException);
+        assertEquals("Illegal syntax in JSON", subscriber.error.getMessage());
+    }
+
+    @Test
+    public void shouldReportIncompleteArray() {
+        TestSubscriber subscriber = new TestSubscriber(10);
+        new JSONArrayPublisher(new StringReader("[1,2")).subscribe(subscriber);
+        assertTrue(subscriber.error instanceof JSONException);
+        assertEquals("Unexpected end of data in JSON array", subscriber.error.getMessage());
+    }
+
+    @Test
+    public void shouldRejectIllegalRequest() {
+        TestSubscriber subscriber = new TestSubscriber(0);
+        new JSONArrayPublisher(new StringReader("[1]")).subscribe(subscriber);
+        subscriber.subscription.request(0);
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+    }
+
+    @Test
+    public void shouldRejectSecondSubscriber() {
+        JSONArrayPublisher publisher = new JSONArrayPublisher(new StringReader("[1]"));
+        TestSubscriber first = new TestSubscriber(0);
+        publisher.subscribe(first);
+        TestSubscriber second = new TestSubscriber(1);
+        publisher.subscribe(second);
+        assertTrue(second.error instanceof IllegalStateException);
+        first.subscription.request(5);
+        assertEquals(1, first.values.size());
+        assertTrue(first.complete);
+    }
+
+    @Test
+    public void shouldCancelWhileReadIsBlocked() throws Exception {
+        Pipe pipe = Pipe.open();
+        pipe.sink().write(ByteBuffer.wrap("[1,".getBytes(StandardCharsets.UTF_8)));
+        JSONArrayPublisher publisher = new JSONArrayPublisher(pipe.source());
+        CountDownLatch received = new CountDownLatch(1);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        AtomicReference<JSONArrayPublisher.Subscription> subscription = new AtomicReference<>();
+        publisher.subscribe(new JSONArrayPublisher.Subscriber() {
+            @Override
+            public void onSubscribe(JSONArrayPublisher.Subscription s) {
+                subscription.set(s);
+            }
+            @Override
+            public void onNext(JSONValue value) {
+                received.countDown();
+            }
+            @Override
+            public void onError(Throwable throwable) {
+                error.set(throwable);
+            }
+            @Override
+            public void onComplete() {
+                error.set(new IllegalStateException("Unexpected completion"));
+            }
+        });
+        // the request blocks reading the pipe after the first element
+        Thread thread = new Thread(() -> subscription.get().request(5));
+        thread.start();
+        assertTrue(received.await(5, TimeUnit.SECONDS));
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> subscription.get().cancel());
+        thread.join(5000);
+        assertFalse(thread.isAlive());
+        assertNull(error.get());
+        pipe.sink().close();
+    }
+
+    private static byte[] createArray(int count) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < count; i++)
+            sb.append(i > 0 ? "," : "").append("{\"id\":").append(i).append(",\"name\":\"item ").append(i).append("\"}");
+        return sb.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static class TestSubscriber implements JSONArrayPublisher.Subscriber {
+
+        private final long batch;
+        private final List<JSONValue> values = new ArrayList<>();
+        private JSONArrayPublisher.Subscription subscription;
+        private boolean complete;
+        private Throwable error;
+
+        TestSubscriber(long batch) {
+            this.batch = batch;
+        }
+
+        @Override
+        public void onSubscribe(JSONArrayPublisher.Subscription subscription) {
+            this.subscription = subscription;
+            if (batch > 0)
+                subscription.request(batch);
+        }
+
+        @Override
+        public void onNext(JSONValue value) {
+            values.add(value);
+            if (batch == 1)
+                subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            complete = true;
+        }
+
+    }
+
+    private static class CountingInputStream extends InputStream {
+
+        private final ByteArrayInputStream delegate;
+        private int count;
+        private boolean closed;
+
+        CountingInputStream(byte[] bytes) {
+            delegate = new ByteArrayInputStream(bytes);
+        }
+
+        @Override
+        public int read() {
+            int b = delegate.read();
+            if (b >= 0)
+                count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            int n = delegate.read(b, off, len);
+            if (n > 0)
+                count += n;
+            return n;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+    }
+
+}
@@ -0,0 +1,209 @@
+/*
+ * @(#) JSONArrayStreamTest.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import net.pwall.json.JSONException;
+import net.pwall.json.JSONInteger;
+import net.pwall.json.JSONObject;
+import net.pwall.json.JSONString;
+import net.pwall.json.JSONValue;
+import net.pwall.json.stream.JSONArrayPipeline;
+import net.pwall.pipeline.ListAcceptor;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JSONArrayStreamTest {
+
+    private static final int count = 20000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void shouldReadOnlyEnoughInputForFindFirst() {
+        CountingReader reader = new CountingReader(createArray(count));
+        try (Stream<JSONValue> stream = JSONArrayPipeline.stream(reader)) {
+            Optional<JSONValue> first = stream.filter(v -> ((JSONObject)v).getInt("id") == 10).findFirst();
+            assertTrue(first.isPresent());
+            assertTrue(reader.count <= 8192);
+        }
+        assertTrue(reader.closed);
+    }
+
+    @Test
+    public void shouldStreamFromReaderAndInputStream() {
+        String json = createArray(count);
+        List<JSONValue> expected = parseArray(json);
+        assertEquals(expected, JSONArrayPipeline.stream(new StringReader(json)).collect(Collectors.toList()));
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        assertEquals(expected, JSONArrayPipeline.stream(new ByteArrayInputStream(bytes)).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void shouldStreamFromBytes() {
+        String json = "\uFEFF [ \"a,b]\" , \"c\\\"]\\\\\", null, {\"d\":\"}\"}, [\"[\",\"{\"] , \"\u00E9\" ] ";
+        List<JSONValue> list = JSONArrayPipeline.stream(json.getBytes(StandardCharsets.UTF_8))
+                .collect(Collectors.toList());
+        assertEquals(parseArray(json.substring(1)), list);
+        assertEquals(6, list.size());
+        assertNull(list.get(2));
+        assertEquals(new JSONString("\u00E9"), list.get(5));
+    }
+
+    @Test
+    public void shouldStreamInParallel() {
+        String json = createArray(count);
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        assertNotNull(JSONArrayPipeline.stream(bytes).spliterator().trySplit());
+        List<JSONValue> list = JSONArrayPipeline.stream(bytes).parallel().collect(Collectors.toList());
+        assertEquals(parseArray(json), list);
+        long sum = JSONArrayPipeline.stream(bytes).parallel().mapToLong(v -> ((JSONObject)v).getInt("id")).sum();
+        assertEquals((long)count * (count - 1) / 2, sum);
+    }
+
+    @Test
+    public void shouldSplitAtElementBoundaries() {
+        byte[] bytes = createArray(count).getBytes(StandardCharsets.UTF_8);
+        Spliterator<JSONValue> second = JSONArrayPipeline.stream(bytes).spliterator();
+        Spliterator<JSONValue> first = second.trySplit();
+        assertNotNull(first);
+        Spliterator<JSONValue> third = second.trySplit();
+        assertNotNull(third);
+        int[] counts = new int[3];
+        first.forEachRemaining(v -> counts[0]++);
+        third.forEachRemaining(v -> counts[1]++);
+        second.forEachRemaining(v -> counts[2]++);
+        assertEquals(count, counts[0] + counts[1] + counts[2]);
+        assertTrue(counts[0] > 0 && counts[1] > 0 && counts[2] > 0);
+    }
+
+    @Test
+    public void shouldStreamFromFile() throws IOException {
+        String json = createArray(count);
+        Path path = tempDir.resolve("test.json");
+        Files.write(path, json.getBytes(StandardCharsets.UTF_8));
+        try (Stream<JSONValue> stream = JSONArrayPipeline.stream(path)) {
+            assertEquals(parseArray(json), stream.parallel().collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void shouldStreamEmptyArray() {
+        for (String json : new String[] { "[]", " [ ] ", "[\n]" }) {
+            assertEquals(0, JSONArrayPipeline.stream(json.getBytes(StandardCharsets.UTF_8)).count(), json);
+            assertEquals(0, JSONArrayPipeline.stream(new StringReader(json)).count(), json);
+        }
+    }
+
+    @Test
+    public void shouldLeaveBufferPositionUnchanged() {
+        ByteBuffer buffer = ByteBuffer.wrap("[1,2,3]".getBytes(StandardCharsets.UTF_8));
+        assertEquals(Arrays.asList(new JSONInteger(1), new JSONInteger(2), new JSONInteger(3)),
+                JSONArrayPipeline.stream(buffer).collect(Collectors.toList()));
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    public void shouldReportErrors() {
+        checkError("{\"a\":1}", "Pipeline must contain array");
+        checkError("  ", "Pipeline must contain array");
+        checkError("[1,2", "Unexpected end of data in JSON array");
+        checkError("[1,\"2]", "Unexpected end of data in JSON array");
+        checkError("[1,,2]", "Illegal syntax in JSON");
+        checkError("[1,2,]", "Illegal syntax in JSON");
+        checkError("[1,2]x", "Unexpected characters at end of JSON");
+        checkError("[1,2}", "Illegal syntax in JSON array");
+        checkError("[1,{\"a\"}]", "Illegal syntax in JSON object");
+    }
+
+    private static void checkError(String json, String message) {
+        JSONException exception = assertThrows(JSONException.class,
+                () -> JSONArrayPipeline.stream(json.getBytes(StandardCharsets.UTF_8)).count(), json);
+        assertEquals(message, exception.getMessage(), json);
+    }
+
+    private static String createArray(int n) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < n; i++) {
+            sb.append(i > 0 ? ",\n" : "").append("{\"id\":").append(i).append(",\"name\":\"item \\u00e9 ").append(i)
+                    .append("\",\"tags\":[\"\u00E9\u2603\",\"a]b,c\"]}");
+        }
+        return sb.append(']').toString();
+    }
+
+    private static List<JSONValue> parseArray(String json) {
+        JSONArrayPipeline<List<JSONValue>> pipeline = new JSONArrayPipeline<>(new ListAcceptor<>());
+        pipeline.acceptChars(json);
+        pipeline.close();
+        return pipeline.getResult();
+    }
+
+    private static class CountingReader extends StringReader {
+
+        private int count;
+        private boolean closed;
+
+        CountingReader(String s) {
+            super(s);
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            int n = super.read(cbuf, off, len);
+            if (n > 0)
+                count += n;
+            return n;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            super.close();
+        }
+
+    }
+
+}
@@ -0,0 +1,178 @@
+/*
+ * @(#) JSONChannelReaderTest.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream.test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousServerSocketChannel;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.channels.Pipe;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import net.pwall.json.JSONException;
+import net.pwall.json.JSONInteger;
+import net.pwall.json.JSONString;
+import net.pwall.json.JSONValue;
+import net.pwall.json.stream.JSONArrayPipeline;
+import net.pwall.json.stream.JSONChannelReader;
+import net.pwall.json.stream.JSONSequencePipeline;
+import net.pwall.json.stream.JSONStream;
+import net.pwall.pipeline.ListAcceptor;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JSONChannelReaderTest {
+
+    private static final String json = "{\"name\":\"caf\u00E9 \u65E5\u672C \uD83D\uDE02!\",\"list\":[1,2.5,true,null]}";
+
+    @Test
+    public void shouldParseBuffersSplitAtEveryPosition() throws Exception {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        JSONValue expected = parseChars(json);
+        for (int i = 0; i <= bytes.length; i++) {
+            JSONChannelReader<JSONValue> reader = JSONChannelReader.of(new JSONStream());
+            reader.accept(ByteBuffer.wrap(bytes, 0, i));
+            assertFalse(reader.isDone());
+            reader.accept(ByteBuffer.wrap(bytes, i, bytes.length - i));
+            reader.end();
+            assertTrue(reader.isDone());
+            assertEquals(expected, reader.getFuture().get(), "split at " + i);
+        }
+    }
+
+    @Test
+    public void shouldCompleteExceptionallyOnError() {
+        JSONChannelReader<JSONValue> reader = JSONChannelReader.of(new JSONStream());
+        reader.accept(ByteBuffer.wrap("[1,]".getBytes(StandardCharsets.UTF_8)));
+        assertTrue(reader.isDone());
+        ByteBuffer more = ByteBuffer.wrap("2]".getBytes(StandardCharsets.UTF_8));
+        reader.accept(more);
+        assertEquals(more.limit(), more.position());
+        reader.end();
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> reader.getFuture().get());
+        assertTrue(exception.getCause() instanceof JSONException);
+        assertEquals("Illegal syntax in JSON", exception.getCause().getMessage());
+    }
+
+    @Test
+    public void shouldCompleteExceptionallyOnIncompleteInput() {
+        JSONChannelReader<JSONValue> reader = JSONChannelReader.of(new JSONStream());
+        reader.accept(ByteBuffer.wrap("{\"a\":".getBytes(StandardCharsets.UTF_8)));
+        reader.end();
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> reader.getFuture().get());
+        assertTrue(exception.getCause() instanceof JSONException);
+    }
+
+    @Test
+    public void shouldReadNonBlockingChannel() throws Exception {
+        byte[] bytes = "[\"\u00E9\u00E8\",123]".getBytes(StandardCharsets.UTF_8);
+        Pipe pipe = Pipe.open();
+        pipe.source().configureBlocking(false);
+        JSONChannelReader<List<JSONValue>> reader = JSONChannelReader.of(new JSONArrayPipeline<>(new ListAcceptor<>()));
+        assertFalse(reader.read(pipe.source()));
+        pipe.sink().write(ByteBuffer.wrap(bytes, 0, 2)); // splits the first UTF-8 sequence
+        assertFalse(reader.read(pipe.source()));
+        pipe.sink().write(ByteBuffer.wrap(bytes, 2, bytes.length - 2));
+        assertFalse(reader.read(pipe.source()));
+        pipe.sink().close();
+        assertTrue(reader.read(pipe.source()));
+        List<JSONValue> list = reader.getFuture().get();
+        assertEquals(2, list.size());
+        assertEquals(new JSONString("\u00E9\u00E8"), list.get(0));
+        assertEquals(new JSONInteger(123), list.get(1));
+        pipe.source().close();
+    }
+
+    @Test
+    public void shouldReadAsynchronousChannel() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 5000; i++)
+            sb.append("{\"id\":").append(i).append(",\"name\":\"\u00E9\u2603 ").append(i).append("\"}\n");
+        byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+        try (AsynchronousServerSocketChannel server = AsynchronousServerSocketChannel.open()) {
+            server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            try (AsynchronousSocketChannel client = AsynchronousSocketChannel.open()) {
+                client.connect(server.getLocalAddress()).get(10, TimeUnit.SECONDS);
+                try (AsynchronousSocketChannel accepted = server.accept().get(10, TimeUnit.SECONDS)) {
+                    JSONChannelReader<List<JSONValue>> reader =
+                            JSONChannelReader.of(new JSONSequencePipeline<>(new ListAcceptor<>()));
+                    reader.read(accepted);
+                    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                    while (buffer.hasRemaining())
+                        client.write(buffer).get(10, TimeUnit.SECONDS);
+                    client.shutdownOutput();
+                    List<JSONValue> list = reader.getFuture().get(10, TimeUnit.SECONDS);
+                    assertEquals(5000, list.size());
+                    assertEquals(parseChars("{\"id\":4999,\"name\":\"\u00E9\u2603 4999\"}"), list.get(4999));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldReportChannelError() {
+        JSONChannelReader<JSONValue> reader = JSONChannelReader.of(new JSONStream());
+        IOException exception = assertThrows(IOException.class, () -> reader.read(new FailingChannel()));
+        assertTrue(reader.getFuture().isCompletedExceptionally());
+        assertEquals("Connection reset", exception.getMessage());
+    }
+
+    private static JSONValue parseChars(String json) {
+        JSONStream stream = new JSONStream();
+        stream.acceptChars(json);
+        stream.close();
+        return stream.getResult();
+    }
+
+    private static class FailingChannel implements ReadableByteChannel {
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            throw new IOException("Connection reset");
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+
+    }
+
+}
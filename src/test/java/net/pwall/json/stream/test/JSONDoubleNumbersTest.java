@@ -0,0 +1,134 @@
+/*
+ * @(#) JSONDoubleNumbersTest.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream.test;
+
+import java.util.Random;
+
+import net.pwall.json.JSONArray;
+import net.pwall.json.JSONDecimal;
+import net.pwall.json.JSONDouble;
+import net.pwall.json.JSONException;
+import net.pwall.json.JSONInteger;
+import net.pwall.json.JSONValue;
+import net.pwall.json.stream.JSONFlatBuilder;
+import net.pwall.json.stream.JSONParseContext;
+import net.pwall.json.stream.JSONStream;
+import net.pwall.json.stream.JSONToken;
+import net.pwall.json.stream.JSONTokenReader;
+import net.pwall.json.stream.JSONValueBuilder;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JSONDoubleNumbersTest {
+
+    private static final String[] edgeCases = { "0.1", "-0.0", "0.0", "1e23", "1.7976931348623157e308",
+            "1.7976931348623158e308", "4.9e-324", "2.4703282292062328e-324", "2.4703282292062327e-324", "1e-400",
+            "2.2250738585072011e-308", "2.2250738585072014e-308", "9007199254740993.0", "9007199254740992.5",
+            "9999999999999999999.0", "18446744073709551615e2", "123456789012345678901234567890.5",
+            "1.00000000000000011102230246251565404236316680908203125",
+            "1.00000000000000011102230246251565404236316680908203124", "7.2057594037927933e16", "3.0e-44",
+            "0.000001", "-1.5E+10", "1E-5" };
+
+    @Test
+    public void shouldReturnDoubleValuesWhenSelected() {
+        JSONParseContext context = new JSONParseContext();
+        context.setDoubleNumbers(true);
+        String json = "[1.5,-2.5e-3,1E10,42,0]";
+        JSONArray expected = new JSONArray(new JSONDouble(1.5), new JSONDouble(-2.5e-3), new JSONDouble(1E10),
+                new JSONInteger(42), new JSONInteger(0));
+        assertEquals(expected, parse(new JSONStream(new JSONValueBuilder(context)), json));
+        assertEquals(expected, parse(new JSONStream(new JSONFlatBuilder(context)), json));
+    }
+
+    @Test
+    public void shouldReturnDecimalValuesByDefault() {
+        JSONValue result = parse(new JSONStream(), "[1.5]");
+        assertEquals(new JSONArray(new JSONDecimal("1.5")), result);
+    }
+
+    @Test
+    public void shouldConvertEdgeCasesCorrectly() {
+        for (String number : edgeCases)
+            assertEquals(Double.parseDouble(number), toDouble(number), number);
+    }
+
+    @Test
+    public void shouldConvertRandomNumbersCorrectly() {
+        Random random = new Random(271828);
+        for (int i = 0; i < 100000; i++) {
+            double value = Double.longBitsToDouble(random.nextLong() & 0x7FEFFFFFFFFFFFFFL);
+            String number = Double.toString(value);
+            assertEquals(value, toDouble(number), number);
+            StringBuilder sb = new StringBuilder();
+            sb.append(1 + random.nextInt(9));
+            int digits = random.nextInt(24);
+            for (int j = 0; j < digits; j++)
+                sb.append(random.nextInt(10));
+            sb.append('e').append(Math.min(random.nextInt(660) - 340, 307 - digits));
+            number = sb.toString();
+            assertEquals(Double.parseDouble(number), toDouble(number), number);
+        }
+    }
+
+    @Test
+    public void shouldRejectNumbersTooLargeForDouble() {
+        JSONParseContext context = new JSONParseContext();
+        context.setDoubleNumbers(true);
+        JSONException exception = assertThrows(JSONException.class,
+                () -> parse(new JSONStream(new JSONValueBuilder(context)), "1e400"));
+        assertEquals("JSON number too large for double", exception.getMessage());
+    }
+
+    @Test
+    public void shouldPreserveSignOfZero() {
+        double value = toDouble("-0.0");
+        assertTrue(1.0 / value < 0);
+    }
+
+    private static double toDouble(String number) {
+        JSONParseContext context = new JSONParseContext();
+        context.setDoubleNumbers(true);
+        JSONValue value = parse(new JSONStream(new JSONValueBuilder(context)), number);
+        JSONTokenReader reader = new JSONTokenReader();
+        reader.acceptChars(number);
+        reader.close();
+        assertEquals(JSONToken.NUMBER, reader.nextToken());
+        double result = reader.getDouble();
+        if (value instanceof JSONDouble)
+            assertEquals(((JSONDouble)value).getValue(), result, number);
+        return result;
+    }
+
+    private static JSONValue parse(JSONStream stream, String json) {
+        stream.acceptChars(json);
+        stream.close();
+        return stream.getResult();
+    }
+
+}
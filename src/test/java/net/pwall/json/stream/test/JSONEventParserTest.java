@@ -0,0 +1,318 @@
+/*
+ * @(#) JSONEventParserTest.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream.test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import net.pwall.json.JSONArray;
+import net.pwall.json.JSONBoolean;
+import net.pwall.json.JSONException;
+import net.pwall.json.JSONObject;
+import net.pwall.json.JSONString;
+import net.pwall.json.JSONValue;
+import net.pwall.json.stream.JSONEventHandler;
+import net.pwall.json.stream.JSONEventParser;
+import net.pwall.json.stream.JSONStream;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JSONEventParserTest {
+
+    private static final String[] validJSON = { "0", " 0 ", "-123", "12345678901", "1.5", "-2.5e-3",
+            "\"abc\"", "\"a\\\"b\\\\c\\u0041\\n\"", "true", "false", "null", " [ ] ", "[0,1,2]", "[[],[[]],{}]",
+            "{}", "{\"a\":1}", "{ \"a\" : [ true , false , null ] , \"b\" : { \"c\" : \"d\" } }",
+            "[{\"a\":[{\"b\":[1,2,{\"c\":-0.5}]}]},\"x\",99]", "{\"\\u00e9t\\u00e9\":\"\\u2603\"}" };
+
+    private static final String[] invalidJSON = { "abc", "[", "{", "[{}0]", "[],", "tru*e", "0.a", "{0}",
+            "{\"aaa\"}", "{\"aaa\":0,}", "\"a\\gb\"", "[1,]", "[,1]", "{\"a\":}", "[01]", "\"abc", "tru", "-", "",
+            "{\"a\" 1}", "[1 2]", "[\"a\":1]" };
+
+    private static final String[] trailingGarbage = { "123x", "123]", "-0}", "1.5,", "2e5[", "true x", "nullx",
+            "false]", "\"a\"x" };
+
+    @Test
+    public void shouldReportEventsInDocumentOrder() {
+        List<String> events = new ArrayList<>();
+        JSONEventParser parser = new JSONEventParser(new RecordingHandler(events));
+        parser.accept("{\"a\":[1,\"x\",true,false,null],\"b\":{}}");
+        parser.close();
+        assertTrue(parser.isComplete());
+        assertEquals("startObject,key:a,startArray,number:1,string:x,boolean:true,boolean:false,null,endArray," +
+                "key:b,startObject,endObject,endObject", String.join(",", events));
+    }
+
+    @Test
+    public void shouldReportNumberCharactersUnchanged() {
+        List<String> events = new ArrayList<>();
+        JSONEventParser parser = new JSONEventParser(new RecordingHandler(events));
+        parser.acceptChars("[-0.50,1E+10,12345678901234567890]");
+        parser.close();
+        assertEquals("startArray,number:-0.50,number:1E+10,number:12345678901234567890,endArray",
+                String.join(",", events));
+    }
+
+    @Test
+    public void shouldReportTopLevelNumberOnClose() {
+        List<String> events = new ArrayList<>();
+        JSONEventParser parser = new JSONEventParser(new RecordingHandler(events));
+        parser.acceptChars("123");
+        assertEquals(0, events.size());
+        parser.close();
+        assertEquals("number:123", String.join(",", events));
+    }
+
+    @Test
+    public void shouldGiveSameStructureAsJSONStream() {
+        for (String json : validJSON) {
+            JSONValue expected = parse(new JSONStream(), json);
+            for (int i = 0; i <= json.length(); i++) {
+                TreeHandler handler = new TreeHandler();
+                JSONEventParser parser = new JSONEventParser(handler);
+                parser.acceptChars(json, 0, i);
+                parser.acceptChars(json, i, json.length());
+                parser.close();
+                assertEquals(expected, handler.result, json);
+            }
+        }
+    }
+
+    @Test
+    public void shouldAcceptUTF8Bytes() {
+        String json = "{\"\u00e9t\u00e9\":[\"\u2603\",\"\ud83d\ude00\"]}";
+        TreeHandler handler = new TreeHandler();
+        JSONEventParser parser = new JSONEventParser(handler);
+        parser.acceptBytes(json.getBytes(StandardCharsets.UTF_8));
+        parser.close();
+        assertEquals(parse(new JSONStream(), json), handler.result);
+    }
+
+    @Test
+    public void shouldGiveSameErrorsAsJSONStream() {
+        for (String json : invalidJSON) {
+            JSONException expected = assertThrows(JSONException.class, () -> parse(new JSONStream(), json), json);
+            JSONException exception = assertThrows(JSONException.class, () -> {
+                JSONEventParser parser = new JSONEventParser(new JSONEventHandler() {});
+                parser.accept(json);
+                parser.close();
+            }, json);
+            assertEquals(expected.getMessage(), exception.getMessage(), json);
+        }
+    }
+
+    @Test
+    public void shouldRejectTrailingCharactersAfterTopLevelScalar() {
+        for (String json : trailingGarbage) {
+            JSONException exception = assertThrows(JSONException.class, () -> {
+                JSONEventParser parser = new JSONEventParser(new JSONEventHandler() {});
+                parser.accept(json);
+                parser.close();
+            }, json);
+            assertEquals("Unexpected characters at end of JSON", exception.getMessage(), json);
+        }
+    }
+
+    @Test
+    public void shouldAllowDuplicateKeys() {
+        List<String> events = new ArrayList<>();
+        JSONEventParser parser = new JSONEventParser(new RecordingHandler(events));
+        parser.accept("{\"a\":1,\"a\":2}");
+        parser.close();
+        assertEquals("startObject,key:a,number:1,key:a,number:2,endObject", String.join(",", events));
+    }
+
+    @Test
+    public void shouldParseDeeplyNestedArrays() {
+        int depth = 100000;
+        StringBuilder sb = new StringBuilder(depth * 2);
+        for (int i = 0; i < depth; i++)
+            sb.append('[');
+        for (int i = 0; i < depth; i++)
+            sb.append(']');
+        int[] counts = new int[2];
+        JSONEventParser parser = new JSONEventParser(new JSONEventHandler() {
+            @Override
+            public void startArray() {
+                counts[0]++;
+            }
+            @Override
+            public void endArray() {
+                counts[1]++;
+            }
+        });
+        parser.acceptChars(sb);
+        parser.close();
+        assertEquals(depth, counts[0]);
+        assertEquals(depth, counts[1]);
+    }
+
+    @Test
+    public void shouldResetForAnotherDocument() {
+        List<String> events = new ArrayList<>();
+        JSONEventParser parser = new JSONEventParser(new RecordingHandler(events));
+        parser.acceptChars("[1,{\"a\":");
+        parser.reset();
+        parser.acceptChars("[\"b\"]");
+        parser.close();
+        assertEquals("startArray,number:1,startObject,key:a,startArray,string:b,endArray", String.join(",", events));
+    }
+
+    private static JSONValue parse(JSONStream stream, String json) {
+        stream.accept(json);
+        stream.close();
+        return stream.getResult();
+    }
+
+    private static class RecordingHandler implements JSONEventHandler {
+
+        private final List<String> events;
+
+        RecordingHandler(List<String> events) {
+            this.events = events;
+        }
+
+        @Override
+        public void startObject() {
+            events.add("startObject");
+        }
+
+        @Override
+        public void key(CharSequence key) {
+            events.add("key:" + key);
+        }
+
+        @Override
+        public void endObject() {
+            events.add("endObject");
+        }
+
+        @Override
+        public void startArray() {
+            events.add("startArray");
+        }
+
+        @Override
+        public void endArray() {
+            events.add("endArray");
+        }
+
+        @Override
+        public void stringValue(CharSequence value) {
+            events.add("string:" + value);
+        }
+
+        @Override
+        public void numberValue(CharSequence value) {
+            events.add("number:" + value);
+        }
+
+        @Override
+        public void booleanValue(boolean value) {
+            events.add("boolean:" + value);
+        }
+
+        @Override
+        public void nullValue() {
+            events.add("null");
+        }
+
+    }
+
+    /**
+     * Rebuilds a {@link JSONValue} from the events, for comparison with the result of {@link JSONStream}.
+     */
+    private static class TreeHandler implements JSONEventHandler {
+
+        private final Deque<JSONValue> stack = new ArrayDeque<>();
+        private final Deque<String> keys = new ArrayDeque<>();
+        private JSONValue result;
+
+        @Override
+        public void startObject() {
+            stack.push(new JSONObject());
+        }
+
+        @Override
+        public void key(CharSequence key) {
+            keys.push(key.toString());
+        }
+
+        @Override
+        public void endObject() {
+            add(stack.pop());
+        }
+
+        @Override
+        public void startArray() {
+            stack.push(new JSONArray());
+        }
+
+        @Override
+        public void endArray() {
+            add(stack.pop());
+        }
+
+        @Override
+        public void stringValue(CharSequence value) {
+            add(new JSONString(value));
+        }
+
+        @Override
+        public void numberValue(CharSequence value) {
+            JSONStream stream = new JSONStream();
+            stream.acceptChars(value);
+            stream.close();
+            add(stream.getResult());
+        }
+
+        @Override
+        public void booleanValue(boolean value) {
+            add(JSONBoolean.valueOf(value));
+        }
+
+        @Override
+        public void nullValue() {
+            add(null);
+        }
+
+        private void add(JSONValue value) {
+            if (stack.isEmpty())
+                result = value;
+            else if (stack.peek() instanceof JSONArray)
+                ((JSONArray)stack.peek()).add(value);
+            else
+                ((JSONObject)stack.peek()).put(keys.pop(), value);
+        }
+
+    }
+
+}
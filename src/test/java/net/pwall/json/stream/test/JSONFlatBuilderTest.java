@@ -0,0 +1,123 @@
+/*
+ * @(#) JSONFlatBuilderTest.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream.test;
+
+import net.pwall.json.JSONArray;
+import net.pwall.json.JSONException;
+import net.pwall.json.JSONInteger;
+import net.pwall.json.JSONValue;
+import net.pwall.json.stream.JSONFlatBuilder;
+import net.pwall.json.stream.JSONStream;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JSONFlatBuilderTest {
+
+    private static final String[] validJSON = { "0", " 0 ", "-123", "12345678901", "1.5", "-2.5e-3", "1E10",
+            "\"abc\"", "\"a\\\"b\\\\c\\u0041\\n\"", "true", "false", "null", " [ ] ", "[0,1,2]", "[[],[[]],{}]",
+            "{}", "{\"a\":1}", "{ \"a\" : [ true , false , null ] , \"b\" : { \"c\" : \"d\" } }",
+            "[{\"a\":[{\"b\":[1,2,{\"c\":-0.5}]}]},\"x\",99]", "[1 , 2 ,3]", "{\"a\":0,\"b\":-0,\"c\":0.0}" };
+
+    private static final String[] invalidJSON = { "abc", "[", "{", "[{}0]", "[],", "tru*e", "0.a", "0Ea", "{0}",
+            "{\"aaa\"}", "{\"aaa\":0,}", "\"a\u001Eb\"", "\"a\\gb\"", "\"a\\uxxxxb\"", "[1,]", "[,1]", "{\"a\":}",
+            "{\"a\":1,\"a\":2}", "[01]", "01", "[truex]", "truex", "\"abc", "tru", "-", "[1", "", "  ",
+            "{\"a\" 1}", "{\"a\":1 \"b\":2}", "[1 2]", "[\"a\":1]" };
+
+    @Test
+    public void shouldGiveSameResultsAsJSONValueBuilder() {
+        for (String json : validJSON) {
+            JSONValue expected = parse(new JSONStream(), json);
+            assertEquals(expected, parse(new JSONStream(new JSONFlatBuilder()), json), json);
+        }
+    }
+
+    @Test
+    public void shouldGiveSameResultsAsJSONValueBuilderInBulk() {
+        for (String json : validJSON) {
+            JSONValue expected = parse(new JSONStream(), json);
+            for (int i = 0; i <= json.length(); i++) {
+                JSONStream stream = new JSONStream(new JSONFlatBuilder());
+                stream.acceptChars(json, 0, i);
+                stream.acceptChars(json, i, json.length());
+                stream.close();
+                assertEquals(expected, stream.getResult(), json);
+            }
+        }
+    }
+
+    @Test
+    public void shouldGiveSameErrorsAsJSONValueBuilder() {
+        for (String json : invalidJSON) {
+            JSONException expected = assertThrows(JSONException.class, () -> parse(new JSONStream(), json), json);
+            JSONException exception = assertThrows(JSONException.class,
+                    () -> parse(new JSONStream(new JSONFlatBuilder()), json), json);
+            assertEquals(expected.getMessage(), exception.getMessage(), json);
+        }
+    }
+
+    @Test
+    public void shouldGiveSameErrorWhenGettingIncompleteResult() {
+        JSONStream stream = new JSONStream(new JSONFlatBuilder());
+        stream.accept("[1,");
+        JSONException exception = assertThrows(JSONException.class, stream::getResult);
+        assertEquals("JSON not complete", exception.getMessage());
+    }
+
+    @Test
+    public void shouldParseVeryDeeplyNestedArrays() {
+        int depth = 100000;
+        StringBuilder sb = new StringBuilder(depth * 2 + 1);
+        for (int i = 0; i < depth; i++)
+            sb.append('[');
+        sb.append('1');
+        for (int i = 0; i < depth; i++)
+            sb.append(']');
+        JSONValue result = parse(new JSONStream(new JSONFlatBuilder()), sb.toString());
+        for (int i = 0; i < depth; i++) {
+            assertTrue(result instanceof JSONArray);
+            JSONArray array = (JSONArray)result;
+            assertEquals(1, array.size());
+            result = array.get(0);
+        }
+        assertEquals(new JSONInteger(1), result);
+    }
+
+    @Test
+    public void shouldParseKeywordNull() {
+        assertNull(parse(new JSONStream(new JSONFlatBuilder()), "null"));
+    }
+
+    private static JSONValue parse(JSONStream stream, String json) {
+        stream.accept(json);
+        stream.close();
+        return stream.getResult();
+    }
+
+}
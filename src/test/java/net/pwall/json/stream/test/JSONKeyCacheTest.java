@@ -0,0 +1,150 @@
+/*
+ * @(#) JSONKeyCacheTest.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream.test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import net.pwall.json.JSONArray;
+import net.pwall.json.JSONObject;
+import net.pwall.json.JSONValue;
+import net.pwall.json.stream.JSONFlatBuilder;
+import net.pwall.json.stream.JSONKeyCache;
+import net.pwall.json.stream.JSONParseContext;
+import net.pwall.json.stream.JSONStream;
+import net.pwall.json.stream.JSONValueBuilder;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class JSONKeyCacheTest {
+
+    @Test
+    public void shouldReturnSameInstanceForRepeatedKey() {
+        JSONKeyCache cache = new JSONKeyCache();
+        String first = cache.get(new StringBuilder("alpha"));
+        String second = cache.get(new StringBuilder("alpha"));
+        assertEquals("alpha", first);
+        assertSame(first, second);
+    }
+
+    @Test
+    public void shouldReplaceKeyWhenSlotReused() {
+        JSONKeyCache cache = new JSONKeyCache(1);
+        String alpha = cache.get(new StringBuilder("alpha"));
+        assertEquals("beta", cache.get(new StringBuilder("beta")));
+        String alpha2 = cache.get(new StringBuilder("alpha"));
+        assertEquals("alpha", alpha2);
+        assertNotSame(alpha, alpha2);
+    }
+
+    @Test
+    public void shouldNotCacheLongKeys() {
+        JSONKeyCache cache = new JSONKeyCache();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i <= JSONKeyCache.MAX_KEY_LENGTH; i++)
+            sb.append('x');
+        String first = cache.get(sb);
+        assertEquals(sb.toString(), first);
+        assertNotSame(first, cache.get(sb));
+    }
+
+    @Test
+    public void shouldRoundSizeUpToPowerOfTwo() {
+        assertEquals(256, new JSONKeyCache().getSize());
+        assertEquals(64, new JSONKeyCache(50).getSize());
+        assertEquals(1, new JSONKeyCache(1).getSize());
+        assertThrows(IllegalArgumentException.class, () -> new JSONKeyCache(0));
+    }
+
+    @Test
+    public void shouldShareKeysBetweenObjectsInArray() {
+        JSONStream stream = new JSONStream(cachingContext());
+        stream.accept("[{\"id\":1,\"name\":\"a\"},{\"id\":2,\"name\":\"b\"}]");
+        stream.close();
+        assertSameKeys((JSONArray)stream.getResult());
+    }
+
+    @Test
+    public void shouldShareKeysBetweenObjectsUsingFlatBuilder() {
+        JSONStream stream = new JSONStream(new JSONFlatBuilder(cachingContext()));
+        stream.acceptChars("[{\"id\":1,\"name\":\"a\"},{\"id\":2,\"name\":\"b\"}]");
+        stream.close();
+        assertSameKeys((JSONArray)stream.getResult());
+    }
+
+    @Test
+    public void shouldNotCacheKeysByDefault() {
+        assertNull(new JSONParseContext().getKeyCache());
+        JSONStream stream = new JSONStream();
+        stream.accept("[{\"id\":1},{\"id\":2}]");
+        stream.close();
+        JSONArray array = (JSONArray)stream.getResult();
+        assertNotSame(keys(array.get(0)).get(0), keys(array.get(1)).get(0));
+    }
+
+    @Test
+    public void shouldParseCorrectlyWithKeyCacheDisabled() {
+        JSONParseContext context = new JSONParseContext();
+        context.setKeyCache(null);
+        JSONStream stream = new JSONStream(new JSONValueBuilder(context));
+        stream.accept("[{\"id\":1,\"name\":\"a\"},{\"id\":2,\"name\":\"b\"}]");
+        stream.close();
+        JSONArray array = (JSONArray)stream.getResult();
+        assertEquals(new JSONObject().putValue("id", 1).putValue("name", "a"), array.get(0));
+        assertEquals(new JSONObject().putValue("id", 2).putValue("name", "b"), array.get(1));
+        assertNotSame(keys(array.get(0)).get(0), keys(array.get(1)).get(0));
+    }
+
+    private static JSONParseContext cachingContext() {
+        JSONParseContext context = new JSONParseContext();
+        context.setKeyCache(new JSONKeyCache());
+        return context;
+    }
+
+    private static void assertSameKeys(JSONArray array) {
+        List<String> keys1 = keys(array.get(0));
+        List<String> keys2 = keys(array.get(1));
+        assertEquals(2, keys1.size());
+        assertEquals(keys1, keys2);
+        for (int i = 0; i < keys1.size(); i++)
+            assertSame(keys1.get(i), keys2.get(i));
+    }
+
+    private static List<String> keys(JSONValue value) {
+        List<String> keys = new ArrayList<>();
+        Iterator<String> iterator = ((JSONObject)value).keySet().iterator();
+        while (iterator.hasNext())
+            keys.add(iterator.next());
+        return keys;
+    }
+
+}
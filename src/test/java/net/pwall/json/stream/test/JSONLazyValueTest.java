@@ -0,0 +1,173 @@
+/*
+ * @(#) JSONLazyValueTest.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream.test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import net.pwall.json.JSONArray;
+import net.pwall.json.JSONDouble;
+import net.pwall.json.JSONException;
+import net.pwall.json.JSONInteger;
+import net.pwall.json.JSONObject;
+import net.pwall.json.JSONValue;
+import net.pwall.json.stream.JSONFlatBuilder;
+import net.pwall.json.stream.JSONLazyValue;
+import net.pwall.json.stream.JSONParseContext;
+import net.pwall.json.stream.JSONSequencePipeline;
+import net.pwall.json.stream.JSONStream;
+import net.pwall.pipeline.ListAcceptor;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JSONLazyValueTest {
+
+    private static final String json = "{\"id\":1,\"body\":{ \"a\" : [ 1, 2 ],\"b\":\"x}]\\\"\" },\"list\":[ {} , [] ]," +
+            "\"name\":\"n\"}";
+
+    @Test
+    public void shouldReturnNestedContainersAsLazyValues() {
+        JSONObject object = (JSONObject)parse(json, 1);
+        assertEquals(new JSONInteger(1), object.get("id"));
+        JSONLazyValue body = (JSONLazyValue)object.get("body");
+        assertFalse(body.isMaterialized());
+        assertEquals("{ \"a\" : [ 1, 2 ],\"b\":\"x}]\\\"\" }", body.getText());
+        assertEquals(parse("{\"a\":[1,2],\"b\":\"x}]\\\"\"}", Integer.MAX_VALUE), body.getValue());
+        assertTrue(body.isMaterialized());
+        assertSame(body.getValue(), body.getObject());
+        JSONLazyValue list = (JSONLazyValue)object.get("list");
+        assertEquals("[ {} , [] ]", list.toJSON());
+        assertEquals(2, list.getArray().size());
+        assertEquals("n", object.getString("name"));
+    }
+
+    @Test
+    public void shouldWriteOriginalTextUnchanged() {
+        JSONObject object = (JSONObject)parse(json, 1);
+        assertEquals("{\"id\":1,\"body\":{ \"a\" : [ 1, 2 ],\"b\":\"x}]\\\"\" },\"list\":[ {} , [] ],\"name\":\"n\"}",
+                object.toJSON());
+        assertFalse(((JSONLazyValue)object.get("body")).isMaterialized());
+    }
+
+    @Test
+    public void shouldGiveEqualResultsWhenMaterialized() {
+        JSONValue expected = parse(json, Integer.MAX_VALUE);
+        for (int lazyDepth = 0; lazyDepth < 4; lazyDepth++) {
+            assertEquals(expected, materialize(parse(json, lazyDepth)), "lazy depth " + lazyDepth);
+        }
+    }
+
+    @Test
+    public void shouldUseSameNumberTypeAsEagerParse() {
+        String numbers = "{\"a\":1.5,\"b\":{\"c\":[2.5e3,-0.25,7],\"d\":{\"e\":1e-2}}}";
+        JSONValue expected = parse(numbers, Integer.MAX_VALUE, doubleNumbersContext());
+        for (int lazyDepth = 0; lazyDepth < 4; lazyDepth++) {
+            JSONValue lazy = materialize(parse(numbers, lazyDepth, doubleNumbersContext()));
+            assertEquals(expected, lazy, "lazy depth " + lazyDepth);
+            assertSame(JSONDouble.class, ((JSONObject)lazy).get("a").getClass(), "lazy depth " + lazyDepth);
+            JSONObject b = (JSONObject)((JSONObject)lazy).get("b");
+            assertSame(JSONDouble.class, ((JSONArray)b.get("c")).get(1).getClass(), "lazy depth " + lazyDepth);
+            assertSame(JSONDouble.class, ((JSONObject)b.get("d")).get("e").getClass(), "lazy depth " + lazyDepth);
+        }
+    }
+
+    @Test
+    public void shouldParseLazilyInPieces() {
+        byte[] bytes = "[{\"s\":\"\u00e9\u2603\"},[1]]".getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i <= bytes.length; i++) {
+            JSONStream stream = new JSONStream(new JSONFlatBuilder(new JSONParseContext(), 1));
+            stream.acceptBytes(bytes, 0, i);
+            stream.acceptBytes(bytes, i, bytes.length - i);
+            stream.close();
+            JSONArray array = (JSONArray)stream.getResult();
+            assertEquals("{\"s\":\"\u00e9\u2603\"}", array.get(0).toJSON(), "split at " + i);
+            assertEquals("[1]", array.get(1).toJSON(), "split at " + i);
+        }
+    }
+
+    @Test
+    public void shouldReportSyntaxErrorsWhenMaterialized() {
+        JSONObject object = (JSONObject)parse("{\"a\":[1,,2]}", 1);
+        JSONLazyValue lazy = (JSONLazyValue)object.get("a");
+        JSONException exception = assertThrows(JSONException.class, lazy::getValue);
+        assertEquals("Illegal syntax in JSON", exception.getMessage());
+        exception = assertThrows(JSONException.class, () -> parse("{\"a\":[1}}", 1));
+        assertEquals("Illegal syntax in JSON array", exception.getMessage());
+    }
+
+    @Test
+    public void shouldForwardSequenceOfDocuments() {
+        JSONSequencePipeline<List<JSONValue>> pipeline = new JSONSequencePipeline<>(new ListAcceptor<>(),
+                new JSONFlatBuilder(new JSONParseContext(), 1));
+        pipeline.acceptChars("{\"route\":\"a\",\"payload\":{\"x\": 1}}\n{\"route\":\"b\",\"payload\":[ 2 ]}\n");
+        pipeline.close();
+        List<JSONValue> list = pipeline.getResult();
+        assertEquals(2, list.size());
+        assertEquals("{\"x\": 1}", ((JSONObject)list.get(0)).get("payload").toJSON());
+        assertEquals("[ 2 ]", ((JSONObject)list.get(1)).get("payload").toJSON());
+    }
+
+    private static JSONValue materialize(JSONValue value) {
+        if (value instanceof JSONLazyValue)
+            value = ((JSONLazyValue)value).getValue();
+        if (value instanceof JSONObject) {
+            JSONObject result = new JSONObject();
+            for (String key : (JSONObject)value)
+                result.put(key, materialize(((JSONObject)value).get(key)));
+            return result;
+        }
+        if (value instanceof JSONArray) {
+            JSONArray result = new JSONArray();
+            for (JSONValue item : (JSONArray)value)
+                result.add(materialize(item));
+            return result;
+        }
+        return value;
+    }
+
+    private static JSONParseContext doubleNumbersContext() {
+        JSONParseContext context = new JSONParseContext();
+        context.setDoubleNumbers(true);
+        return context;
+    }
+
+    private static JSONValue parse(String json, int lazyDepth) {
+        return parse(json, lazyDepth, new JSONParseContext());
+    }
+
+    private static JSONValue parse(String json, int lazyDepth, JSONParseContext context) {
+        JSONStream stream = new JSONStream(new JSONFlatBuilder(context, lazyDepth));
+        stream.acceptChars(json);
+        stream.close();
+        return stream.getResult();
+    }
+
+}
@@ -0,0 +1,162 @@
+/*
+ * @(#) JSONObjectPipelineTest.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream.test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import net.pwall.json.JSONArray;
+import net.pwall.json.JSONException;
+import net.pwall.json.JSONInteger;
+import net.pwall.json.JSONObject;
+import net.pwall.json.JSONString;
+import net.pwall.json.JSONValue;
+import net.pwall.json.stream.JSONObjectPipeline;
+import net.pwall.json.stream.JSONStream;
+import net.pwall.pipeline.AbstractAcceptor;
+import net.pwall.pipeline.ListAcceptor;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JSONObjectPipelineTest {
+
+    @Test
+    public void shouldStreamObjectEntries() {
+        JSONObjectPipeline<List<Map.Entry<String, JSONValue>>> pipeline =
+                new JSONObjectPipeline<>(new ListAcceptor<>());
+        pipeline.accept("{\"id1\":{\"a\":1},\"id2\":[true],\"id3\":\"abc\",\"id4\":null}");
+        assertTrue(pipeline.isComplete());
+        List<Map.Entry<String, JSONValue>> list = pipeline.getResult();
+        assertEquals(4, list.size());
+        assertEquals("id1", list.get(0).getKey());
+        JSONObject expected = new JSONObject();
+        expected.put("a", new JSONInteger(1));
+        assertEquals(expected, list.get(0).getValue());
+        assertEquals("id2", list.get(1).getKey());
+        assertEquals(1, ((JSONArray)list.get(1).getValue()).size());
+        assertEquals("id3", list.get(2).getKey());
+        assertEquals(new JSONString("abc"), list.get(2).getValue());
+        assertEquals("id4", list.get(3).getKey());
+        assertNull(list.get(3).getValue());
+    }
+
+    @Test
+    public void shouldEmitEachEntryAsSoonAsComplete() {
+        List<String> keys = new ArrayList<>();
+        JSONObjectPipeline<Void> pipeline = new JSONObjectPipeline<>(
+                new AbstractAcceptor<Map.Entry<String, JSONValue>, Void>() {
+            @Override
+            public void acceptObject(Map.Entry<String, JSONValue> entry) {
+                keys.add(entry.getKey());
+            }
+        });
+        pipeline.acceptChars(" { \"a\" : [ 1 , 2 ] , \"b\" : ");
+        assertEquals(1, keys.size());
+        pipeline.acceptChars("{ } }");
+        assertEquals(2, keys.size());
+        assertTrue(pipeline.isComplete());
+    }
+
+    @Test
+    public void shouldGiveSameEntriesAsJSONStreamWhenSplit() {
+        String json = "{\"x\":12,\"\\u00e9\":\"\u00e9t\u00e9\",\"y\":{\"z\":[1.5,-2]},\"w\":false}";
+        JSONStream stream = new JSONStream();
+        stream.accept(json);
+        JSONObject expected = (JSONObject)stream.getResult();
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i <= bytes.length; i++) {
+            JSONObject result = new JSONObject();
+            JSONObjectPipeline<Void> pipeline = new JSONObjectPipeline<>(
+                    new AbstractAcceptor<Map.Entry<String, JSONValue>, Void>() {
+                @Override
+                public void acceptObject(Map.Entry<String, JSONValue> entry) {
+                    result.put(entry.getKey(), entry.getValue());
+                }
+            });
+            pipeline.acceptBytes(bytes, 0, i);
+            pipeline.acceptBytes(bytes, i, bytes.length - i);
+            pipeline.close();
+            assertEquals(expected, result, "split at " + i);
+        }
+    }
+
+    @Test
+    public void shouldRejectDuplicateKeys() {
+        JSONObjectPipeline<List<Map.Entry<String, JSONValue>>> pipeline =
+                new JSONObjectPipeline<>(new ListAcceptor<>());
+        JSONException exception = assertThrows(JSONException.class,
+                () -> pipeline.acceptChars("{\"a\":1,\"b\":2,\"a\":3}"));
+        assertEquals("Duplicate key in JSON object", exception.getMessage());
+    }
+
+    @Test
+    public void shouldAllowDuplicateKeysWhenCheckDisabled() {
+        JSONObjectPipeline<List<Map.Entry<String, JSONValue>>> pipeline =
+                new JSONObjectPipeline<>(new ListAcceptor<>(), false);
+        pipeline.acceptChars("{\"a\":1,\"a\":2}");
+        pipeline.close();
+        assertEquals(2, pipeline.getResult().size());
+    }
+
+    @Test
+    public void shouldRejectInvalidInput() {
+        JSONException exception = assertThrows(JSONException.class,
+                () -> new JSONObjectPipeline<>(new ListAcceptor<>()).acceptChars("[1]"));
+        assertEquals("Pipeline must contain object", exception.getMessage());
+        exception = assertThrows(JSONException.class,
+                () -> new JSONObjectPipeline<>(new ListAcceptor<>()).acceptChars("{\"a\" 1}"));
+        assertEquals("Illegal syntax in object", exception.getMessage());
+        exception = assertThrows(JSONException.class,
+                () -> new JSONObjectPipeline<>(new ListAcceptor<>()).acceptChars("{\"a\":1,}"));
+        assertEquals("Illegal syntax in object", exception.getMessage());
+        exception = assertThrows(JSONException.class, () -> {
+            JSONObjectPipeline<?> pipeline = new JSONObjectPipeline<>(new ListAcceptor<>());
+            pipeline.acceptChars("{\"a\":1");
+            pipeline.close();
+        });
+        assertEquals("Unexpected end of data in JSON object", exception.getMessage());
+    }
+
+    @Test
+    public void shouldResetForAnotherObject() {
+        JSONObjectPipeline<List<Map.Entry<String, JSONValue>>> pipeline =
+                new JSONObjectPipeline<>(new ListAcceptor<>());
+        pipeline.acceptChars("{\"a\":1,\"b\":[");
+        pipeline.reset();
+        pipeline.acceptChars("{\"a\":2}");
+        pipeline.close();
+        List<Map.Entry<String, JSONValue>> list = pipeline.getResult();
+        assertEquals(2, list.size());
+        assertEquals(new JSONInteger(2), list.get(1).getValue());
+    }
+
+}
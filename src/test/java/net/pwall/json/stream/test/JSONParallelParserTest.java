@@ -0,0 +1,226 @@
+/*
+ * @(#) JSONParallelParserTest.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream.test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import net.pwall.json.JSONException;
+import net.pwall.json.JSONInteger;
+import net.pwall.json.JSONObject;
+import net.pwall.json.JSONValue;
+import net.pwall.json.stream.JSONArrayPipeline;
+import net.pwall.json.stream.JSONParallelParser;
+import net.pwall.json.stream.JSONSequencePipeline;
+import net.pwall.pipeline.ListAcceptor;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class JSONParallelParserTest {
+
+    private static final int count = 5000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void shouldParseLinesInOrder() {
+        byte[] bytes = createLines();
+        JSONParallelParser parser = new JSONParallelParser(new ForkJoinPool(4), 256, true);
+        ListAcceptor<JSONValue> acceptor = new ListAcceptor<>();
+        parser.parseLines(bytes, acceptor);
+        assertEquals(parseSerially(bytes), acceptor.getResult());
+    }
+
+    @Test
+    public void shouldParseLinesUnordered() {
+        byte[] bytes = createLines();
+        JSONParallelParser parser = new JSONParallelParser(new ForkJoinPool(4), 256, false);
+        ListAcceptor<JSONValue> acceptor = new ListAcceptor<>();
+        parser.parseLines(bytes, acceptor);
+        List<JSONValue> list = acceptor.getResult();
+        assertEquals(count, list.size());
+        boolean[] seen = new boolean[count];
+        for (JSONValue value : list)
+            seen[((JSONObject)value).getInt("id")] = true;
+        for (int i = 0; i < count; i++)
+            assertEquals(true, seen[i], "id " + i);
+    }
+
+    @Test
+    public void shouldParseLinesFromByteBuffer() {
+        byte[] bytes = createLines();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+        ListAcceptor<JSONValue> acceptor = new ListAcceptor<>();
+        new JSONParallelParser(new ForkJoinPool(3), 1000, true).parseLines(buffer, acceptor);
+        assertEquals(parseSerially(bytes), acceptor.getResult());
+        assertEquals(buffer.limit(), buffer.position());
+    }
+
+    @Test
+    public void shouldParseLinesFromFile() throws IOException {
+        byte[] bytes = createLines();
+        Path path = tempDir.resolve("test.jsonl");
+        Files.write(path, bytes);
+        ListAcceptor<JSONValue> acceptor = new ListAcceptor<>();
+        new JSONParallelParser(new ForkJoinPool(2), 4096, true).parseLines(path, acceptor);
+        assertEquals(parseSerially(bytes), acceptor.getResult());
+    }
+
+    @Test
+    public void shouldHandleMissingFinalNewline() {
+        byte[] bytes = "{\"id\":0}\n{\"id\":1}\n2".getBytes(StandardCharsets.UTF_8);
+        ListAcceptor<JSONValue> acceptor = new ListAcceptor<>();
+        new JSONParallelParser(new ForkJoinPool(2), 1, true).parseLines(bytes, acceptor);
+        assertEquals(3, acceptor.getResult().size());
+        assertEquals(new JSONInteger(2), acceptor.getResult().get(2));
+    }
+
+    @Test
+    public void shouldReportErrorInAnyChunk() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1000; i++)
+            sb.append(i == 700 ? "{\"id\":}" : "{\"id\":" + i + '}').append('\n');
+        byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+        JSONParallelParser parser = new JSONParallelParser(new ForkJoinPool(4), 100, true);
+        JSONException exception = assertThrows(JSONException.class,
+                () -> parser.parseLines(bytes, new ListAcceptor<>()));
+        assertEquals("Illegal syntax in JSON", exception.getMessage());
+    }
+
+    @Test
+    public void shouldParseArrayInOrder() {
+        byte[] bytes = createArray();
+        for (int chunkSize : new int[] { 1, 100, 4096, JSONParallelParser.DEFAULT_CHUNK_SIZE }) {
+            ListAcceptor<JSONValue> acceptor = new ListAcceptor<>();
+            new JSONParallelParser(new ForkJoinPool(4), chunkSize, true).parseArray(bytes, acceptor);
+            assertEquals(parseArraySerially(bytes), acceptor.getResult(), "chunk size " + chunkSize);
+        }
+    }
+
+    @Test
+    public void shouldParseArrayFromByteBufferAndFile() throws IOException {
+        byte[] bytes = createArray();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+        ListAcceptor<JSONValue> acceptor = new ListAcceptor<>();
+        new JSONParallelParser(new ForkJoinPool(3), 1000, true).parseArray(buffer, acceptor);
+        assertEquals(parseArraySerially(bytes), acceptor.getResult());
+        Path path = tempDir.resolve("test.json");
+        Files.write(path, bytes);
+        acceptor = new ListAcceptor<>();
+        new JSONParallelParser(new ForkJoinPool(2), 4096, true).parseArray(path, acceptor);
+        assertEquals(parseArraySerially(bytes), acceptor.getResult());
+    }
+
+    @Test
+    public void shouldParseArrayWithTrickyStrings() {
+        String json = "\uFEFF [ \"a,b]\" , \"c\\\"]\\\\\", {\"d\":\"}\"}, [\"[\",\"{\"] , \"\u00e9\" ] ";
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        ListAcceptor<JSONValue> acceptor = new ListAcceptor<>();
+        new JSONParallelParser(new ForkJoinPool(2), 1, true).parseArray(bytes, acceptor);
+        assertEquals(parseArraySerially(json.substring(1).getBytes(StandardCharsets.UTF_8)), acceptor.getResult());
+        assertEquals(5, acceptor.getResult().size());
+    }
+
+    @Test
+    public void shouldParseEmptyArray() {
+        for (String json : new String[] { "[]", " [ ] ", "[ ]", "[\n]" }) {
+            ListAcceptor<JSONValue> acceptor = new ListAcceptor<>();
+            new JSONParallelParser().parseArray(json.getBytes(StandardCharsets.UTF_8), acceptor);
+            assertEquals(0, acceptor.getResult().size(), json);
+        }
+    }
+
+    @Test
+    public void shouldReportArrayErrors() {
+        checkArrayError("{\"a\":1}", "Pipeline must contain array");
+        checkArrayError("  ", "Pipeline must contain array");
+        checkArrayError("[1,2", "Unexpected end of data in JSON array");
+        checkArrayError("[1,\"2]", "Unexpected end of data in JSON array");
+        checkArrayError("[1,,2]", "Illegal syntax in JSON");
+        checkArrayError("[1,2,]", "Illegal syntax in JSON");
+        checkArrayError("[1,]", "Illegal syntax in JSON");
+        checkArrayError("[,]", "Illegal syntax in JSON");
+        checkArrayError("[1,2]x", "Unexpected characters at end of JSON");
+        checkArrayError("[1,{\"a\"}]", "Illegal syntax in JSON object");
+        checkArrayError("[1,[2}]", "Illegal syntax in JSON array");
+    }
+
+    private static void checkArrayError(String json, String message) {
+        for (int chunkSize : new int[] { 1, JSONParallelParser.DEFAULT_CHUNK_SIZE }) {
+            JSONParallelParser parser = new JSONParallelParser(new ForkJoinPool(2), chunkSize, true);
+            JSONException exception = assertThrows(JSONException.class,
+                    () -> parser.parseArray(json.getBytes(StandardCharsets.UTF_8), new ListAcceptor<>()), json);
+            assertEquals(message, exception.getMessage(), json);
+        }
+    }
+
+    private static byte[] createArray() {
+        String lines = new String(createLines(), StandardCharsets.UTF_8);
+        return ('[' + lines.substring(0, lines.length() - 1).replace("\n", ",\n") + ']')
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<JSONValue> parseArraySerially(byte[] bytes) {
+        JSONArrayPipeline<List<JSONValue>> pipeline = new JSONArrayPipeline<>(new ListAcceptor<>());
+        pipeline.acceptBytes(bytes);
+        pipeline.close();
+        return pipeline.getResult();
+    }
+
+    private static byte[] createLines() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append("{\"id\":").append(i).append(",\"name\":\"item \\u00e9 ").append(i).append("\",\"tags\":[");
+            for (int j = 0; j < i % 5; j++)
+                sb.append(j > 0 ? "," : "").append('"').append("\u00e9\u2603").append(j).append('"');
+            sb.append("]}\n");
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<JSONValue> parseSerially(byte[] bytes) {
+        List<JSONValue> list = new ArrayList<>();
+        JSONSequencePipeline<List<JSONValue>> pipeline = new JSONSequencePipeline<>(new ListAcceptor<>());
+        pipeline.acceptBytes(bytes);
+        pipeline.close();
+        list.addAll(pipeline.getResult());
+        assertEquals(count, list.size());
+        return list;
+    }
+
+}
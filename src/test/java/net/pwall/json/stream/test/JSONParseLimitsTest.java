@@ -0,0 +1,291 @@
+/*
+ * @(#) JSONParseLimitsTest.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream.test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import net.pwall.json.JSONException;
+import net.pwall.json.JSONValue;
+import net.pwall.json.stream.JSONArrayPipeline;
+import net.pwall.json.stream.JSONFlatBuilder;
+import net.pwall.json.stream.JSONLazyValue;
+import net.pwall.json.stream.JSONParseContext;
+import net.pwall.json.stream.JSONParseLimits;
+import net.pwall.json.stream.JSONStream;
+import net.pwall.pipeline.ListAcceptor;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class JSONParseLimitsTest {
+
+    @Test
+    public void shouldLimitDepth() {
+        JSONParseLimits limits = new JSONParseLimits();
+        limits.setMaxDepth(3);
+        checkValid(limits, "[{\"a\":[1]},[[]]]");
+        checkError(limits, "[{\"a\":[[1]]}]", "JSON nesting depth exceeds limit", 7);
+        checkError(limits, " [[[{}]]]", "JSON nesting depth exceeds limit", 4);
+    }
+
+    @Test
+    public void shouldLimitDepthInArrayPipeline() {
+        JSONParseLimits limits = new JSONParseLimits();
+        limits.setMaxDepth(2);
+        assertEquals(2, parseArray(limits, "[[1],{\"a\":2}]").size());
+        JSONException exception = assertThrows(JSONException.class, () -> parseArray(limits, "[1,[[2]]]"));
+        assertEquals("JSON nesting depth exceeds limit at offset 4", exception.getMessage());
+    }
+
+    @Test
+    public void shouldLimitStringLength() {
+        JSONParseLimits limits = new JSONParseLimits();
+        limits.setMaxStringLength(5);
+        checkValid(limits, "{\"abcde\":\"12345\",\"b\":\"\\n\\u0041\\t45\"}");
+        checkError(limits, "{\"a\":\"123456\"}", "JSON string length exceeds limit", 11);
+        checkError(limits, "{\"a\":\"12345\\n\"}", "JSON string length exceeds limit", 12);
+        checkError(limits, "{\"a\":\"1234\\u00416\"}", "JSON string length exceeds limit", 16);
+        checkError(limits, "{\"abcdef\":1}", "JSON string length exceeds limit", 7);
+    }
+
+    @Test
+    public void shouldLimitNumberLength() {
+        JSONParseLimits limits = new JSONParseLimits();
+        limits.setMaxNumberLength(4);
+        checkValid(limits, "[1234,-123,1.25,1e10]");
+        checkError(limits, "[1,12345]", "JSON number length exceeds limit", 7);
+        checkError(limits, "[1,-1.5e3]", "JSON number length exceeds limit", 7);
+    }
+
+    @Test
+    public void shouldLimitEntries() {
+        JSONParseLimits limits = new JSONParseLimits();
+        limits.setMaxEntries(2);
+        checkValid(limits, "[[1,2],{\"a\":1,\"b\":{}}]");
+        checkError(limits, "[[1,2,3]]", "JSON array entries exceed limit", 5);
+        checkError(limits, "{\"a\":1,\"b\":2,\"c\":3}", "JSON object entries exceed limit", 12);
+    }
+
+    @Test
+    public void shouldNotLimitEntriesOfStreamedArray() {
+        JSONParseLimits limits = new JSONParseLimits();
+        limits.setMaxEntries(2);
+        assertEquals(4, parseArray(limits, "[1,2,[3,4],5]").size());
+        JSONException exception = assertThrows(JSONException.class, () -> parseArray(limits, "[1,[2,3,4]]"));
+        assertEquals("JSON array entries exceed limit at offset 7", exception.getMessage());
+    }
+
+    @Test
+    public void shouldLimitTotalCharacters() {
+        JSONParseLimits limits = new JSONParseLimits();
+        limits.setMaxChars(10);
+        checkValid(limits, "[1,2,3,45]");
+        checkError(limits, "[1,2,3,456]", "JSON input length exceeds limit", 10);
+        checkError(limits, "\uFEFF[1,2,3,45]", "JSON input length exceeds limit", 10);
+        JSONException exception = assertThrows(JSONException.class, () -> parseArray(limits, "[1,2,3,4,5]"));
+        assertEquals("JSON input length exceeds limit at offset 10", exception.getMessage());
+    }
+
+    @Test
+    public void shouldReportOffsetAcrossBlocks() {
+        JSONParseLimits limits = new JSONParseLimits();
+        limits.setMaxStringLength(10);
+        String json = "[\"abc\",\"0123456789X\"]";
+        for (int i = 0; i <= json.length(); i++) {
+            int split = i;
+            JSONStream stream = new JSONStream(createContext(limits));
+            JSONException exception = assertThrows(JSONException.class, () -> {
+                stream.acceptChars(json, 0, split);
+                stream.acceptChars(json, split, json.length());
+            }, "split at " + split);
+            assertEquals("JSON string length exceeds limit at offset 18", exception.getMessage(), "split at " + split);
+        }
+    }
+
+    @Test
+    public void shouldResetDepthForNextDocument() {
+        JSONParseLimits limits = new JSONParseLimits();
+        limits.setMaxDepth(2);
+        JSONStream stream = new JSONStream(createContext(limits));
+        for (int i = 0; i < 5; i++) {
+            stream.acceptChars("[[1],[2]]");
+            stream.close();
+            assertEquals(2, ((List<?>)stream.getResult()).size());
+            stream.reset();
+        }
+        assertThrows(JSONException.class, () -> stream.acceptChars("[[[3]]]"));
+        stream.reset();
+        stream.acceptChars("[[4]]");
+        stream.close();
+        assertEquals(1, ((List<?>)stream.getResult()).size());
+    }
+
+    @Test
+    public void shouldApplyLimitsWhileRecordingLazyValues() {
+        JSONParseLimits limits = new JSONParseLimits();
+        limits.setMaxDepth(3);
+        limits.setMaxStringLength(5);
+        checkLazyError(limits, "[{\"a\":[[1]]}]", "JSON nesting depth exceeds limit", 7);
+        checkLazyError(limits, "[[[[[[1]]]]]]", "JSON nesting depth exceeds limit", 3);
+        checkLazyError(limits, "{\"a\":[\"123456\"]}", "JSON string length exceeds limit", 12);
+        checkLazyError(limits, "{\"a\":[\"12345\\n\"]}", "JSON string length exceeds limit", 13);
+        checkLazyError(limits, "{\"a\":[\"1234\\u00416\"]}", "JSON string length exceeds limit", 17);
+        checkLazyError(limits, "[{\"abcdef\":1}]", "JSON string length exceeds limit", 8);
+        JSONStream stream = new JSONStream(new JSONFlatBuilder(createContext(limits), 1));
+        stream.acceptChars("[[[1]],{\"abcde\":\"\\u0041\\t345\"}]");
+        stream.close();
+        assertEquals(2, ((List<?>)stream.getResult()).size());
+    }
+
+    @Test
+    public void shouldApplyLimitsWhenParsingLazyValue() {
+        JSONParseLimits limits = new JSONParseLimits();
+        limits.setMaxNumberLength(3);
+        JSONStream stream = new JSONStream(new JSONFlatBuilder(createContext(limits), 1));
+        stream.acceptChars("[[123],[12345]]");
+        stream.close();
+        List<?> list = (List<?>)stream.getResult();
+        assertEquals(1, ((JSONLazyValue)list.get(0)).getArray().size());
+        JSONException exception = assertThrows(JSONException.class, () -> ((JSONLazyValue)list.get(1)).getValue());
+        assertEquals("JSON number length exceeds limit at offset 4", exception.getMessage());
+    }
+
+    @Test
+    public void shouldShareLimitedContextBetweenParsers() {
+        JSONParseLimits limits = new JSONParseLimits();
+        limits.setMaxDepth(2);
+        JSONParseContext context = createContext(limits);
+        for (int i = 0; i < 3; i++) {
+            JSONStream stream = new JSONStream(context);
+            stream.acceptChars("[[1]]");
+            stream.close();
+            assertEquals(1, ((List<?>)stream.getResult()).size());
+            JSONStream flatStream = new JSONStream(new JSONFlatBuilder(context));
+            flatStream.acceptChars("[[1]]");
+            flatStream.close();
+            JSONArrayPipeline<List<JSONValue>> pipeline = new JSONArrayPipeline<>(new ListAcceptor<>(), context);
+            pipeline.acceptChars("[[1],[2]]");
+            pipeline.close();
+            assertEquals(2, pipeline.getResult().size());
+        }
+        JSONException exception = assertThrows(JSONException.class,
+                () -> new JSONStream(context).acceptChars("[[[1]]]"));
+        assertEquals("JSON nesting depth exceeds limit at offset 2", exception.getMessage());
+    }
+
+    @Test
+    public void shouldApplyNoLimitsByDefault() {
+        JSONParseContext context = new JSONParseContext();
+        assertEquals(null, context.getLimits());
+        JSONParseLimits limits = new JSONParseLimits();
+        context.setLimits(limits);
+        assertSame(limits, context.getLimits());
+        assertEquals(Integer.MAX_VALUE, limits.getMaxDepth());
+        assertEquals(Long.MAX_VALUE, limits.getMaxChars());
+    }
+
+    @Test
+    public void shouldRejectIllegalLimit() {
+        JSONParseLimits limits = new JSONParseLimits();
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> limits.setMaxDepth(0));
+        assertEquals("Illegal limit: 0", exception.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> limits.setMaxChars(-1));
+    }
+
+    private static void checkValid(JSONParseLimits limits, String json) {
+        JSONValue expected = parse(json, new JSONParseContext());
+        for (Function<JSONParseContext, JSONStream> factory : streamFactories()) {
+            assertEquals(expected, parse(json, factory.apply(createContext(limits)), false));
+            assertEquals(expected, parse(json, factory.apply(createContext(limits)), true));
+        }
+    }
+
+    private static void checkError(JSONParseLimits limits, String json, String message, int offset) {
+        for (Function<JSONParseContext, JSONStream> factory : streamFactories()) {
+            for (boolean bulk : new boolean[] { false, true }) {
+                JSONException exception = assertThrows(JSONException.class,
+                        () -> parse(json, factory.apply(createContext(limits)), bulk), json);
+                assertEquals(message + " at offset " + offset, exception.getMessage(), json);
+            }
+        }
+        JSONException exception = assertThrows(JSONException.class, () -> {
+            JSONStream stream = new JSONStream(createContext(limits));
+            stream.acceptBytes(json.getBytes(StandardCharsets.UTF_8));
+            stream.close();
+        }, json);
+        assertEquals(message + " at offset " + offset, exception.getMessage(), json);
+    }
+
+    private static void checkLazyError(JSONParseLimits limits, String json, String message, int offset) {
+        checkError(limits, json, message, offset);
+        for (int lazyDepth = 0; lazyDepth < 2; lazyDepth++) {
+            for (boolean bulk : new boolean[] { false, true }) {
+                JSONStream stream = new JSONStream(new JSONFlatBuilder(createContext(limits), lazyDepth));
+                JSONException exception = assertThrows(JSONException.class, () -> parse(json, stream, bulk), json);
+                assertEquals(message + " at offset " + offset, exception.getMessage(), json);
+            }
+        }
+    }
+
+    private static List<Function<JSONParseContext, JSONStream>> streamFactories() {
+        return Arrays.asList(JSONStream::new, context -> new JSONStream(new JSONFlatBuilder(context)));
+    }
+
+    private static JSONValue parse(String json, JSONParseContext context) {
+        return parse(json, new JSONStream(context), true);
+    }
+
+    private static JSONValue parse(String json, JSONStream stream, boolean bulk) {
+        if (bulk)
+            stream.acceptChars(json);
+        else {
+            for (int i = 0; i < json.length(); i++)
+                stream.acceptInt(json.charAt(i));
+        }
+        stream.close();
+        return stream.getResult();
+    }
+
+    private static List<JSONValue> parseArray(JSONParseLimits limits, String json) {
+        JSONArrayPipeline<List<JSONValue>> pipeline = new JSONArrayPipeline<>(new ListAcceptor<>(),
+                createContext(limits));
+        pipeline.acceptChars(json);
+        pipeline.close();
+        return pipeline.getResult();
+    }
+
+    private static JSONParseContext createContext(JSONParseLimits limits) {
+        JSONParseContext context = new JSONParseContext();
+        context.setLimits(limits);
+        return context;
+    }
+
+}
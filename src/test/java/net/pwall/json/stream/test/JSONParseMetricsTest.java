@@ -0,0 +1,213 @@
+/*
+ * @(#) JSONParseMetricsTest.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream.test;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import net.pwall.json.JSONException;
+import net.pwall.json.JSONValue;
+import net.pwall.json.stream.JSONArrayPipeline;
+import net.pwall.json.stream.JSONFlatBuilder;
+import net.pwall.json.stream.JSONParseContext;
+import net.pwall.json.stream.JSONParseMetrics;
+import net.pwall.json.stream.JSONStream;
+import net.pwall.pipeline.ListAcceptor;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JSONParseMetricsTest {
+
+    @Test
+    public void shouldRecordDocumentMetrics() {
+        JSONParseMetrics metrics = new JSONParseMetrics();
+        String json = "{\"a\":[1,\"xy\",true,null,1.5],\"b\":{}}";
+        JSONStream stream = new JSONStream(createContext(metrics));
+        stream.acceptChars(json);
+        stream.close();
+        assertEquals(1, metrics.getDocumentCount());
+        assertEquals(json.length(), metrics.getCharacterCount());
+        assertEquals(2, metrics.getObjectCount());
+        assertEquals(1, metrics.getArrayCount());
+        assertEquals(1, metrics.getStringCount());
+        assertEquals(2, metrics.getNumberCount());
+        assertEquals(1, metrics.getBooleanCount());
+        assertEquals(1, metrics.getNullCount());
+        assertEquals(8, metrics.getValueCount());
+        assertEquals(0, metrics.getElementCount());
+        assertEquals(2, metrics.getMaxDepth());
+        assertTrue(metrics.getEstimatedBytes() > 0);
+        assertEquals(metrics.getLastParseNanos(), metrics.getTotalParseNanos());
+        assertEquals(metrics.getLastParseNanos(), metrics.getMaxParseNanos());
+    }
+
+    @Test
+    public void shouldEstimateBytes() {
+        JSONParseMetrics metrics = new JSONParseMetrics();
+        JSONStream stream = new JSONStream(createContext(metrics));
+        stream.accept("\"abc\"");
+        stream.close();
+        assertEquals(56 + 3 * 2, metrics.getEstimatedBytes());
+        metrics.reset();
+        stream.reset();
+        stream.accept("[1,true]");
+        stream.close();
+        assertEquals(40 + 2 * 4 + 16, metrics.getEstimatedBytes());
+    }
+
+    @Test
+    public void shouldAccumulateOverDocuments() {
+        JSONParseMetrics metrics = new JSONParseMetrics();
+        JSONStream stream = new JSONStream(createContext(metrics));
+        for (int i = 0; i < 3; i++) {
+            stream.acceptChars("[[" + i + "]]");
+            stream.close();
+            stream.close();
+            stream.reset();
+        }
+        stream.acceptChars("[[[]]]");
+        assertEquals(3, metrics.getDocumentCount());
+        assertEquals(6, metrics.getArrayCount());
+        assertEquals(3, metrics.getNumberCount());
+        assertEquals(15, metrics.getCharacterCount());
+        assertEquals(2, metrics.getMaxDepth());
+        assertTrue(metrics.getTotalParseNanos() >= metrics.getMaxParseNanos());
+        metrics.reset();
+        assertEquals(0, metrics.getDocumentCount());
+        assertEquals(0, metrics.getMaxDepth());
+        assertEquals(0, metrics.getEstimatedBytes());
+    }
+
+    @Test
+    public void shouldNotRecordFailedDocument() {
+        JSONParseMetrics metrics = new JSONParseMetrics();
+        JSONStream stream = new JSONStream(createContext(metrics));
+        stream.acceptChars("[1,2");
+        assertThrows(JSONException.class, stream::close);
+        assertEquals(0, metrics.getDocumentCount());
+        stream.reset();
+        stream.acceptChars("[1,2]");
+        stream.close();
+        assertEquals(1, metrics.getDocumentCount());
+        assertEquals(2, metrics.getNumberCount());
+    }
+
+    @Test
+    public void shouldRecordArrayPipelineMetrics() {
+        JSONParseMetrics metrics = new JSONParseMetrics();
+        String json = " [1,[2,3],{\"a\":\"b\"},null]";
+        JSONArrayPipeline<List<JSONValue>> pipeline = new JSONArrayPipeline<>(new ListAcceptor<>(),
+                createContext(metrics));
+        pipeline.acceptChars(json);
+        pipeline.close();
+        assertEquals(4, pipeline.getResult().size());
+        assertEquals(1, metrics.getDocumentCount());
+        assertEquals(json.length(), metrics.getCharacterCount());
+        assertEquals(4, metrics.getElementCount());
+        assertEquals(2, metrics.getArrayCount());
+        assertEquals(1, metrics.getObjectCount());
+        assertEquals(3, metrics.getNumberCount());
+        assertEquals(1, metrics.getStringCount());
+        assertEquals(1, metrics.getNullCount());
+        assertEquals(2, metrics.getMaxDepth());
+        assertTrue(metrics.getLastParseNanos() >= 0);
+    }
+
+    @Test
+    public void shouldCountLazyValues() {
+        JSONParseMetrics metrics = new JSONParseMetrics();
+        JSONStream stream = new JSONStream(new JSONFlatBuilder(createContext(metrics), 1));
+        stream.acceptChars("[{\"a\":[[1]]},[2],3]");
+        stream.close();
+        assertEquals(2, metrics.getArrayCount());
+        assertEquals(1, metrics.getObjectCount());
+        assertEquals(1, metrics.getNumberCount());
+        assertEquals(2, metrics.getMaxDepth());
+    }
+
+    @Test
+    public void shouldShareMetricsBetweenContexts() {
+        JSONParseMetrics metrics = new JSONParseMetrics();
+        JSONStream stream1 = new JSONStream(createContext(metrics));
+        JSONStream stream2 = new JSONStream(new JSONFlatBuilder(createContext(metrics)));
+        stream1.acceptChars("[1]");
+        stream2.acceptChars("[2,3]");
+        stream1.close();
+        stream2.close();
+        assertEquals(2, metrics.getDocumentCount());
+        assertEquals(3, metrics.getNumberCount());
+    }
+
+    @Test
+    public void shouldSetAndClearMetrics() {
+        JSONParseContext context = new JSONParseContext();
+        assertNull(context.getMetrics());
+        JSONParseMetrics metrics = new JSONParseMetrics();
+        context.setMetrics(metrics);
+        assertSame(metrics, context.getMetrics());
+        context.setMetrics(null);
+        assertNull(context.getMetrics());
+        JSONStream stream = new JSONStream(context);
+        stream.acceptChars("[1]");
+        stream.close();
+        assertEquals(0, metrics.getDocumentCount());
+    }
+
+    @Test
+    public void shouldRegisterMBean() throws JMException {
+        JSONParseMetrics metrics = new JSONParseMetrics();
+        ObjectName name = metrics.register("test");
+        try {
+            JSONStream stream = new JSONStream(createContext(metrics));
+            stream.acceptChars("{\"a\":1}");
+            stream.close();
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            assertEquals("net.pwall.json.stream:type=JSONParseMetrics,name=\"test\"", name.toString());
+            assertEquals(1L, server.getAttribute(name, "DocumentCount"));
+            assertEquals(7L, server.getAttribute(name, "CharacterCount"));
+            server.invoke(name, "reset", null, null);
+            assertEquals(0L, metrics.getCharacterCount());
+        }
+        finally {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        }
+    }
+
+    private static JSONParseContext createContext(JSONParseMetrics metrics) {
+        JSONParseContext context = new JSONParseContext();
+        context.setMetrics(metrics);
+        return context;
+    }
+
+}
@@ -0,0 +1,211 @@
+/*
+ * @(#) JSONPathPipelineTest.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream.test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import net.pwall.json.JSONException;
+import net.pwall.json.JSONInteger;
+import net.pwall.json.JSONString;
+import net.pwall.json.JSONValue;
+import net.pwall.json.stream.JSONPathPipeline;
+import net.pwall.json.stream.JSONStream;
+import net.pwall.pipeline.ListAcceptor;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JSONPathPipelineTest {
+
+    private static final String envelope = "{\"meta\":{\"count\":3,\"items\":[\"no\"]},\"data\":{\"items\":" +
+            "[{\"id\":1,\"tags\":[\"a\",\"b\"]},{\"id\":2},{\"id\":3,\"x\":{\"items\":[9]}}],\"total\":3}}";
+
+    @Test
+    public void shouldSelectArrayElementsWithWildcard() {
+        List<JSONValue> list = select(envelope, "/data/items/*");
+        assertEquals(3, list.size());
+        assertEquals(parse("{\"id\":1,\"tags\":[\"a\",\"b\"]}"), list.get(0));
+        assertEquals(parse("{\"id\":2}"), list.get(1));
+        assertEquals(parse("{\"id\":3,\"x\":{\"items\":[9]}}"), list.get(2));
+    }
+
+    @Test
+    public void shouldSelectScalarsAndSpecificIndexes() {
+        List<JSONValue> list = select(envelope, "/data/items/*/id");
+        assertEquals(3, list.size());
+        assertEquals(new JSONInteger(1), list.get(0));
+        assertEquals(new JSONInteger(3), list.get(2));
+        list = select(envelope, "/data/items/1");
+        assertEquals(1, list.size());
+        assertEquals(parse("{\"id\":2}"), list.get(0));
+        list = select(envelope, "/data/items/0/tags/1");
+        assertEquals(1, list.size());
+        assertEquals(new JSONString("b"), list.get(0));
+    }
+
+    @Test
+    public void shouldSelectWithMultiplePathsInDocumentOrder() {
+        List<JSONValue> list = select(envelope, "/data/total", "/meta/count", "/*/items/*/id");
+        assertEquals(5, list.size());
+        assertEquals(new JSONInteger(3), list.get(0));
+        assertEquals(new JSONInteger(1), list.get(1));
+        assertEquals(new JSONInteger(2), list.get(2));
+        assertEquals(new JSONInteger(3), list.get(3));
+        assertEquals(new JSONInteger(3), list.get(4));
+    }
+
+    @Test
+    public void shouldOutputOnlyOuterValueWhenPathsNest() {
+        List<JSONValue> list = select(envelope, "/data", "/data/items/*");
+        assertEquals(1, list.size());
+        assertEquals(parse(envelope.substring(envelope.indexOf("\"data\":") + 7, envelope.length() - 1)),
+                list.get(0));
+    }
+
+    @Test
+    public void shouldSelectWholeDocumentWithEmptyPath() {
+        List<JSONValue> list = select("[1,2]", "");
+        assertEquals(1, list.size());
+        assertEquals(parse("[1,2]"), list.get(0));
+        list = select(" 42 ", "");
+        assertEquals(1, list.size());
+        assertEquals(new JSONInteger(42), list.get(0));
+    }
+
+    @Test
+    public void shouldHandleEscapedPathSegments() {
+        List<JSONValue> list = select("{\"a/b\":{\"c~d\":null,\"e\":1}}", "/a~1b/c~0d");
+        assertEquals(1, list.size());
+        assertNull(list.get(0));
+    }
+
+    @Test
+    public void shouldSelectNothingWhenNoMatch() {
+        assertEquals(0, select(envelope, "/data/missing/*").size());
+        assertEquals(0, select(envelope, "/data/items/01").size());
+    }
+
+    @Test
+    public void shouldGiveSameResultsWhenSplit() {
+        byte[] bytes = envelope.getBytes(StandardCharsets.UTF_8);
+        List<JSONValue> expected = select(envelope, "/data/items/*");
+        for (int i = 0; i <= bytes.length; i++) {
+            JSONPathPipeline<List<JSONValue>> pipeline =
+                    new JSONPathPipeline<>(new ListAcceptor<>(), "/data/items/*");
+            pipeline.acceptBytes(bytes, 0, i);
+            pipeline.acceptBytes(bytes, i, bytes.length - i);
+            pipeline.close();
+            assertEquals(expected, pipeline.getResult(), "split at " + i);
+        }
+    }
+
+    @Test
+    public void shouldCheckSyntaxOutsideSelectedValues() {
+        JSONException exception = assertThrows(JSONException.class,
+                () -> select("{\"meta\":[1,],\"data\":[]}", "/data/*"));
+        assertEquals("Illegal syntax in JSON", exception.getMessage());
+        exception = assertThrows(JSONException.class, () -> select("{\"data\":[{\"a\":1,}]}", "/data/*"));
+        assertEquals("Illegal syntax in JSON object", exception.getMessage());
+        exception = assertThrows(JSONException.class, () -> select("{\"data\":[1]", "/data/*"));
+        assertEquals("Unexpected end of data", exception.getMessage());
+    }
+
+    @Test
+    public void shouldGiveSameResultsWhenSkippingUnselectedValues() {
+        String[][] pathSets = { { "/data/items/*" }, { "/meta/count", "/data/items/2/x" }, { "/*/items/0" },
+                { "" } };
+        for (String[] paths : pathSets) {
+            List<JSONValue> expected = select(envelope, paths);
+            for (int i = 0; i <= envelope.length(); i++) {
+                JSONPathPipeline<List<JSONValue>> pipeline = new JSONPathPipeline<>(new ListAcceptor<>(), paths);
+                pipeline.setSkipUnselected(true);
+                pipeline.acceptChars(envelope, 0, i);
+                pipeline.acceptChars(envelope, i, envelope.length());
+                pipeline.close();
+                assertEquals(expected, pipeline.getResult(), paths[0] + " split at " + i);
+            }
+        }
+    }
+
+    @Test
+    public void shouldCheckStructureOfSkippedValues() {
+        JSONPathPipeline<List<JSONValue>> pipeline = new JSONPathPipeline<>(new ListAcceptor<>(), "/data/*");
+        pipeline.setSkipUnselected(true);
+        JSONException exception = assertThrows(JSONException.class,
+                () -> pipeline.acceptChars("{\"meta\":[1,{\"a\":2]],\"data\":[]}"));
+        assertEquals("Illegal syntax in JSON object", exception.getMessage());
+    }
+
+    @Test
+    public void shouldRejectTrailingCharactersAfterTopLevelScalar() {
+        for (String json : new String[] { "123x", "123]", "-1.5,", "true x", "\"a\"}" }) {
+            JSONException exception = assertThrows(JSONException.class, () -> {
+                JSONPathPipeline<List<JSONValue>> pipeline = new JSONPathPipeline<>(new ListAcceptor<>(), "");
+                pipeline.accept(json);
+                pipeline.close();
+            }, json);
+            assertEquals("Unexpected characters at end of JSON", exception.getMessage(), json);
+        }
+    }
+
+    @Test
+    public void shouldRejectInvalidPaths() {
+        assertThrows(IllegalArgumentException.class, () -> new JSONPathPipeline<>(new ListAcceptor<>(), "data"));
+        assertThrows(IllegalArgumentException.class, () -> new JSONPathPipeline<>(new ListAcceptor<>(), "/a~2"));
+        assertThrows(IllegalArgumentException.class, () -> new JSONPathPipeline<>(new ListAcceptor<>()));
+    }
+
+    @Test
+    public void shouldResetForAnotherDocument() {
+        JSONPathPipeline<List<JSONValue>> pipeline = new JSONPathPipeline<>(new ListAcceptor<>(), "/a/*");
+        pipeline.acceptChars("{\"a\":[1,{\"b\":");
+        pipeline.reset();
+        pipeline.acceptChars("{\"a\":[5]}");
+        pipeline.close();
+        assertTrue(pipeline.isComplete());
+        List<JSONValue> list = pipeline.getResult();
+        assertEquals(2, list.size());
+        assertEquals(new JSONInteger(5), list.get(1));
+    }
+
+    private static List<JSONValue> select(String json, String... paths) {
+        JSONPathPipeline<List<JSONValue>> pipeline = new JSONPathPipeline<>(new ListAcceptor<>(), paths);
+        pipeline.acceptChars(json);
+        pipeline.close();
+        return pipeline.getResult();
+    }
+
+    private static JSONValue parse(String json) {
+        JSONStream stream = new JSONStream();
+        stream.accept(json);
+        return stream.getResult();
+    }
+
+}
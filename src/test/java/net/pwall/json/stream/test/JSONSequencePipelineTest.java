@@ -0,0 +1,169 @@
+/*
+ * @(#) JSONSequencePipelineTest.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream.test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import net.pwall.json.JSONException;
+import net.pwall.json.JSONInteger;
+import net.pwall.json.JSONString;
+import net.pwall.json.JSONValue;
+import net.pwall.json.stream.JSONFlatBuilder;
+import net.pwall.json.stream.JSONSequencePipeline;
+import net.pwall.json.stream.JSONStream;
+import net.pwall.pipeline.ListAcceptor;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JSONSequencePipelineTest {
+
+    private static final String[] records = { "{\"a\":1,\"b\":[true,null]}", "[]", "\"abc\"", "-12.5", "null", "7",
+            "{}" };
+
+    @Test
+    public void shouldParseNewlineDelimitedJSON() {
+        checkSequence(String.join("\n", records) + "\n");
+        checkSequence(String.join("\r\n", records));
+    }
+
+    @Test
+    public void shouldParseConcatenatedJSON() {
+        checkSequence(String.join(" ", records));
+        checkSequence("{}[]\"x\"true{\"a\":1}", "{}", "[]", "\"x\"", "true", "{\"a\":1}");
+    }
+
+    @Test
+    public void shouldParseRecordSeparatedJSON() {
+        StringBuilder sb = new StringBuilder();
+        for (String record : records)
+            sb.append('\u001E').append(record).append('\n');
+        checkSequence(sb.toString());
+        checkSequence("\u001E1\u001E2\u001E", "1", "2");
+    }
+
+    @Test
+    public void shouldAcceptCharactersSingly() {
+        JSONSequencePipeline<List<JSONValue>> pipeline = new JSONSequencePipeline<>(new ListAcceptor<>());
+        pipeline.accept("1\u001E2\n\"x\"{}");
+        List<JSONValue> list = pipeline.getResult();
+        assertEquals(4, list.size());
+        assertEquals(new JSONInteger(2), list.get(1));
+        assertEquals(new JSONString("x"), list.get(2));
+    }
+
+    @Test
+    public void shouldGiveSameResultsWhenSplit() {
+        byte[] bytes = (String.join("\n", records) + "\n\u001E\"\u00e9\"").getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i <= bytes.length; i++) {
+            JSONSequencePipeline<List<JSONValue>> pipeline = new JSONSequencePipeline<>(new ListAcceptor<>());
+            pipeline.acceptBytes(bytes, 0, i);
+            pipeline.acceptBytes(bytes, i, bytes.length - i);
+            pipeline.close();
+            List<JSONValue> list = pipeline.getResult();
+            assertEquals(records.length + 1, list.size(), "split at " + i);
+            assertEquals(new JSONString("\u00e9"), list.get(records.length), "split at " + i);
+        }
+    }
+
+    @Test
+    public void shouldWorkWithFlatBuilder() {
+        for (String separator : new String[] { "\n", " ", "\u001E" }) {
+            String json = String.join(separator, records);
+            JSONSequencePipeline<List<JSONValue>> pipeline =
+                    new JSONSequencePipeline<>(new ListAcceptor<>(), new JSONFlatBuilder());
+            pipeline.accept(json);
+            List<JSONValue> singly = pipeline.getResult();
+            pipeline = new JSONSequencePipeline<>(new ListAcceptor<>(), new JSONFlatBuilder());
+            pipeline.acceptChars(json);
+            pipeline.close();
+            assertEquals(singly, pipeline.getResult());
+            assertEquals(records.length, singly.size());
+        }
+    }
+
+    @Test
+    public void shouldAcceptEmptySequence() {
+        JSONSequencePipeline<List<JSONValue>> pipeline = new JSONSequencePipeline<>(new ListAcceptor<>());
+        pipeline.acceptChars(" \n\u001E\n ");
+        pipeline.close();
+        assertTrue(pipeline.isComplete());
+        assertEquals(0, pipeline.getResult().size());
+    }
+
+    @Test
+    public void shouldRejectInvalidRecord() {
+        JSONSequencePipeline<List<JSONValue>> pipeline = new JSONSequencePipeline<>(new ListAcceptor<>());
+        JSONException exception = assertThrows(JSONException.class, () -> pipeline.acceptChars("{\"a\":1}\n{\"a\"}"));
+        assertEquals("Illegal syntax in JSON object", exception.getMessage());
+        assertEquals(1, pipeline.getResult().size());
+    }
+
+    @Test
+    public void shouldRejectIncompleteFinalRecord() {
+        JSONSequencePipeline<List<JSONValue>> pipeline = new JSONSequencePipeline<>(new ListAcceptor<>());
+        pipeline.acceptChars("[1]\n[2");
+        assertThrows(JSONException.class, pipeline::close);
+    }
+
+    @Test
+    public void shouldResetForAnotherSequence() {
+        JSONSequencePipeline<List<JSONValue>> pipeline = new JSONSequencePipeline<>(new ListAcceptor<>());
+        pipeline.acceptChars("1\n{\"a\":[");
+        pipeline.reset();
+        pipeline.acceptChars("null\n");
+        pipeline.close();
+        List<JSONValue> list = pipeline.getResult();
+        assertEquals(2, list.size());
+        assertNull(list.get(1));
+    }
+
+    private static void checkSequence(String json) {
+        checkSequence(json, records);
+    }
+
+    private static void checkSequence(String json, String... expected) {
+        JSONSequencePipeline<List<JSONValue>> pipeline = new JSONSequencePipeline<>(new ListAcceptor<>());
+        pipeline.acceptChars(json);
+        pipeline.close();
+        List<JSONValue> list = pipeline.getResult();
+        assertEquals(expected.length, list.size(), json);
+        for (int i = 0; i < expected.length; i++)
+            assertEquals(parse(expected[i]), list.get(i), json);
+    }
+
+    private static JSONValue parse(String json) {
+        JSONStream stream = new JSONStream();
+        stream.acceptChars(json);
+        stream.close();
+        return stream.getResult();
+    }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * @(#) JSONSkipBuilderTest.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream.test;
+
+import net.pwall.json.JSONException;
+import net.pwall.json.stream.JSONSkipBuilder;
+import net.pwall.json.stream.JSONStream;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JSONSkipBuilderTest {
+
+    private static final String[] validJSON = { "0", " 0 ", "-123", "1.5", "\"abc\"", "\"a\\\"b\\\\c\\u0041\\n\"",
+            "\"[{\"", "true", "null", " [ ] ", "[0,1,2]", "[[],[[]],{}]", "{}", "{\"a\":1}",
+            "{ \"a\" : [ true , false , null ] , \"b\" : { \"c\" : \"d}]\\\"\" } }",
+            "[{\"a\":[{\"b\":[1,2,{\"c\":-0.5}]}]},\"x\",99]", "[\"\u00e9\u2603\"]" };
+
+    private static final String[] invalidJSON = { "[", "{", "[}", "{]", "[[]}", "]", "}", ",", ":", "\"abc",
+            "[\"abc]", "[\"abc\\\"]", "[],", "{} x", "", "  " };
+
+    @Test
+    public void shouldSkipValidJSON() {
+        for (String json : validJSON) {
+            JSONStream stream = new JSONStream(new JSONSkipBuilder());
+            stream.acceptChars(json);
+            stream.close();
+            assertNull(stream.getResult(), json);
+        }
+    }
+
+    @Test
+    public void shouldSkipValidJSONInPieces() {
+        for (String json : validJSON) {
+            for (int i = 0; i <= json.length(); i++) {
+                JSONStream stream = new JSONStream(new JSONSkipBuilder());
+                stream.acceptChars(json, 0, i);
+                stream.acceptChars(json, i, json.length());
+                stream.close();
+                assertNull(stream.getResult(), json);
+            }
+            JSONStream stream = new JSONStream(new JSONSkipBuilder());
+            stream.accept(json);
+            stream.close();
+            assertNull(stream.getResult(), json);
+        }
+    }
+
+    @Test
+    public void shouldDetectStructuralErrors() {
+        for (String json : invalidJSON) {
+            assertThrows(JSONException.class, () -> {
+                JSONStream stream = new JSONStream(new JSONSkipBuilder());
+                stream.acceptChars(json);
+                stream.close();
+            }, json);
+        }
+    }
+
+    @Test
+    public void shouldStopAtEndOfValue() {
+        JSONSkipBuilder builder = new JSONSkipBuilder();
+        String json = "{\"a\":[1,2]} ,";
+        assertEquals(11, builder.acceptChars(json, 0, json.length()));
+        assertTrue(builder.isComplete());
+        builder.reset();
+        assertFalse(builder.isComplete());
+        json = "123,";
+        assertEquals(3, builder.acceptChars(json, 0, json.length()));
+        assertTrue(builder.isComplete());
+        builder.reset();
+        assertTrue(builder.acceptChar('1'));
+        assertFalse(builder.acceptChar(']'));
+        assertTrue(builder.isComplete());
+    }
+
+    @Test
+    public void shouldReportMismatchedBrackets() {
+        JSONException exception = assertThrows(JSONException.class, () -> skip("[{\"a\":1]]"));
+        assertEquals("Illegal syntax in JSON object", exception.getMessage());
+        exception = assertThrows(JSONException.class, () -> skip("{\"a\":[1}"));
+        assertEquals("Illegal syntax in JSON array", exception.getMessage());
+        exception = assertThrows(JSONException.class, () -> skip("[1,[2]"));
+        assertEquals("Unexpected end of data", exception.getMessage());
+    }
+
+    private static void skip(String json) {
+        JSONSkipBuilder builder = new JSONSkipBuilder();
+        builder.acceptChars(json, 0, json.length());
+        builder.close();
+    }
+
+}
@@ -0,0 +1,157 @@
+/*
+ * @(#) JSONStreamBulkTest.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream.test;
+
+import java.util.List;
+
+import net.pwall.json.JSONArray;
+import net.pwall.json.JSONBoolean;
+import net.pwall.json.JSONDecimal;
+import net.pwall.json.JSONException;
+import net.pwall.json.JSONInteger;
+import net.pwall.json.JSONObject;
+import net.pwall.json.JSONString;
+import net.pwall.json.JSONValue;
+import net.pwall.json.JSONZero;
+import net.pwall.json.stream.JSONArrayPipeline;
+import net.pwall.json.stream.JSONStream;
+import net.pwall.pipeline.ListAcceptor;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JSONStreamBulkTest {
+
+    private static final String json = "{\"alpha\":[1,-2,3.5,4e2,0,true,false,null,\"a\\\"b\\u0041\\n\"],  " +
+            "\"beta\" : { \"gamma\" : [ [ ] , { } ] , \"delta\":\"\\uD83D\\uDE02 emoji\" } , \"epsilon\":12345678901 }";
+
+    @Test
+    public void shouldParseCharSequenceInBulk() {
+        JSONStream stream = new JSONStream();
+        stream.acceptChars(json);
+        stream.close();
+        assertEquals(parseSingly(json), stream.getResult());
+    }
+
+    @Test
+    public void shouldParseCharArrayInBulk() {
+        char[] buffer = ("xx" + json + "yy").toCharArray();
+        JSONStream stream = new JSONStream();
+        stream.acceptChars(buffer, 2, json.length());
+        stream.close();
+        assertEquals(parseSingly(json), stream.getResult());
+    }
+
+    @Test
+    public void shouldParseInBulkSplitAtEveryPosition() {
+        JSONValue expected = parseSingly(json);
+        for (int i = 0; i <= json.length(); i++) {
+            JSONStream stream = new JSONStream();
+            stream.acceptChars(json, 0, i);
+            stream.acceptChars(json, i, json.length());
+            stream.close();
+            assertEquals(expected, stream.getResult(), "Split at " + i);
+        }
+    }
+
+    @Test
+    public void shouldParseInBulkOneCharacterAtATime() {
+        JSONStream stream = new JSONStream();
+        for (int i = 0; i < json.length(); i++)
+            stream.acceptChars(json, i, i + 1);
+        stream.close();
+        assertEquals(parseSingly(json), stream.getResult());
+    }
+
+    @Test
+    public void shouldParseScalarsInBulk() {
+        assertSame(JSONZero.ZERO, parseBulk(" 0 "));
+        assertEquals(new JSONInteger(-123), parseBulk("-123"));
+        assertEquals(new JSONDecimal("1.5e-3"), parseBulk("1.5e-3  "));
+        assertEquals(new JSONString("abc"), parseBulk("\"abc\""));
+        assertSame(JSONBoolean.TRUE, parseBulk("true"));
+        assertNull(parseBulk(" null "));
+    }
+
+    @Test
+    public void shouldIgnoreByteOrderMarkInBulk() {
+        assertEquals(new JSONArray(), parseBulk("\uFEFF[]"));
+    }
+
+    @Test
+    public void shouldRejectTrailingCharactersInBulk() {
+        JSONException exception = assertThrows(JSONException.class, () -> parseBulk("123 4"));
+        assertEquals("Unexpected characters at end of JSON", exception.getMessage());
+    }
+
+    @Test
+    public void shouldRejectInvalidStringInBulk() {
+        JSONException exception = assertThrows(JSONException.class, () -> parseBulk("[\"abc\u0001\"]"));
+        assertEquals("Illegal character in JSON string", exception.getMessage());
+    }
+
+    @Test
+    public void shouldRejectDuplicateKeyInBulk() {
+        JSONException exception = assertThrows(JSONException.class, () -> parseBulk("{\"a\":1,\"a\":2}"));
+        assertEquals("Duplicate key in JSON object", exception.getMessage());
+    }
+
+    @Test
+    public void shouldStreamArrayInBulk() {
+        JSONArrayPipeline<List<JSONValue>> pipeline = new JSONArrayPipeline<>(new ListAcceptor<>());
+        String array = "[0, 12 ,\"abc\",{\"x\":[]},8.5]";
+        pipeline.acceptChars(array, 0, 10);
+        pipeline.acceptChars(array, 10, array.length());
+        pipeline.close();
+        assertTrue(pipeline.isComplete());
+        List<JSONValue> list = pipeline.getResult();
+        assertEquals(5, list.size());
+        assertSame(JSONZero.ZERO, list.get(0));
+        assertEquals(new JSONInteger(12), list.get(1));
+        assertEquals(new JSONString("abc"), list.get(2));
+        assertEquals(new JSONObject().putJSON("x", new JSONArray()), list.get(3));
+        assertEquals(new JSONDecimal("8.5"), list.get(4));
+    }
+
+    private static JSONValue parseBulk(String json) {
+        JSONStream stream = new JSONStream();
+        stream.acceptChars(json);
+        stream.close();
+        return stream.getResult();
+    }
+
+    private static JSONValue parseSingly(String json) {
+        JSONStream stream = new JSONStream();
+        stream.accept(json);
+        stream.close();
+        return stream.getResult();
+    }
+
+}
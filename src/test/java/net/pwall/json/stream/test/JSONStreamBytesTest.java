@@ -0,0 +1,258 @@
+/*
+ * @(#) JSONStreamBytesTest.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream.test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import net.pwall.json.JSONException;
+import net.pwall.json.JSONInteger;
+import net.pwall.json.JSONString;
+import net.pwall.json.JSONValue;
+import net.pwall.json.JSONZero;
+import net.pwall.json.stream.JSONArrayPipeline;
+import net.pwall.json.stream.JSONFlatBuilder;
+import net.pwall.json.stream.JSONSequencePipeline;
+import net.pwall.json.stream.JSONStream;
+import net.pwall.pipeline.ListAcceptor;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class JSONStreamBytesTest {
+
+    private static final String json = "{\"name\":\"caf\u00E9 \u65E5\u672C \uD83D\uDE02!\",\"list\":[1,2.5,true,null]," +
+            "\"escaped\":\"\\u00e9\\n\"}";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void shouldParseUTF8Bytes() {
+        JSONStream stream = new JSONStream();
+        stream.acceptBytes(json.getBytes(StandardCharsets.UTF_8));
+        stream.close();
+        assertEquals(parseChars(json), stream.getResult());
+    }
+
+    @Test
+    public void shouldParseUTF8BytesSplitAtEveryPosition() {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        JSONValue expected = parseChars(json);
+        for (int i = 0; i <= bytes.length; i++) {
+            JSONStream stream = new JSONStream();
+            stream.acceptBytes(bytes, 0, i);
+            stream.acceptBytes(bytes, i, bytes.length - i);
+            stream.close();
+            assertEquals(expected, stream.getResult(), "Split at " + i);
+        }
+    }
+
+    @Test
+    public void shouldParseUTF8BytesOneByteAtATime() {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        JSONStream stream = new JSONStream();
+        for (int i = 0; i < bytes.length; i++)
+            stream.acceptBytes(bytes, i, 1);
+        stream.close();
+        assertEquals(parseChars(json), stream.getResult());
+    }
+
+    @Test
+    public void shouldParseHeapAndDirectByteBuffers() {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        JSONStream stream = new JSONStream();
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        stream.acceptBytes(buffer);
+        stream.close();
+        assertEquals(bytes.length, buffer.position());
+        assertEquals(parseChars(json), stream.getResult());
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes).flip();
+        stream = new JSONStream();
+        stream.acceptBytes(direct);
+        stream.close();
+        assertEquals(parseChars(json), stream.getResult());
+    }
+
+    @Test
+    public void shouldParseLongNonASCIIString() {
+        StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < 5000; i++)
+            sb.append("\u00E9\u65E5\uD83D\uDE02");
+        sb.append('"');
+        String expected = sb.substring(1, sb.length() - 1);
+        JSONStream stream = new JSONStream();
+        stream.acceptBytes(sb.toString().getBytes(StandardCharsets.UTF_8));
+        stream.close();
+        assertEquals(new JSONString(expected), stream.getResult());
+    }
+
+    @Test
+    public void shouldFindStringDelimitersAtEveryPosition() {
+        String[] specials = { "\\\"", "\\\\", "\\n", "\\u0041", "\u00E9", " ", "\u007F", "~", "" };
+        for (String special : specials) {
+            for (int prefix = 0; prefix < 20; prefix++) {
+                for (int alignment = 0; alignment < 8; alignment++) {
+                    String string = '"' + repeat('a', prefix) + special + repeat('b', 9) + '"';
+                    byte[] bytes = (repeat(' ', alignment) + string + "  ").getBytes(StandardCharsets.UTF_8);
+                    JSONStream stream = new JSONStream();
+                    stream.acceptBytes(bytes, alignment, bytes.length - alignment);
+                    stream.close();
+                    assertEquals(parseChars(string), stream.getResult(), string);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldRejectControlCharacterAtEveryPosition() {
+        for (char control : new char[] { '\u0000', '\n', '\u001F' }) {
+            for (int prefix = 0; prefix < 20; prefix++) {
+                byte[] bytes = ('"' + repeat('a', prefix) + control + repeat('b', 9) + '"')
+                        .getBytes(StandardCharsets.UTF_8);
+                JSONException exception = assertThrows(JSONException.class, () -> {
+                    JSONStream stream = new JSONStream();
+                    stream.acceptBytes(bytes);
+                });
+                assertEquals("Illegal character in JSON string", exception.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void shouldIgnoreByteOrderMarkInBytes() {
+        JSONStream stream = new JSONStream();
+        stream.acceptBytes(new byte[] { (byte)0xEF, (byte)0xBB, (byte)0xBF, '0' });
+        stream.close();
+        assertSame(JSONZero.ZERO, stream.getResult());
+    }
+
+    @Test
+    public void shouldRejectInvalidUTF8() {
+        JSONException exception = assertThrows(JSONException.class, () -> {
+            JSONStream stream = new JSONStream();
+            stream.acceptBytes(new byte[] { '"', (byte)0xC3, 'a', '"' });
+        });
+        assertEquals("Illegal UTF-8 sequence in JSON", exception.getMessage());
+    }
+
+    @Test
+    public void shouldRejectOverlongUTF8() {
+        JSONException exception = assertThrows(JSONException.class, () -> {
+            JSONStream stream = new JSONStream();
+            stream.acceptBytes(new byte[] { '"', (byte)0xE0, (byte)0x80, (byte)0xAF, '"' });
+        });
+        assertEquals("Illegal UTF-8 sequence in JSON", exception.getMessage());
+    }
+
+    @Test
+    public void shouldRejectIncompleteUTF8AtEnd() {
+        JSONException exception = assertThrows(JSONException.class, () -> {
+            JSONStream stream = new JSONStream();
+            stream.acceptBytes(new byte[] { '"', 'a', '"', ' ', (byte)0xE6 });
+            stream.close();
+        });
+        assertEquals("Incomplete UTF-8 sequence in JSON", exception.getMessage());
+    }
+
+    @Test
+    public void shouldRejectNonASCIIOutsideString() {
+        JSONException exception = assertThrows(JSONException.class, () -> {
+            JSONStream stream = new JSONStream();
+            stream.acceptBytes("[\u00E9]".getBytes(StandardCharsets.UTF_8));
+        });
+        assertEquals("Illegal syntax in JSON", exception.getMessage());
+    }
+
+    @Test
+    public void shouldStreamArrayFromUTF8Bytes() {
+        JSONArrayPipeline<List<JSONValue>> pipeline = new JSONArrayPipeline<>(new ListAcceptor<>());
+        byte[] bytes = "[\"\u00E9\u00E8\", 123]".getBytes(StandardCharsets.UTF_8);
+        pipeline.acceptBytes(bytes, 0, 3);
+        pipeline.acceptBytes(bytes, 3, bytes.length - 3);
+        pipeline.close();
+        List<JSONValue> list = pipeline.getResult();
+        assertEquals(2, list.size());
+        assertEquals(new JSONString("\u00E9\u00E8"), list.get(0));
+        assertEquals(new JSONInteger(123), list.get(1));
+    }
+
+    @Test
+    public void shouldParseFile() throws IOException {
+        Path path = tempDir.resolve("test.json");
+        Files.write(path, json.getBytes(StandardCharsets.UTF_8));
+        assertEquals(parseChars(json), JSONStream.parse(path));
+        assertEquals(parseChars(json), JSONStream.parse(path, new JSONFlatBuilder()));
+    }
+
+    @Test
+    public void shouldRejectEmptyOrIncompleteFile() throws IOException {
+        Path path = tempDir.resolve("empty.json");
+        Files.write(path, new byte[0]);
+        assertThrows(JSONException.class, () -> JSONStream.parse(path));
+        Files.write(path, "[1,2".getBytes(StandardCharsets.UTF_8));
+        assertThrows(JSONException.class, () -> JSONStream.parse(path));
+    }
+
+    @Test
+    public void shouldProcessArrayAndSequenceFiles() throws IOException {
+        Path arrayPath = tempDir.resolve("array.json");
+        Files.write(arrayPath, "[\"\u00E9\u00E8\", 123]".getBytes(StandardCharsets.UTF_8));
+        List<JSONValue> list = JSONArrayPipeline.process(arrayPath, new ListAcceptor<>());
+        assertEquals(2, list.size());
+        assertEquals(new JSONString("\u00E9\u00E8"), list.get(0));
+        assertEquals(new JSONInteger(123), list.get(1));
+        Path linesPath = tempDir.resolve("lines.jsonl");
+        Files.write(linesPath, "\"\u65E5\u672C\"\n0\n".getBytes(StandardCharsets.UTF_8));
+        list = JSONSequencePipeline.process(linesPath, new ListAcceptor<>());
+        assertEquals(2, list.size());
+        assertEquals(new JSONString("\u65E5\u672C"), list.get(0));
+        assertSame(JSONZero.ZERO, list.get(1));
+    }
+
+    private static JSONValue parseChars(String json) {
+        JSONStream stream = new JSONStream();
+        stream.acceptChars(json);
+        stream.close();
+        return stream.getResult();
+    }
+
+    private static String repeat(char ch, int count) {
+        StringBuilder sb = new StringBuilder(count);
+        for (int i = 0; i < count; i++)
+            sb.append(ch);
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,156 @@
+/*
+ * @(#) JSONStreamResetTest.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream.test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import net.pwall.json.JSONArray;
+import net.pwall.json.JSONException;
+import net.pwall.json.JSONInteger;
+import net.pwall.json.JSONObject;
+import net.pwall.json.JSONString;
+import net.pwall.json.JSONValue;
+import net.pwall.json.stream.JSONArrayPipeline;
+import net.pwall.json.stream.JSONFlatBuilder;
+import net.pwall.json.stream.JSONStream;
+import net.pwall.pipeline.ListAcceptor;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class JSONStreamResetTest {
+
+    private static final String[] documents = { "{\"a\":[1,2,{\"b\":\"c\"}],\"d\":true}", "[[],[[\"x\"]],{}]",
+            "\"string\"", "{\"a\":{\"a\":{\"a\":null}},\"b\":-1.5}", "12345", "[true,false,null,\"\\u0041\"]",
+            "{\"a\":[1,2,{\"b\":\"c\"}],\"d\":true}" };
+
+    @Test
+    public void shouldParseMultipleDocumentsAfterReset() {
+        JSONStream stream = new JSONStream();
+        for (String json : documents) {
+            stream.accept(json);
+            stream.close();
+            assertEquals(parse(json), stream.getResult(), json);
+            stream.reset();
+        }
+    }
+
+    @Test
+    public void shouldParseMultipleDocumentsInBulkAfterReset() {
+        JSONStream stream = new JSONStream(new JSONFlatBuilder());
+        for (String json : documents) {
+            stream.acceptChars(json);
+            stream.close();
+            assertEquals(parse(json), stream.getResult(), json);
+            stream.reset();
+        }
+    }
+
+    @Test
+    public void shouldNotAffectEarlierResultsWhenBuildersReused() {
+        JSONStream stream = new JSONStream();
+        stream.accept("{\"a\":[1,2],\"b\":\"xyz\"}");
+        stream.close();
+        JSONValue first = stream.getResult();
+        stream.reset();
+        stream.accept("{\"c\":[3],\"d\":\"pqr\"}");
+        stream.close();
+        JSONValue second = stream.getResult();
+        assertEquals(new JSONObject().putJSON("a", new JSONArray(new JSONInteger(1), new JSONInteger(2)))
+                .putValue("b", "xyz"), first);
+        assertEquals(new JSONObject().putJSON("c", new JSONArray(new JSONInteger(3))).putValue("d", "pqr"), second);
+    }
+
+    @Test
+    public void shouldRecoverAfterErrorWhenReset() {
+        JSONStream stream = new JSONStream();
+        assertThrows(JSONException.class, () -> stream.accept("{\"a\":[1,2,}"));
+        stream.reset();
+        stream.accept("[\"ok\"]");
+        stream.close();
+        assertEquals(new JSONArray(new JSONString("ok")), stream.getResult());
+    }
+
+    @Test
+    public void shouldProcessMultipleArraysAfterPipelineReset() {
+        JSONArrayPipeline<List<JSONValue>> pipeline = new JSONArrayPipeline<>(new ListAcceptor<>());
+        pipeline.accept("[{\"a\":1},[2]]");
+        pipeline.close();
+        pipeline.reset();
+        pipeline.acceptChars("[\"b\",{\"c\":[3]}]");
+        pipeline.close();
+        List<JSONValue> list = pipeline.getResult();
+        assertEquals(4, list.size());
+        assertEquals(new JSONObject().putValue("a", 1), list.get(0));
+        assertEquals(new JSONArray(new JSONInteger(2)), list.get(1));
+        assertEquals(new JSONString("b"), list.get(2));
+        assertEquals(new JSONObject().putJSON("c", new JSONArray(new JSONInteger(3))), list.get(3));
+    }
+
+    @Test
+    public void shouldKeepStringsSeparateWhenBufferShared() {
+        StringBuilder sb = new StringBuilder("[");
+        JSONArray expected = new JSONArray();
+        for (int i = 0; i < 200; i += 7) {
+            StringBuilder value = new StringBuilder();
+            for (int j = 0; j < i; j++)
+                value.append((char)('a' + j % 26));
+            String key = "k" + i;
+            if (i > 0)
+                sb.append(',');
+            sb.append("{\"").append(key).append("\":\"").append(value).append("\",\"n\":[\"").append(value)
+                    .append("\\u00e9\"]}");
+            JSONObject object = new JSONObject();
+            object.put(key, new JSONString(value));
+            object.put("n", new JSONArray(new JSONString(value + "\u00e9")));
+            expected.add(object);
+        }
+        String json = sb.append(']').toString();
+        for (int i = 0; i < 3; i++) {
+            JSONStream stream = i == 0 ? new JSONStream() : new JSONStream(new JSONFlatBuilder());
+            if (i == 2)
+                stream.acceptBytes(json.getBytes(StandardCharsets.UTF_8));
+            else
+                stream.acceptChars(json);
+            stream.close();
+            assertEquals(expected, stream.getResult());
+            stream.reset();
+            stream.acceptChars("\"x\"");
+            stream.close();
+            assertEquals(new JSONString("x"), stream.getResult());
+        }
+    }
+
+    private static JSONValue parse(String json) {
+        JSONStream stream = new JSONStream();
+        stream.accept(json);
+        stream.close();
+        return stream.getResult();
+    }
+
+}
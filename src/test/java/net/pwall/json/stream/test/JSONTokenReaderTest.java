@@ -0,0 +1,265 @@
+/*
+ * @(#) JSONTokenReaderTest.java
+ *
+ * json-stream JSON Streaming library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.pwall.json.stream.test;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import net.pwall.json.JSONException;
+import net.pwall.json.stream.JSONStream;
+import net.pwall.json.stream.JSONToken;
+import net.pwall.json.stream.JSONTokenReader;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JSONTokenReaderTest {
+
+    private static final String json = "{\"a\":[1,\"x\",true,false,null],\"b\":{\"c\":-2.5},\"d\":\"\\u00e9\"}";
+
+    private static final String expectedTokens = "START_OBJECT,KEY:a,START_ARRAY,NUMBER:1,STRING:x,TRUE,FALSE,NULL," +
+            "END_ARRAY,KEY:b,START_OBJECT,KEY:c,NUMBER:-2.5,END_OBJECT,KEY:d,STRING:\u00e9,END_OBJECT,END_DOCUMENT";
+
+    @Test
+    public void shouldReadTokensFromReader() {
+        JSONTokenReader reader = new JSONTokenReader(new StringReader(json));
+        assertEquals(expectedTokens, readAll(reader));
+    }
+
+    @Test
+    public void shouldReadTokensFromChunksSplitAtEveryPosition() {
+        for (int i = 0; i <= json.length(); i++) {
+            JSONTokenReader reader = new JSONTokenReader();
+            List<String> tokens = new ArrayList<>();
+            reader.acceptChars(json, 0, i);
+            readAvailable(reader, tokens);
+            reader.acceptChars(json, i, json.length());
+            readAvailable(reader, tokens);
+            reader.close();
+            readAvailable(reader, tokens);
+            assertEquals(expectedTokens, String.join(",", tokens), "split at " + i);
+        }
+    }
+
+    @Test
+    public void shouldReadTokensOneCharacterAtATime() {
+        JSONTokenReader reader = new JSONTokenReader();
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < json.length(); i++) {
+            reader.acceptChars(json, i, i + 1);
+            readAvailable(reader, tokens);
+        }
+        reader.close();
+        readAvailable(reader, tokens);
+        assertEquals(expectedTokens, String.join(",", tokens));
+    }
+
+    @Test
+    public void shouldReadTokensFromUTF8Bytes() {
+        byte[] bytes = json.replace("\\u00e9", "\u00e9").getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i <= bytes.length; i++) {
+            JSONTokenReader reader = new JSONTokenReader();
+            List<String> tokens = new ArrayList<>();
+            reader.acceptBytes(bytes, 0, i);
+            readAvailable(reader, tokens);
+            reader.acceptBytes(bytes, i, bytes.length - i);
+            reader.close();
+            readAvailable(reader, tokens);
+            assertEquals(expectedTokens, String.join(",", tokens), "split at " + i);
+        }
+    }
+
+    @Test
+    public void shouldReturnNeedMoreInputForIncompleteNumber() {
+        JSONTokenReader reader = new JSONTokenReader();
+        reader.acceptChars("[12");
+        assertEquals(JSONToken.START_ARRAY, reader.nextToken());
+        assertEquals(JSONToken.NEED_MORE_INPUT, reader.nextToken());
+        reader.acceptChars("34]");
+        assertEquals(JSONToken.NUMBER, reader.nextToken());
+        assertEquals(1234, reader.getInt());
+        assertEquals(JSONToken.END_ARRAY, reader.nextToken());
+        assertEquals(JSONToken.NEED_MORE_INPUT, reader.nextToken());
+        reader.close();
+        assertEquals(JSONToken.END_DOCUMENT, reader.nextToken());
+    }
+
+    @Test
+    public void shouldReturnTopLevelNumberAtEndOfInput() {
+        JSONTokenReader reader = new JSONTokenReader(new StringReader(" 42 "));
+        assertEquals(JSONToken.NUMBER, reader.nextToken());
+        assertEquals(42L, reader.getLong());
+        assertEquals(JSONToken.END_DOCUMENT, reader.nextToken());
+        reader = new JSONTokenReader(new StringReader("42"));
+        assertEquals(JSONToken.NUMBER, reader.nextToken());
+        assertEquals(JSONToken.END_DOCUMENT, reader.nextToken());
+    }
+
+    @Test
+    public void shouldConvertNumbers() {
+        JSONTokenReader reader = new JSONTokenReader(new StringReader(
+                "[9223372036854775807,-9223372036854775808,9223372036854775808,1.5e2,-0]"));
+        assertEquals(JSONToken.START_ARRAY, reader.nextToken());
+        assertEquals(JSONToken.NUMBER, reader.nextToken());
+        assertEquals(Long.MAX_VALUE, reader.getLong());
+        assertThrows(JSONException.class, reader::getInt);
+        assertEquals(JSONToken.NUMBER, reader.nextToken());
+        assertEquals(Long.MIN_VALUE, reader.getLong());
+        assertEquals(JSONToken.NUMBER, reader.nextToken());
+        JSONException exception = assertThrows(JSONException.class, reader::getLong);
+        assertEquals("JSON number too large for long", exception.getMessage());
+        assertEquals(new BigDecimal("9223372036854775808"), reader.getBigDecimal());
+        assertEquals(JSONToken.NUMBER, reader.nextToken());
+        exception = assertThrows(JSONException.class, reader::getLong);
+        assertEquals("JSON number is not an integer", exception.getMessage());
+        assertEquals(150.0, reader.getDouble());
+        assertEquals("1.5e2", reader.getNumberChars().toString());
+        assertEquals(JSONToken.NUMBER, reader.nextToken());
+        assertEquals(0L, reader.getLong());
+        assertEquals(JSONToken.END_ARRAY, reader.nextToken());
+        assertThrows(JSONException.class, reader::getLong);
+        assertThrows(JSONException.class, reader::getString);
+    }
+
+    @Test
+    public void shouldSkipValues() {
+        JSONTokenReader reader = new JSONTokenReader(new StringReader(
+                "{\"a\":{\"x\":[1,[2,{}]],\"y\":3},\"b\":\"skip\",\"c\":[true],\"d\":5}"));
+        assertEquals(JSONToken.START_OBJECT, reader.nextToken());
+        assertEquals(JSONToken.KEY, reader.nextToken());
+        assertEquals("a", reader.getString());
+        assertTrue(reader.skipValue());
+        assertTrue(reader.skipValue()); // skips key "b" and its value
+        assertEquals(JSONToken.KEY, reader.nextToken());
+        assertEquals("c", reader.getString());
+        assertEquals(JSONToken.START_ARRAY, reader.nextToken());
+        assertTrue(reader.skipValue());
+        assertTrue(reader.skipValue()); // nothing to skip; END_ARRAY is returned next
+        assertEquals(JSONToken.END_ARRAY, reader.nextToken());
+        assertEquals(1, reader.getDepth());
+        assertEquals(JSONToken.KEY, reader.nextToken());
+        assertEquals("d", reader.getString());
+        assertEquals(JSONToken.NUMBER, reader.nextToken());
+        assertEquals(5, reader.getInt());
+        assertEquals(JSONToken.END_OBJECT, reader.nextToken());
+        assertEquals(0, reader.getDepth());
+        assertEquals(JSONToken.END_DOCUMENT, reader.nextToken());
+    }
+
+    @Test
+    public void shouldResumeSkipWhenMoreInputSupplied() {
+        JSONTokenReader reader = new JSONTokenReader();
+        reader.acceptChars("[[1,[2");
+        assertEquals(JSONToken.START_ARRAY, reader.nextToken());
+        assertFalse(reader.skipValue());
+        reader.acceptChars(",3]],");
+        assertTrue(reader.skipValue());
+        reader.acceptChars("4]");
+        assertEquals(JSONToken.NUMBER, reader.nextToken());
+        assertEquals(4, reader.getInt());
+        assertEquals(JSONToken.END_ARRAY, reader.nextToken());
+        reader.close();
+        assertEquals(JSONToken.END_DOCUMENT, reader.nextToken());
+    }
+
+    @Test
+    public void shouldGiveSameErrorsAsJSONStream() {
+        String[] invalidJSON = { "abc", "[", "{", "[{}0]", "[],", "tru*e", "0.a", "{0}", "{\"aaa\"}", "{\"aaa\":0,}",
+                "\"a\\gb\"", "[1,]", "[,1]", "{\"a\":}", "[01]", "\"abc", "tru", "-", "", "[1 2]", "[\"a\":1]" };
+        for (String invalid : invalidJSON) {
+            JSONException expected = assertThrows(JSONException.class, () -> {
+                JSONStream stream = new JSONStream();
+                stream.accept(invalid);
+                stream.close();
+            }, invalid);
+            JSONException exception = assertThrows(JSONException.class,
+                    () -> readAll(new JSONTokenReader(new StringReader(invalid))), invalid);
+            assertEquals(expected.getMessage(), exception.getMessage(), invalid);
+        }
+    }
+
+    @Test
+    public void shouldResetForAnotherDocument() {
+        JSONTokenReader reader = new JSONTokenReader();
+        reader.acceptChars("[1,2");
+        assertEquals(JSONToken.START_ARRAY, reader.nextToken());
+        reader.reset();
+        reader.acceptChars("\"ok\"");
+        reader.close();
+        assertEquals(JSONToken.STRING, reader.nextToken());
+        assertEquals("ok", reader.getString());
+        assertEquals(JSONToken.END_DOCUMENT, reader.nextToken());
+    }
+
+    @Test
+    public void shouldRejectInputAfterClose() {
+        JSONTokenReader reader = new JSONTokenReader();
+        reader.acceptChars("[]");
+        reader.close();
+        assertThrows(IllegalStateException.class, () -> reader.acceptChars("x"));
+    }
+
+    private static String readAll(JSONTokenReader reader) {
+        List<String> tokens = new ArrayList<>();
+        while (true) {
+            JSONToken token = reader.nextToken();
+            tokens.add(describe(reader, token));
+            if (token == JSONToken.END_DOCUMENT)
+                break;
+        }
+        return String.join(",", tokens);
+    }
+
+    private static void readAvailable(JSONTokenReader reader, List<String> tokens) {
+        while (true) {
+            JSONToken token = reader.nextToken();
+            if (token == JSONToken.NEED_MORE_INPUT)
+                break;
+            tokens.add(describe(reader, token));
+            if (token == JSONToken.END_DOCUMENT)
+                break;
+        }
+    }
+
+    private static String describe(JSONTokenReader reader, JSONToken token) {
+        switch (token) {
+            case KEY:
+            case STRING:
+                return token + ":" + reader.getString();
+            case NUMBER:
+                return token + ":" + reader.getNumberChars();
+            default:
+                return token.toString();
+        }
+    }
+
+}
@@ -45,6 +45,7 @@ import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class JSONValueBuilderTest {
@@ -173,6 +174,55 @@ public class JSONValueBuilderTest {
         assertEquals(new JSONLong(1232343454565676787L), result);
     }
 
+    @Test
+    public void shouldParseIntegersAtLimits() {
+        checkInteger("2147483647", new JSONInteger(Integer.MAX_VALUE));
+        checkInteger("-2147483648", new JSONInteger(Integer.MIN_VALUE));
+        checkInteger("2147483648", new JSONLong(2147483648L));
+        checkInteger("-2147483649", new JSONLong(-2147483649L));
+        checkInteger("9223372036854775807", new JSONLong(Long.MAX_VALUE));
+        checkInteger("-9223372036854775808", new JSONLong(Long.MIN_VALUE));
+        checkInteger("-0", new JSONInteger(0));
+        JSONStream proc = new JSONStream();
+        proc.acceptChars("[92233720368547758, 7]", 0, 10);
+        proc.acceptChars("[92233720368547758, 7]", 10, 22);
+        proc.close();
+        assertEquals(new JSONArray(new JSONLong(92233720368547758L), new JSONInteger(7)), proc.getResult());
+    }
+
+    @Test
+    public void shouldRejectIntegersTooLargeForLong() {
+        assertThrows(NumberFormatException.class, () -> parseNumber("9223372036854775808"));
+        assertThrows(NumberFormatException.class, () -> parseNumber("-9223372036854775809"));
+        assertThrows(NumberFormatException.class, () -> parseNumber("123456789012345678901234567890"));
+    }
+
+    @Test
+    public void shouldReuseSmallIntegers() {
+        JSONArray array = (JSONArray)parseNumber("[5,-5,5,1000,-5,1000]");
+        assertSame(array.get(0), array.get(2));
+        assertSame(array.get(1), array.get(4));
+        assertSame(array.get(3), array.get(5));
+        assertEquals(new JSONInteger(-5), array.get(1));
+    }
+
+    private static void checkInteger(String json, JSONValue expected) {
+        JSONValue result = parseNumber(json);
+        assertEquals(expected.getClass(), result.getClass(), json);
+        assertEquals(expected, result, json);
+        JSONStream proc = new JSONStream();
+        proc.accept(json);
+        proc.close();
+        assertEquals(expected, proc.getResult(), json);
+    }
+
+    private static JSONValue parseNumber(String json) {
+        JSONStream proc = new JSONStream();
+        proc.acceptChars(json);
+        proc.close();
+        return proc.getResult();
+    }
+
     @Test
     public void shouldParseASimpleDecimal() {
         JSONStream proc = new JSONStream();